@@ -1,13 +1,24 @@
 package com.platform.ops;
 
+import com.platform.ops.importer.OrderImportRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Profiles;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
 public class OrderProcessingSystemApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(OrderProcessingSystemApplication.class, args);
+		ConfigurableApplicationContext context = SpringApplication.run(OrderProcessingSystemApplication.class, args);
+		if (context.getEnvironment().acceptsProfiles(Profiles.of(OrderImportRunner.PROFILE))) {
+			// Broker connections and schedulers would keep the JVM alive after the import
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 
 }
@@ -0,0 +1,133 @@
+package com.platform.ops.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.ops.config.AdmissionProperties;
+import com.platform.ops.model.ApiResponse;
+import com.platform.ops.model.ErrorResponse;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Puts the {@link AdmissionLimiter} in front of the endpoints that publish orders. Rejected
+ * requests get {@code 429} (concurrency limit) or {@code 503} (broker backlog) with
+ * {@code Retry-After}, before a Tomcat thread can block on a stalled send. Runs after
+ * {@code RequestIdFilter}, so rejections carry a request ID too. Registered by
+ * {@link com.platform.ops.config.AdmissionConfig}.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionFilter.class);
+
+    static final Set<String> SINGLE_ORDER_PATHS = Set.of("/api/orders", "/api/messages/orders",
+            "/api/messages/orders/async", "/api/messages/orders/nonblocking");
+    static final String BATCH_PATH = "/api/messages/orders/batch";
+    static final String UPLOAD_PATH = "/api/messages/orders/upload";
+
+    private final AdmissionLimiter limiter;
+    private final AdmissionProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public AdmissionFilter(AdmissionLimiter limiter, AdmissionProperties properties, ObjectMapper objectMapper) {
+        this.limiter = limiter;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled() || !"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = path(request);
+        return !SINGLE_ORDER_PATHS.contains(path) && !BATCH_PATH.equals(path) && !UPLOAD_PATH.equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdmissionLimiter.Decision decision = limiter.tryAcquire();
+        if (decision != AdmissionLimiter.Decision.ADMITTED) {
+            reject(response, decision);
+            return;
+        }
+
+        // Batch and upload latency grows with their size, so it is not compared with single sends
+        boolean sample = SINGLE_ORDER_PATHS.contains(path(request));
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // The permit is held until the asynchronous response is written. onComplete
+                // also follows a timeout or an error, so it is the only place that releases.
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        release(sample, start, response);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                release(sample, start, response);
+            }
+        }
+    }
+
+    private void release(boolean sample, long start, HttpServletResponse response) {
+        if (sample) {
+            limiter.release(System.nanoTime() - start, response.getStatus() < 500);
+        } else {
+            limiter.release();
+        }
+    }
+
+    private void reject(HttpServletResponse response, AdmissionLimiter.Decision decision) throws IOException {
+        boolean backlog = decision == AdmissionLimiter.Decision.BACKLOG;
+        HttpStatus status = backlog ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.TOO_MANY_REQUESTS;
+        String message = backlog
+                ? "Order queue backlog is too large, retry later"
+                : "Too many concurrent order requests (limit " + limiter.getLimit() + "), retry later";
+        log.debug("Rejected order request with {}: {}", status.value(), message);
+
+        long retryAfterSeconds = Math.max(1, (properties.getRetryAfter().toMillis() + 999) / 1000);
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ApiResponse<>(new ErrorResponse(status.getReasonPhrase(), message)));
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,139 @@
+package com.platform.ops.admission;
+
+import com.platform.ops.config.AdmissionProperties;
+import com.platform.ops.jms.MessageProducer;
+import com.platform.ops.jms.QueueDepthMonitor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Adaptive concurrency limit for the order endpoints (AIMD). Every completed request feeds
+ * its latency back: while requests stay within {@code latencyTolerance} times the baseline
+ * (a slow moving average) and the limit is in use, the limit grows by about one per round
+ * trip. A slow or failed request shrinks it by {@code backoffRatio}, at most once per
+ * baseline latency. When broker flow control stalls sends, latency rises and the limit
+ * drops before Tomcat's threads are all blocked.
+ * <p>
+ * The limit, the baseline and the time of the last decrease form one immutable {@code State},
+ * replaced by compare-and-set like the in-flight count, so releasing never takes a lock.
+ * <p>
+ * Independently, requests are shed while orders.queue is deeper than {@code maxQueueDepth},
+ * as last reported by {@link QueueDepthMonitor}.
+ */
+@Component
+public class AdmissionLimiter {
+
+    public enum Decision {
+        ADMITTED,
+        /** The concurrency limit is reached: answer 429. */
+        OVER_LIMIT,
+        /** The broker is too far behind: answer 503. */
+        BACKLOG
+    }
+
+    private static final double BASELINE_WEIGHT = 0.01;
+
+    private final AdmissionProperties properties;
+    private final DoubleSupplier queueDepth;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejectedOverLimit;
+    private final Counter rejectedBacklog;
+
+    private final AtomicReference<State> state;
+
+    @Autowired
+    public AdmissionLimiter(AdmissionProperties properties, QueueDepthMonitor queueDepthMonitor, MeterRegistry meterRegistry) {
+        this(properties, () -> queueDepthMonitor.depth(MessageProducer.ORDERS_QUEUE), meterRegistry);
+    }
+
+    AdmissionLimiter(AdmissionProperties properties, DoubleSupplier queueDepth, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.queueDepth = queueDepth;
+        this.state = new AtomicReference<>(new State(
+                Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), properties.getInitialLimit())),
+                Double.NaN, 0));
+        this.rejectedOverLimit = Counter.builder("ops.admission.rejected")
+                .tag("reason", "limit")
+                .description("Order requests rejected with 429 because the concurrency limit was reached")
+                .register(meterRegistry);
+        this.rejectedBacklog = Counter.builder("ops.admission.rejected")
+                .tag("reason", "backlog")
+                .description("Order requests rejected with 503 because orders.queue was too deep")
+                .register(meterRegistry);
+        Gauge.builder("ops.admission.limit", this, AdmissionLimiter::getLimit)
+                .description("Current concurrency limit of the order endpoints")
+                .register(meterRegistry);
+        Gauge.builder("ops.admission.in.flight", inFlight, AtomicInteger::get)
+                .description("Order requests currently admitted")
+                .register(meterRegistry);
+    }
+
+    /** On {@link Decision#ADMITTED}, the caller must call {@link #release} exactly once. */
+    public Decision tryAcquire() {
+        long maxQueueDepth = properties.getMaxQueueDepth();
+        if (maxQueueDepth > 0 && queueDepth.getAsDouble() > maxQueueDepth) {
+            rejectedBacklog.increment();
+            return Decision.BACKLOG;
+        }
+        int limit = getLimit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejectedOverLimit.increment();
+                return Decision.OVER_LIMIT;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return Decision.ADMITTED;
+            }
+        }
+    }
+
+    /** Releases a permit without adjusting the limit, for requests whose latency is not comparable. */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /** Releases a permit and adjusts the limit to the request's outcome. */
+    public void release(long latencyNanos, boolean success) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        long now = System.nanoTime();
+        State current = state.get();
+        while (!state.compareAndSet(current, current.next(properties, latencyNanos, success, inFlightBefore, now))) {
+            current = state.get();
+        }
+    }
+
+    public int getLimit() {
+        return (int) state.get().limit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private record State(double limit, double baselineNanos, long lastDecreaseNanos) {
+
+        State next(AdmissionProperties properties, long latencyNanos, boolean success, int inFlightBefore, long now) {
+            double baseline = Double.isNaN(baselineNanos) ? latencyNanos : baselineNanos;
+            boolean slow = latencyNanos > baseline * properties.getLatencyTolerance();
+            baseline += BASELINE_WEIGHT * (latencyNanos - baseline);
+
+            if (!success || slow) {
+                if (lastDecreaseNanos == 0 || now - lastDecreaseNanos > baseline) {
+                    return new State(Math.max(properties.getMinLimit(), limit * properties.getBackoffRatio()), baseline, now);
+                }
+            } else if (inFlightBefore * 2 >= limit) {
+                // Only grow while the limit is actually being used
+                return new State(Math.min(properties.getMaxLimit(), limit + 1 / limit), baseline, lastDecreaseNanos);
+            }
+            return new State(limit, baseline, lastDecreaseNanos);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.platform.ops.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.platform.ops.config.RateLimitProperties;
+import com.platform.ops.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-customer token buckets on the order endpoints, so one client flooding orders.queue
+ * cannot starve the others. Each customer gets the limits of its tier
+ * ({@code ops.ratelimit.customers}, else {@code ops.ratelimit.default-tier}).
+ * <p>
+ * Buckets live in a Caffeine cache, which is a concurrent hash map underneath: lookups take
+ * no lock and creation only locks one bin. Idle customers are evicted after
+ * {@code idle-timeout}, and the number of buckets is bounded by {@code maximum-customers}.
+ * A bucket is a single {@code AtomicLong} (GCRA: the time at which it will be full again),
+ * updated by compare-and-set, so requests of the same customer do not serialize either.
+ */
+@Component
+public class CustomerRateLimiter {
+
+    /** Bucket key of orders without a customer name; they share one bucket. */
+    static final String ANONYMOUS = "";
+
+    private final RateLimitProperties properties;
+    private final LongSupplier clock;
+    private final Cache<String, Bucket> buckets;
+    private final Map<String, Counter> rejected = new HashMap<>();
+
+    @Autowired
+    public CustomerRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, System::nanoTime, meterRegistry);
+    }
+
+    CustomerRateLimiter(RateLimitProperties properties, LongSupplier clock, MeterRegistry meterRegistry) {
+        if (!properties.getTiers().containsKey(properties.getDefaultTier())) {
+            throw new IllegalStateException("Default rate limit tier '" + properties.getDefaultTier() + "' is not configured");
+        }
+        this.properties = properties;
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumCustomers())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .ticker(clock::getAsLong)
+                .build();
+        properties.getTiers().forEach((tier, limits) -> rejected.put(tier, Counter.builder("ops.ratelimit.rejected")
+                .tag("tier", tier)
+                .description("Orders rejected because their customer exceeded the rate of its tier")
+                .register(meterRegistry)));
+        Gauge.builder("ops.ratelimit.customers", buckets, Cache::estimatedSize)
+                .description("Customers with a rate limit bucket")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes one token from the customer's bucket.
+     *
+     * @throws RateLimitExceededException if the bucket is empty
+     */
+    public void acquire(String customerName) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String key = customerName != null ? customerName : ANONYMOUS;
+        Bucket bucket = buckets.get(key, this::newBucket);
+        long waitNanos = bucket.tryAcquire(clock.getAsLong());
+        if (waitNanos > 0) {
+            rejected.get(bucket.tier).increment();
+            throw new RateLimitExceededException(key, bucket.tier, Duration.ofNanos(waitNanos));
+        }
+    }
+
+    long trackedCustomers() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private Bucket newBucket(String customerName) {
+        String tier = properties.getCustomers().get(customerName);
+        if (tier == null || !properties.getTiers().containsKey(tier)) {
+            tier = properties.getDefaultTier();
+        }
+        RateLimitProperties.Tier limits = properties.getTiers().get(tier);
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / limits.getRatePerSecond());
+        return new Bucket(tier, intervalNanos, intervalNanos * Math.max(1, limits.getBurst()), clock.getAsLong());
+    }
+
+    /**
+     * Generic cell rate algorithm: {@code fullAt} is when the bucket would be full again if no
+     * more tokens were taken. A token is available while that is at most {@code capacity} ahead.
+     */
+    static final class Bucket {
+
+        final String tier;
+        private final long intervalNanos;
+        private final long capacityNanos;
+        private final AtomicLong fullAt;
+
+        Bucket(String tier, long intervalNanos, long capacityNanos, long now) {
+            this.tier = tier;
+            this.intervalNanos = intervalNanos;
+            this.capacityNanos = capacityNanos;
+            this.fullAt = new AtomicLong(now);
+        }
+
+        /** Returns 0 if a token was taken, otherwise how long until one is available. */
+        long tryAcquire(long now) {
+            while (true) {
+                long current = fullAt.get();
+                long next = Math.max(current, now) + intervalNanos;
+                long excess = next - now - capacityNanos;
+                if (excess > 0) {
+                    return excess;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.platform.ops.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.ops.admission.AdmissionFilter;
+import com.platform.ops.admission.AdmissionLimiter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Declares the admission filter here rather than as a component, so controller slice tests
+ * do not need the limiter and the broker statistics behind it.
+ */
+@Configuration
+public class AdmissionConfig {
+
+    @Bean
+    public AdmissionFilter admissionFilter(AdmissionLimiter admissionLimiter, AdmissionProperties admissionProperties,
+                                           ObjectMapper objectMapper) {
+        return new AdmissionFilter(admissionLimiter, admissionProperties, objectMapper);
+    }
+}
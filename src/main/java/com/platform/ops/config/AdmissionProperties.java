@@ -0,0 +1,38 @@
+package com.platform.ops.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ops.admission")
+public class AdmissionProperties {
+
+    /** Limit concurrent requests to the order endpoints and shed load when the broker falls behind. */
+    private boolean enabled = true;
+
+    /** Concurrency limit at startup, before any latency has been measured. */
+    private int initialLimit = 50;
+
+    private int minLimit = 4;
+
+    private int maxLimit = 400;
+
+    /** Factor applied to the limit when requests slow down or sends fail. */
+    private double backoffRatio = 0.9;
+
+    /**
+     * A request counts as slow when it takes longer than this multiple of the baseline latency,
+     * the long-term moving average.
+     */
+    private double latencyTolerance = 2.0;
+
+    /** Reject with 503 while orders.queue holds more messages than this; 0 disables the check. */
+    private long maxQueueDepth = 50_000;
+
+    /** Sent as {@code Retry-After} on rejected requests. */
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
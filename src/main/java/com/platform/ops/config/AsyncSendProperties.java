@@ -0,0 +1,22 @@
+package com.platform.ops.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ops.jms.async")
+public class AsyncSendProperties {
+
+    /** Maximum number of sends waiting for a broker acknowledgement. */
+    private int maxInFlight = 1000;
+
+    /** How long a caller may wait for an in-flight slot before the send is rejected. */
+    private Duration acquireTimeout = Duration.ofMillis(100);
+
+    /** Number of idle producer sessions kept open for reuse. */
+    private int idleSessions = 8;
+}
@@ -0,0 +1,31 @@
+package com.platform.ops.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ops.jms.batch")
+public class BatchConsumerProperties {
+
+    /** Consume orders.queue in batches instead of one message per listener call. */
+    private boolean enabled = false;
+
+    /** A batch is handed to the handler as soon as it holds this many orders. */
+    private int batchSize = 100;
+
+    /** ...or once this much time has passed since the first order of the batch arrived. */
+    private Duration maxWait = Duration.ofMillis(200);
+
+    /** Number of concurrent batch consumers, each with its own session. */
+    private int consumers = 1;
+
+    /** How long an idle consumer blocks waiting for the first message of a batch. */
+    private Duration pollTimeout = Duration.ofSeconds(1);
+
+    /** Pause before reconnecting after a connection failure. */
+    private Duration recoveryInterval = Duration.ofSeconds(5);
+}
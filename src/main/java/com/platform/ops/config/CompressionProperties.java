@@ -0,0 +1,30 @@
+package com.platform.ops.config;
+
+import com.platform.ops.jms.CompressionCodec;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ops.jms.compression")
+public class CompressionProperties {
+
+    /** Compress outgoing bodies. Compressed incoming messages are always decompressed. */
+    private boolean enabled = false;
+
+    /** Bodies smaller than this are sent as they are. */
+    private DataSize threshold = DataSize.ofKilobytes(1);
+
+    private CompressionCodec codec = CompressionCodec.LZ4;
+
+    /** Deflate level 0-9, or LZ4 HC level 1-17; -1 selects the codec's default (fast LZ4). */
+    private int level = -1;
+
+    /**
+     * Largest body a compressed message may declare in {@code _originalLength}. Larger or
+     * negative lengths are rejected before any buffer is allocated.
+     */
+    private DataSize maxBodySize = DataSize.ofMegabytes(10);
+}
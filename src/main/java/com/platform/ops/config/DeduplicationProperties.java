@@ -0,0 +1,26 @@
+package com.platform.ops.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ops.orders.dedup")
+public class DeduplicationProperties {
+
+    /** Drop orders whose orderId was already processed within the window. */
+    private boolean enabled = true;
+
+    /** An orderId is remembered for at least this long, and at most twice as long. */
+    private Duration window = Duration.ofMinutes(10);
+
+    /**
+     * Distinct orderIds remembered per window. Memory is fixed at startup: two tables of
+     * the next power of two above {@code capacity * 4/3} longs (8 bytes each). If more IDs
+     * arrive within one window, the window is cut short.
+     */
+    private int capacity = 500_000;
+}
@@ -0,0 +1,32 @@
+package com.platform.ops.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ops.import")
+public class ImportProperties {
+
+    /** Archive to import: NDJSON, or CSV with a header row when the file name ends in {@code .csv}. */
+    private Path file;
+
+    /** Where progress is recorded for resuming. Defaults to the archive path plus {@code .checkpoint}. */
+    private Path checkpointFile;
+
+    /** Size of the file region one worker maps and imports at a time; at most 2GB. */
+    private DataSize chunkSize = DataSize.ofMegabytes(64);
+
+    /** Chunks parsed and published in parallel. */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /** Orders published per broker transaction. The checkpoint advances after each one. */
+    private int batchSize = 500;
+
+    /** Publish rate over all workers; 0 publishes as fast as the broker accepts. */
+    private double ordersPerSecond = 0;
+}
@@ -0,0 +1,27 @@
+package com.platform.ops.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ops.jms.lanes")
+public class LaneProperties {
+
+    /**
+     * Route high-value orders to their own queue, consumed by their own listener. Off by
+     * default: the lanes split a customer's orders over two queues, so their relative order is lost.
+     */
+    private boolean enabled = false;
+
+    /** Orders worth at least this much ({@code price * quantity}) take the priority lane. */
+    private double priorityThreshold = 1000;
+
+    /**
+     * Consumers of the priority lane. The standard lane keeps its own consumers, so the split
+     * of consumers is the weight of each lane and neither can starve the other. Only used
+     * while grouping is enabled, like {@code ops.jms.grouping.concurrency}.
+     */
+    private String priorityConcurrency = "2";
+}
@@ -0,0 +1,31 @@
+package com.platform.ops.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ops.jms.autoscale")
+public class ListenerAutoscaleProperties {
+
+    private boolean enabled = false;
+
+    private int minConsumers = 1;
+
+    private int maxConsumers = 8;
+
+    /** How often queue depth and processing time are sampled. */
+    private Duration interval = Duration.ofSeconds(5);
+
+    /** Backlog should be drained within this time; drives the desired consumer count. */
+    private Duration targetDrainTime = Duration.ofSeconds(10);
+
+    /** Maximum number of consumers added in one adjustment. */
+    private int maxStep = 2;
+
+    /** Minimum time between a change and the next scale-down. */
+    private Duration scaleDownCooldown = Duration.ofSeconds(30);
+}
@@ -1,9 +1,22 @@
 package com.platform.ops.config;
 
+import com.platform.ops.jms.CompressingMessageConverter;
+import com.platform.ops.jms.OrderMessageConverter;
+import com.platform.ops.jms.RetryScheduler;
+import com.platform.ops.jms.RetryingListenerContainerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import jakarta.jms.ConnectionFactory;
 import org.apache.activemq.ActiveMQConnectionFactory;
 import org.apache.activemq.RedeliveryPolicy;
+import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jms.JmsPoolConnectionFactoryFactory;
+import org.springframework.boot.autoconfigure.jms.JmsPoolConnectionFactoryProperties;
+import org.springframework.boot.autoconfigure.jms.activemq.ActiveMQProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -17,6 +30,7 @@ import org.slf4j.LoggerFactory;
 
 @Configuration
 @EnableJms
+@EnableConfigurationProperties(ActiveMQProperties.class)
 public class MessagingConfig {
 
     private static final Logger log = LoggerFactory.getLogger(MessagingConfig.class);
@@ -40,20 +54,66 @@ public class MessagingConfig {
 
     @Bean
     @Primary
-    public ActiveMQConnectionFactory activeMQConnectionFactory(RedeliveryPolicy redeliveryPolicy) {
-        ActiveMQConnectionFactory factory = new ActiveMQConnectionFactory("tcp://localhost:61616");
-        factory.setUserName("admin");
-        factory.setPassword("admin");
+    public ActiveMQConnectionFactory activeMQConnectionFactory(RedeliveryPolicy redeliveryPolicy,
+                                                               ActiveMQProperties properties) {
+        String brokerUrl = properties.getBrokerUrl() != null ? properties.getBrokerUrl() : "tcp://localhost:61616";
+        ActiveMQConnectionFactory factory = new ActiveMQConnectionFactory(brokerUrl);
+        factory.setUserName(properties.getUser());
+        factory.setPassword(properties.getPassword());
         factory.setRedeliveryPolicy(redeliveryPolicy);
         
         // Enable DLQ processing
         factory.setWatchTopicAdvisories(false);
         
-        log.info("ActiveMQ ConnectionFactory configured with RedeliveryPolicy");
+        log.info("ActiveMQ ConnectionFactory configured with RedeliveryPolicy for {}", brokerUrl);
         
         return factory;
     }
 
+    /**
+     * Producer-side pool shared by every {@link JmsTemplate} (MessageProducer and OrderService).
+     * Keeps connections, sessions and per-destination producers open between sends instead of
+     * creating and closing them on every convertAndSend. Listener containers keep using the
+     * raw factory, since consumers should not be pooled.
+     */
+    @Bean(destroyMethod = "stop")
+    public JmsPoolConnectionFactory pooledConnectionFactory(
+            @Qualifier("activeMQConnectionFactory") ActiveMQConnectionFactory activeMQConnectionFactory,
+            ActiveMQProperties properties,
+            @Value("${ops.jms.pool.producer-cache-size:16}") int producerCacheSize) {
+
+        JmsPoolConnectionFactoryProperties pool = properties.getPool();
+        JmsPoolConnectionFactory factory = new JmsPoolConnectionFactoryFactory(pool)
+                .createPooledConnectionFactory(activeMQConnectionFactory);
+        if (!pool.isUseAnonymousProducers()) {
+            factory.setExplicitProducerCacheSize(producerCacheSize);
+        }
+
+        log.info("Producer pool configured: maxConnections={}, maxSessionsPerConnection={}, idleTimeout={}",
+                pool.getMaxConnections(), pool.getMaxSessionsPerConnection(), pool.getIdleTimeout());
+
+        return factory;
+    }
+
+    /**
+     * Pool size and limits. Sends block on free sessions ({@code block-if-full}), which the pool
+     * does not expose, so exhaustion shows as {@code ops.jms.send.time} rather than a gauge here.
+     */
+    @Bean
+    public MeterBinder producerPoolMetrics(JmsPoolConnectionFactory pooledConnectionFactory) {
+        return registry -> {
+            Gauge.builder("ops.jms.pool.connections", pooledConnectionFactory, JmsPoolConnectionFactory::getNumConnections)
+                    .description("Open connections held by the producer pool")
+                    .register(registry);
+            Gauge.builder("ops.jms.pool.connections.max", pooledConnectionFactory, JmsPoolConnectionFactory::getMaxConnections)
+                    .description("Configured connection limit of the producer pool")
+                    .register(registry);
+            Gauge.builder("ops.jms.pool.sessions.max", pooledConnectionFactory, JmsPoolConnectionFactory::getMaxSessionsPerConnection)
+                    .description("Configured session limit per pooled connection")
+                    .register(registry);
+        };
+    }
+
     @Bean
     public ErrorHandler customErrorHandler() {
         return throwable -> {
@@ -65,15 +125,102 @@ public class MessagingConfig {
     @Bean
     public DefaultJmsListenerContainerFactory jmsListenerContainerFactory(
             @Qualifier("activeMQConnectionFactory") ActiveMQConnectionFactory activeMQConnectionFactory,
-            ErrorHandler customErrorHandler) {
+            ErrorHandler customErrorHandler,
+            MessageConverter orderMessageConverter) {
+        return createListenerContainerFactory(new DefaultJmsListenerContainerFactory(),
+                activeMQConnectionFactory, customErrorHandler, orderMessageConverter);
+    }
+
+    /**
+     * Container factory for the {@code orders.DLQ} listener. Sessions are transacted, so parking
+     * a dead letter for replay and acknowledging it commit together.
+     */
+    @Bean
+    public DefaultJmsListenerContainerFactory deadLetterListenerContainerFactory(
+            @Qualifier("activeMQConnectionFactory") ActiveMQConnectionFactory activeMQConnectionFactory,
+            ErrorHandler customErrorHandler,
+            MessageConverter orderMessageConverter) {
+        DefaultJmsListenerContainerFactory factory = createListenerContainerFactory(new DefaultJmsListenerContainerFactory(),
+                activeMQConnectionFactory, customErrorHandler, orderMessageConverter);
+        factory.setSessionTransacted(true);
+        return factory;
+    }
+
+    /**
+     * Container factory for the per-message {@code orders.queue} listener. Its container does
+     * not start when batch consumption is enabled, since {@code BatchOrderListener} then owns the queue.
+     * With {@code ops.jms.retry.enabled}, failed orders are retried through {@link RetryScheduler}
+     * instead of the in-session {@link RedeliveryPolicy}, which then only applies if the retry
+     * itself cannot be published. Poison messages go to the dead letter queue on their first
+     * failure either way. While orders carry message groups ({@code ops.jms.grouping}), the
+     * listener runs {@code ops.jms.grouping.concurrency} consumers; otherwise a single one.
+     * With {@code ops.jms.retry.keep-group-order}, grouped orders are redelivered in-session,
+     * which keeps their group in order.
+     */
+    @Bean
+    public DefaultJmsListenerContainerFactory ordersListenerContainerFactory(
+            @Qualifier("activeMQConnectionFactory") ActiveMQConnectionFactory activeMQConnectionFactory,
+            ErrorHandler customErrorHandler,
+            MessageConverter orderMessageConverter,
+            BatchConsumerProperties batchConsumerProperties,
+            RetryProperties retryProperties,
+            RetryScheduler retryScheduler,
+            OrderGroupingProperties groupingProperties) {
+        DefaultJmsListenerContainerFactory factory = createListenerContainerFactory(
+                new RetryingListenerContainerFactory(retryScheduler),
+                activeMQConnectionFactory, customErrorHandler, orderMessageConverter);
+        factory.setAutoStartup(!batchConsumerProperties.isEnabled());
+        if (groupingProperties.isEnabled()) {
+            factory.setConcurrency(groupingProperties.getConcurrency());
+        }
+        log.info("Orders listener consumers: {}", groupingProperties.isEnabled()
+                ? groupingProperties.getConcurrency() + ", grouped by " + groupingProperties.getKey()
+                : "1, ungrouped");
+        log.info("Retries of failed orders: {}", !retryProperties.isEnabled() ? "in-session redelivery"
+                : groupingProperties.isEnabled() && retryProperties.isKeepGroupOrder()
+                ? "in-session redelivery for grouped orders, broker-scheduled for the rest"
+                : "broker-scheduled, up to " + retryProperties.getMaxAttempts() + " attempts");
+        return factory;
+    }
+
+    /**
+     * Container factory for the priority lane listener ({@code ops.jms.lanes}). Failures are
+     * handled as on {@code orders.queue}. The lane has its own consumers, so high-value orders
+     * are never stuck behind a backlog of standard ones, while the standard lane keeps its
+     * consumers too. It stays on the per-message listener when batch consumption is enabled.
+     */
+    @Bean
+    public DefaultJmsListenerContainerFactory priorityOrdersListenerContainerFactory(
+            @Qualifier("activeMQConnectionFactory") ActiveMQConnectionFactory activeMQConnectionFactory,
+            ErrorHandler customErrorHandler,
+            MessageConverter orderMessageConverter,
+            RetryScheduler retryScheduler,
+            OrderGroupingProperties groupingProperties,
+            LaneProperties laneProperties) {
+        DefaultJmsListenerContainerFactory factory = createListenerContainerFactory(
+                new RetryingListenerContainerFactory(retryScheduler),
+                activeMQConnectionFactory, customErrorHandler, orderMessageConverter);
+        factory.setAutoStartup(laneProperties.isEnabled());
+        if (groupingProperties.isEnabled()) {
+            factory.setConcurrency(laneProperties.getPriorityConcurrency());
+        }
+        log.info("Priority lane: {}", laneProperties.isEnabled()
+                ? "orders worth at least " + laneProperties.getPriorityThreshold() + ", "
+                        + (groupingProperties.isEnabled() ? laneProperties.getPriorityConcurrency() : "1") + " consumers"
+                : "disabled");
+        return factory;
+    }
+
+    private DefaultJmsListenerContainerFactory createListenerContainerFactory(
+            DefaultJmsListenerContainerFactory factory,
+            ActiveMQConnectionFactory activeMQConnectionFactory, ErrorHandler customErrorHandler,
+            MessageConverter messageConverter) {
 
-        DefaultJmsListenerContainerFactory factory = new DefaultJmsListenerContainerFactory();
         factory.setConnectionFactory(activeMQConnectionFactory);
-        factory.setMessageConverter(jacksonJmsMessageConverter());
+        factory.setMessageConverter(messageConverter);
         factory.setErrorHandler(customErrorHandler);
         factory.setSessionAcknowledgeMode(jakarta.jms.Session.CLIENT_ACKNOWLEDGE);
-        factory.setConcurrency("1-1");      // ensure one consumer for testing
-        
+
         // Enable auto-startup
         factory.setAutoStartup(true);
 
@@ -83,10 +230,22 @@ public class MessagingConfig {
     }
 
     @Bean
-    public JmsTemplate jmsTemplate(ConnectionFactory connectionFactory) {
+    @Primary
+    public JmsTemplate jmsTemplate(@Qualifier("pooledConnectionFactory") ConnectionFactory connectionFactory,
+                                   MessageConverter orderMessageConverter) {
+        JmsTemplate jmsTemplate = new JmsTemplate(connectionFactory);
+        jmsTemplate.setMessageConverter(orderMessageConverter);
+        jmsTemplate.setDeliveryPersistent(true);
+        return jmsTemplate;
+    }
+
+    @Bean
+    public JmsTemplate batchJmsTemplate(@Qualifier("pooledConnectionFactory") ConnectionFactory connectionFactory,
+                                        MessageConverter orderMessageConverter) {
         JmsTemplate jmsTemplate = new JmsTemplate(connectionFactory);
-        jmsTemplate.setMessageConverter(jacksonJmsMessageConverter());
+        jmsTemplate.setMessageConverter(orderMessageConverter);
         jmsTemplate.setDeliveryPersistent(true);
+        jmsTemplate.setSessionTransacted(true); // one commit per batch
         return jmsTemplate;
     }
 
@@ -97,4 +256,23 @@ public class MessagingConfig {
         converter.setTypeIdPropertyName("_type");  // deserialize properly
         return converter;
     }
+
+    /**
+     * Converter used by every template and listener. Orders are written in the format selected by
+     * {@code ops.jms.codec.format}; both JSON and binary orders are always readable, so consumers
+     * can be upgraded before producers switch to binary. Bodies above {@code ops.jms.compression.threshold}
+     * are compressed when compression is enabled; compressed messages are always decompressed.
+     */
+    @Bean
+    @Primary
+    public MessageConverter orderMessageConverter(
+            @Value("${ops.jms.codec.format:json}") OrderMessageConverter.Format format,
+            CompressionProperties compressionProperties,
+            MeterRegistry meterRegistry) {
+        log.info("Order message format: {}, compression: {} ({} above {})", format,
+                compressionProperties.isEnabled() ? "enabled" : "disabled",
+                compressionProperties.getCodec(), compressionProperties.getThreshold());
+        return new CompressingMessageConverter(
+                new OrderMessageConverter(jacksonJmsMessageConverter(), format), compressionProperties, meterRegistry);
+    }
 }
@@ -0,0 +1,29 @@
+package com.platform.ops.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ops.jms.grouping")
+public class OrderGroupingProperties {
+
+    public enum Key {
+        CUSTOMER_NAME,
+        PRODUCT,
+        ORDER_ID
+    }
+
+    /** Stamp orders with {@code JMSXGroupID}, so the broker keeps each group on one consumer. */
+    private boolean enabled = true;
+
+    /** Order field whose value is the group: orders with the same value are consumed in order. */
+    private Key key = Key.CUSTOMER_NAME;
+
+    /**
+     * Consumers of the {@code orders.queue} listener. Only used while grouping is enabled;
+     * without groups, a second consumer could process a customer's orders out of order.
+     */
+    private String concurrency = "4";
+}
@@ -0,0 +1,34 @@
+package com.platform.ops.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ops.orders.stats")
+public class OrderStatsProperties {
+
+    /** Aggregate consumed orders per product and customer for {@code GET /api/stats}. */
+    private boolean enabled = true;
+
+    /** Width of one bucket: sliding windows advance in steps of this. Every window must be a multiple of it. */
+    private Duration resolution = Duration.ofSeconds(10);
+
+    /** Window lengths reported, each both sliding (ending now) and tumbling (the last complete one). */
+    private List<Duration> windows = new ArrayList<>(List.of(
+            Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofHours(1)));
+
+    /**
+     * Products and customers tracked at most, each; the least recently ordered are evicted
+     * beyond this. A key costs at most {@code 2 * longest window / resolution} buckets of ~100 bytes.
+     */
+    private long maximumKeys = 10_000;
+
+    /** Products and customers listed per window, by revenue, unless the request asks for another number. */
+    private int top = 20;
+}
@@ -0,0 +1,19 @@
+package com.platform.ops.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ops.orders.status")
+public class OrderStatusProperties {
+
+    /** Orders tracked at most; the least recently used are evicted beyond this. */
+    private long maximumSize = 100_000;
+
+    /** A status is forgotten this long after its last transition. */
+    private Duration ttl = Duration.ofHours(1);
+}
@@ -0,0 +1,31 @@
+package com.platform.ops.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ops.orders.persistence")
+public class PersistenceProperties {
+
+    /** Consumed orders waiting to be written; listeners block once it is full. */
+    private int bufferCapacity = 10_000;
+
+    /** Orders written per transaction; keep equal to hibernate.jdbc.batch_size. */
+    private int batchSize = 500;
+
+    /** A partial batch is written once its oldest order has waited this long. */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /** How long a listener waits for buffer space before failing the message for redelivery. */
+    private Duration offerTimeout = Duration.ofSeconds(5);
+
+    /** Pause before retrying a batch whose write failed. */
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    /** Attempts per write for transient failures; the orders are then dropped and counted. */
+    private int maxAttempts = 30;
+}
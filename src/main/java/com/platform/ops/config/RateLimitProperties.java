@@ -0,0 +1,57 @@
+package com.platform.ops.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ops.ratelimit")
+public class RateLimitProperties {
+
+    /** Throttle order requests per {@code customerName}. */
+    private boolean enabled = true;
+
+    /** Limits by tier name. */
+    private Map<String, Tier> tiers = new LinkedHashMap<>(Map.of(
+            "standard", new Tier(50, 100),
+            "premium", new Tier(500, 1000)));
+
+    /** Tier of customers that are not listed in {@code customers}. */
+    private String defaultTier = "standard";
+
+    /** Tier by customer name, e.g. {@code ops.ratelimit.customers[Acme Corp]=premium}. */
+    private Map<String, String> customers = new LinkedHashMap<>();
+
+    /**
+     * A customer's bucket is dropped after this long without requests. Should exceed the time
+     * a bucket takes to refill ({@code burst / rate-per-second}), so that dropping it changes nothing.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /** Buckets kept at most; the least recently used customers are evicted beyond this. */
+    private long maximumCustomers = 1_000_000;
+
+    @Getter
+    @Setter
+    public static class Tier {
+
+        /** Sustained orders per second. */
+        private double ratePerSecond;
+
+        /** Orders a customer may send at once after being idle. */
+        private int burst;
+
+        public Tier() {
+        }
+
+        public Tier(double ratePerSecond, int burst) {
+            this.ratePerSecond = ratePerSecond;
+            this.burst = burst;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.platform.ops.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ops.jms.replay")
+public class ReplayProperties {
+
+    /** Where replayed messages are sent when the queue they were dead-lettered from is unknown. */
+    private String targetQueue = "orders.queue";
+
+    /** Messages moved per local transaction. */
+    private int batchSize = 100;
+
+    /** Replay rate used when a request does not set one. */
+    private double messagesPerSecond = 200;
+
+    /** Upper bound for the rate a request may ask for. */
+    private double maxMessagesPerSecond = 2000;
+
+    /** A replay ends once no matching message has arrived for this long. */
+    private Duration receiveTimeout = Duration.ofSeconds(2);
+
+    /** Finished replays kept for {@code GET /api/dlq/replays}. */
+    private int history = 20;
+}
@@ -0,0 +1,54 @@
+package com.platform.ops.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ops.jms.retry")
+public class RetryProperties {
+
+    /**
+     * Retry failed orders through broker-scheduled redelivery instead of in-session
+     * redelivery delays. Needs {@code schedulerSupport="true"} on the broker. Permanent
+     * failures are dead-lettered right away either way.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Redeliver transiently failed orders of a message group in-session instead of scheduling
+     * their retry, so later orders of the group cannot overtake them. The broker's fixed
+     * RedeliveryPolicy then applies instead of the settings below, and the consumer, with every
+     * group assigned to it, waits through each redelivery delay.
+     */
+    private boolean keepGroupOrder = false;
+
+    /** Deliveries of an order, including the first, before it goes to the dead letter queue. */
+    private int maxAttempts = 5;
+
+    /** Delay before the first retry. */
+    private Duration initialDelay = Duration.ofSeconds(1);
+
+    /** Each further retry waits this many times longer than the previous one... */
+    private double multiplier = 2.0;
+
+    /** ...but never longer than this. */
+    private Duration maxDelay = Duration.ofMinutes(5);
+
+    /** Random spread applied to every delay, as a fraction of it (0.2 = +/-20%). */
+    private double jitter = 0.2;
+
+    /** Where orders go once their attempts are exhausted, or right away on a permanent failure. */
+    private String deadLetterQueue = "orders.DLQ";
+
+    /**
+     * Further exception types (anywhere in the cause chain) that no retry can fix, on top of
+     * conversion and validation errors.
+     */
+    private List<Class<? extends Throwable>> permanentExceptions = new ArrayList<>();
+}
@@ -0,0 +1,26 @@
+package com.platform.ops.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ops.upload")
+public class UploadProperties {
+
+    /** Orders published per broker transaction. */
+    private int batchSize = 500;
+
+    /**
+     * Batches of one upload waiting to be published while the next one is parsed. Together
+     * with {@code batchSize}, this bounds how many orders an upload holds in memory.
+     */
+    private int maxInFlightBatches = 2;
+
+    /** Threads publishing upload batches, shared by all uploads. Each upload uses one at a time. */
+    private int senderThreads = 4;
+
+    /** Longer lines are rejected without being buffered. */
+    private int maxLineLength = 64 * 1024;
+}
@@ -0,0 +1,58 @@
+package com.platform.ops.controller;
+
+import com.platform.ops.exception.ReplayNotFoundException;
+import com.platform.ops.jms.DeadLetterReplayer;
+import com.platform.ops.jms.ReplayJob;
+import com.platform.ops.model.ErrorResponse;
+import com.platform.ops.model.ReplayRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Replays of dead-lettered messages: start one with {@code POST /api/dlq/replays}, follow its
+ * progress with {@code GET /api/dlq/replays/{id}} and stop it with {@code DELETE}.
+ */
+@RestController
+@RequestMapping("/api/dlq/replays")
+public class DeadLetterController {
+
+    private final DeadLetterReplayer replayer;
+
+    public DeadLetterController(DeadLetterReplayer replayer) {
+        this.replayer = replayer;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> startReplay(@RequestBody(required = false) ReplayRequest request) {
+        try {
+            return ResponseEntity.accepted().body(replayer.start(request != null ? request : new ReplayRequest()));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Invalid Replay", ex.getMessage()));
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("Replay Running", ex.getMessage()));
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ReplayJob>> getReplays() {
+        return ResponseEntity.ok(replayer.jobs());
+    }
+
+    @GetMapping("/{replayId}")
+    public ResponseEntity<ReplayJob> getReplay(@PathVariable String replayId) {
+        return replayer.find(replayId)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ReplayNotFoundException(replayId));
+    }
+
+    /** Cancels the replay after its current batch; the response shows it still running until then. */
+    @DeleteMapping("/{replayId}")
+    public ResponseEntity<ReplayJob> cancelReplay(@PathVariable String replayId) {
+        return replayer.cancel(replayId)
+                .map(job -> ResponseEntity.accepted().body(job))
+                .orElseThrow(() -> new ReplayNotFoundException(replayId));
+    }
+}
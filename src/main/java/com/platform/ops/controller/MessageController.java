@@ -1,29 +1,59 @@
 package com.platform.ops.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.platform.ops.admission.CustomerRateLimiter;
 import com.platform.ops.exception.MessageSendFailureException;
 import com.platform.ops.exception.QueueNotFoundException;
+import com.platform.ops.exception.RateLimitExceededException;
 import com.platform.ops.jms.MessageProducer;
 import com.platform.ops.model.*;
+import com.platform.ops.service.OrderUploadService;
+import com.platform.ops.tracing.RequestIds;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.http.ResponseEntity;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @RestController
 @RequestMapping("/api/messages")
 @RequiredArgsConstructor
 public class MessageController {
 
+    static final int MAX_BATCH_SIZE = 1000;
+
     private final MessageProducer messageProducer;
+    private final Validator validator;
+    private final CustomerRateLimiter rateLimiter;
+    private final OrderUploadService uploadService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/orders")
     public ResponseEntity<ApiResponse<String>> sendOrder(@RequestBody @Valid Order order) {
+        rateLimiter.acquire(order.getCustomerName());
         try {
             messageProducer.sendOrder(order);
             return ResponseEntity.ok(new ApiResponse<>("Order queued successfully: " + order.getOrderId()));
@@ -41,6 +71,147 @@ public class MessageController {
 
     }
 
+    /**
+     * Publishes the order without waiting for the broker and answers {@code 202 Accepted}
+     * with a tracking ID that is also stamped on the JMS message.
+     */
+    @PostMapping("/orders/async")
+    public ResponseEntity<ApiResponse<String>> sendOrderAsync(@RequestBody @Valid Order order) {
+        rateLimiter.acquire(order.getCustomerName());
+        String trackingId = RequestIds.current();
+        try {
+            messageProducer.sendOrderAsync(order, trackingId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(new ApiResponse<>(trackingId));
+
+        } catch (MessageSendFailureException ex) {
+            log.warn("Async send rejected: {}", ex.getMessage());
+            ErrorResponse error = new ErrorResponse("Queue Error", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new ApiResponse<>(error));
+
+        } catch (Exception ex) {
+            log.error("Unexpected error", ex);
+            ErrorResponse error = new ErrorResponse("Internal Server Error", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse<>(error));
+        }
+    }
+
+    /**
+     * Answers like {@code POST /orders} once the broker has accepted the order, but without
+     * holding a request thread meanwhile: the response is completed from the broker's
+     * acknowledgement. When the in-flight limit of unacknowledged sends is reached, the
+     * request is refused at once with {@code 503} and {@code Retry-After}, so a slow broker
+     * pushes back on HTTP clients instead of parking threads.
+     */
+    @PostMapping("/orders/nonblocking")
+    public CompletableFuture<ResponseEntity<ApiResponse<String>>> sendOrderNonBlocking(@RequestBody @Valid Order order) {
+        rateLimiter.acquire(order.getCustomerName());
+        String requestId = RequestIds.current();
+        CompletableFuture<String> sent;
+        try {
+            sent = messageProducer.trySendOrderAsync(order, requestId);
+        } catch (MessageSendFailureException ex) {
+            log.debug("Non-blocking send refused: {}", ex.getMessage());
+            ErrorResponse error = new ErrorResponse("Queue Busy", ex.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new ApiResponse<>(error)));
+        }
+        return sent.handle((trackingId, ex) -> {
+            // Completed on the broker connection's thread, which has no request ID of its own
+            try (MDC.MDCCloseable ignored = MDC.putCloseable(RequestIds.MDC_KEY, requestId)) {
+                if (ex == null) {
+                    return ResponseEntity.ok(new ApiResponse<>("Order queued successfully: " + order.getOrderId()));
+                }
+                ErrorResponse error = new ErrorResponse("Queue Error", ex.getMessage());
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new ApiResponse<>(error));
+            }
+        });
+    }
+
+    @PostMapping("/orders/batch")
+    public ResponseEntity<ApiResponse<BatchOrderResponse>> sendOrderBatch(@RequestBody List<Order> orders) {
+        if (orders.isEmpty() || orders.size() > MAX_BATCH_SIZE) {
+            ErrorResponse error = new ErrorResponse("Validation Failed",
+                    "Batch must contain between 1 and " + MAX_BATCH_SIZE + " orders");
+            return ResponseEntity.badRequest().body(new ApiResponse<>(error));
+        }
+
+        List<OrderResult> results = new ArrayList<>(orders.size());
+        List<Order> valid = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            if (order == null) {
+                results.add(OrderResult.rejected(null, "Order must not be null"));
+                continue;
+            }
+            Set<ConstraintViolation<Order>> violations = validator.validate(order);
+            if (!violations.isEmpty()) {
+                results.add(OrderResult.rejected(order.getOrderId(), describe(violations)));
+                continue;
+            }
+            // Each order takes a token, so a batch cannot bypass its customer's rate
+            try {
+                rateLimiter.acquire(order.getCustomerName());
+                valid.add(order);
+                results.add(OrderResult.queued(order.getOrderId()));
+            } catch (RateLimitExceededException ex) {
+                results.add(OrderResult.rejected(order.getOrderId(), ex.getMessage()));
+            }
+        }
+
+        try {
+            if (!valid.isEmpty()) {
+                messageProducer.sendOrders(valid);
+            }
+            BatchOrderResponse response = new BatchOrderResponse(
+                    orders.size(), valid.size(), orders.size() - valid.size(), results);
+            return ResponseEntity.ok(new ApiResponse<>(response));
+
+        } catch (MessageSendFailureException ex) {
+            // The broker did not take the batch; nothing of it was published, so the client can resend it
+            log.warn("Batch send failed: {}", ex.getMessage());
+            ErrorResponse error = new ErrorResponse("Queue Error", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new ApiResponse<>(error));
+
+        } catch (Exception ex) {
+            log.error("Unexpected error", ex);
+            ErrorResponse error = new ErrorResponse("Internal Server Error", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse<>(error));
+        }
+    }
+
+    /**
+     * Bulk upload with one order per line, as NDJSON or as CSV with a header row. Orders are
+     * validated and published while the body is still arriving, see {@link OrderUploadService}.
+     * The response streams one NDJSON {@link UploadLineResult} per order line, in the order
+     * the lines are decided, and ends with an {@link UploadSummary}. Since the status is sent
+     * before the upload is processed, it is always {@code 200}; failures show in the summary.
+     */
+    @PostMapping(value = "/orders/upload",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, OrderUploadService.CSV_MEDIA_TYPE})
+    public void uploadOrders(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        OrderUploadService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? OrderUploadService.Format.NDJSON : OrderUploadService.Format.CSV;
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        // The servlet buffer goes out whenever it fills, not after every line
+        ObjectWriter lineWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            UploadSummary summary = uploadService.upload(request.getInputStream(), format, result -> {
+                try {
+                    writeLine(lineWriter, generator, result);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writeLine(lineWriter, generator, summary);
+        }
+    }
+
     @PostMapping
     public ResponseEntity<ApiResponse<MessageResponse>> sendMessage(
             @RequestBody @Valid MessageRequest request) {
@@ -66,4 +237,20 @@ public class MessageController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse<>(error));
         }
     }
+
+    private static void writeLine(ObjectWriter writer, JsonGenerator generator, Object value) throws IOException {
+        writer.writeValue(generator, value);
+        generator.writeRaw('\n');
+    }
+
+    private static String describe(Set<ConstraintViolation<Order>> violations) {
+        StringBuilder errors = new StringBuilder();
+        for (ConstraintViolation<Order> violation : violations) {
+            errors.append(violation.getPropertyPath())
+                    .append(": ")
+                    .append(violation.getMessage())
+                    .append("; ");
+        }
+        return errors.toString();
+    }
 }
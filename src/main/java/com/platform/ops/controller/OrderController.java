@@ -1,23 +1,57 @@
 package com.platform.ops.controller;
 
+import com.platform.ops.admission.CustomerRateLimiter;
+import com.platform.ops.exception.OrderNotFoundException;
+import com.platform.ops.model.ErrorResponse;
 import com.platform.ops.model.Order;
+import com.platform.ops.model.OrderStatusEntry;
 import com.platform.ops.service.OrderService;
+import com.platform.ops.service.OrderStatusService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
 
+    static final int MAX_LOOKUP_IDS = 100;
+
     private final OrderService orderService;
+    private final OrderStatusService orderStatusService;
+    private final CustomerRateLimiter rateLimiter;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderStatusService orderStatusService,
+                           CustomerRateLimiter rateLimiter) {
         this.orderService = orderService;
+        this.orderStatusService = orderStatusService;
+        this.rateLimiter = rateLimiter;
     }
 
     @PostMapping
     public ResponseEntity<String> placeOrder(@RequestBody Order order) {
+        rateLimiter.acquire(order.getCustomerName());
         orderService.sendOrder(order);
         return ResponseEntity.ok("Order placed successfully!");
     }
+
+    @GetMapping("/{orderId}")
+    public ResponseEntity<OrderStatusEntry> getOrderStatus(@PathVariable String orderId) {
+        return orderStatusService.find(orderId)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new OrderNotFoundException(orderId));
+    }
+
+    /**
+     * Statuses for several orders, e.g. {@code GET /api/orders?ids=ORD-1,ORD-2}. Unknown IDs are left out.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<?> getOrderStatuses(@RequestParam List<String> ids) {
+        if (ids.size() > MAX_LOOKUP_IDS) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("Too Many IDs", "At most " + MAX_LOOKUP_IDS + " order IDs per lookup"));
+        }
+        return ResponseEntity.ok(orderStatusService.findAll(ids));
+    }
 }
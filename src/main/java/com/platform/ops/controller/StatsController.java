@@ -0,0 +1,55 @@
+package com.platform.ops.controller;
+
+import com.platform.ops.model.ErrorResponse;
+import com.platform.ops.service.OrderStatsService;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * Rolling aggregates of consumed orders, e.g. {@code GET /api/stats?window=5m&top=10}.
+ * Without {@code window}, every configured window is returned.
+ */
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    static final int MAX_TOP = 1000;
+
+    private final OrderStatsService statsService;
+
+    public StatsController(OrderStatsService statsService) {
+        this.statsService = statsService;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getStats(@RequestParam(required = false) String window,
+                                      @RequestParam(required = false) Integer top) {
+        Duration length = null;
+        if (window != null) {
+            length = parse(window);
+            if (length == null || !statsService.getWindows().contains(length)) {
+                return ResponseEntity.badRequest()
+                        .body(new ErrorResponse("Unknown Window", "Windows are " + statsService.getWindows()));
+            }
+        }
+        if (top != null && (top < 0 || top > MAX_TOP)) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("Invalid Top", "top must be between 0 and " + MAX_TOP));
+        }
+        return ResponseEntity.ok(statsService.snapshot(length, top != null ? top : statsService.getDefaultTop()));
+    }
+
+    private static Duration parse(String window) {
+        try {
+            return DurationStyle.detectAndParse(window);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
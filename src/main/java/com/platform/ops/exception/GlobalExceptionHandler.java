@@ -1,12 +1,14 @@
 package com.platform.ops.exception;
 
 import com.platform.ops.model.ErrorResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.*;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.validation.FieldError;
+import org.springframework.web.filter.ServerHttpObservationFilter;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
@@ -14,21 +16,50 @@ public class GlobalExceptionHandler {
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
     @ExceptionHandler(QueueNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleQueueNotFound(QueueNotFoundException ex) {
+    public ResponseEntity<ErrorResponse> handleQueueNotFound(QueueNotFoundException ex, HttpServletRequest request) {
+        recordError(request, ex);
         logger.warn("Queue not found: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(new ErrorResponse("Queue Not Found", ex.getMessage()));
     }
 
+    @ExceptionHandler(OrderNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleOrderNotFound(OrderNotFoundException ex, HttpServletRequest request) {
+        recordError(request, ex);
+        logger.debug("Order not found: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse("Order Not Found", ex.getMessage()));
+    }
+
+    @ExceptionHandler(ReplayNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleReplayNotFound(ReplayNotFoundException ex, HttpServletRequest request) {
+        recordError(request, ex);
+        logger.debug("Replay not found: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse("Replay Not Found", ex.getMessage()));
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceeded(RateLimitExceededException ex, HttpServletRequest request) {
+        recordError(request, ex);
+        logger.debug("Rate limit exceeded: {}", ex.getMessage());
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(new ErrorResponse("Rate Limit Exceeded", ex.getMessage()));
+    }
+
     @ExceptionHandler(MessageSendFailureException.class)
-    public ResponseEntity<ErrorResponse> handleMessageSendFailure(MessageSendFailureException ex) {
+    public ResponseEntity<ErrorResponse> handleMessageSendFailure(MessageSendFailureException ex, HttpServletRequest request) {
+        recordError(request, ex);
         logger.error("Message sending failed", ex);
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
                 .body(new ErrorResponse("Message Delivery Failed", ex.getMessage()));
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<ErrorResponse> handleValidationErrors(MethodArgumentNotValidException ex) {
+    public ResponseEntity<ErrorResponse> handleValidationErrors(MethodArgumentNotValidException ex, HttpServletRequest request) {
+        recordError(request, ex);
         StringBuilder errors = new StringBuilder();
         for (FieldError fieldError : ex.getBindingResult().getFieldErrors()) {
             errors.append(fieldError.getField())
@@ -41,9 +72,18 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex, HttpServletRequest request) {
+        recordError(request, ex);
         logger.error("Unhandled exception", ex);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ErrorResponse("Internal Server Error", ex.getMessage()));
     }
+
+    /**
+     * Handled exceptions never reach the observation filter; attaching them keeps the
+     * {@code exception} tag of {@code http.server.requests} accurate for error responses.
+     */
+    private static void recordError(HttpServletRequest request, Exception ex) {
+        ServerHttpObservationFilter.findObservationContext(request).ifPresent(context -> context.setError(ex));
+    }
 }
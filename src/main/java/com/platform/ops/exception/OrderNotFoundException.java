@@ -0,0 +1,7 @@
+package com.platform.ops.exception;
+
+public class OrderNotFoundException extends RuntimeException {
+    public OrderNotFoundException(String orderId) {
+        super("No status known for order: " + orderId);
+    }
+}
@@ -0,0 +1,17 @@
+package com.platform.ops.exception;
+
+import java.time.Duration;
+
+public class RateLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(String customerName, String tier, Duration retryAfter) {
+        super("Order rate limit of tier '" + tier + "' exceeded for customer: " + customerName);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
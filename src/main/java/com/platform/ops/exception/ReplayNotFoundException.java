@@ -0,0 +1,7 @@
+package com.platform.ops.exception;
+
+public class ReplayNotFoundException extends RuntimeException {
+    public ReplayNotFoundException(String replayId) {
+        super("No replay known with id: " + replayId);
+    }
+}
@@ -0,0 +1,75 @@
+package com.platform.ops.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Progress of an import: for every chunk, the offset up to which its orders are committed to
+ * the broker. The file is rewritten after every committed batch, through a temporary file and
+ * an atomic rename, so a crash leaves either the previous or the new progress. A resumed
+ * import publishes at most the batches that were in flight again.
+ */
+final class ImportCheckpoint {
+
+    private final Path path;
+    private final Properties state = new Properties();
+    private final long[] resumeAt;
+
+    private ImportCheckpoint(Path path, long[] resumeAt) {
+        this.path = path;
+        this.resumeAt = resumeAt;
+    }
+
+    /**
+     * Loads the checkpoint at {@code path}, or starts one at the beginning of every chunk.
+     *
+     * @throws IllegalStateException if the checkpoint was written for another archive size or chunking
+     */
+    static ImportCheckpoint open(Path path, long archiveSize, long chunkSize, List<OrderImporter.Chunk> chunks)
+            throws IOException {
+        long[] resumeAt = chunks.stream().mapToLong(OrderImporter.Chunk::start).toArray();
+        ImportCheckpoint checkpoint = new ImportCheckpoint(path, resumeAt);
+        if (Files.exists(path)) {
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                checkpoint.state.load(reader);
+            }
+            if (!Long.toString(archiveSize).equals(checkpoint.state.getProperty("size"))
+                    || !Long.toString(chunkSize).equals(checkpoint.state.getProperty("chunk-size"))
+                    || !Integer.toString(chunks.size()).equals(checkpoint.state.getProperty("chunks"))) {
+                throw new IllegalStateException("Checkpoint " + path + " was written for another archive or chunk size;"
+                        + " delete it to import from the start");
+            }
+            for (OrderImporter.Chunk chunk : chunks) {
+                String offset = checkpoint.state.getProperty("chunk." + chunk.index());
+                if (offset != null) {
+                    resumeAt[chunk.index()] = Math.max(chunk.start(), Math.min(chunk.end(), Long.parseLong(offset)));
+                }
+            }
+        }
+        checkpoint.state.setProperty("size", Long.toString(archiveSize));
+        checkpoint.state.setProperty("chunk-size", Long.toString(chunkSize));
+        checkpoint.state.setProperty("chunks", Integer.toString(chunks.size()));
+        return checkpoint;
+    }
+
+    synchronized long resumeAt(int chunk) {
+        return resumeAt[chunk];
+    }
+
+    synchronized void advance(int chunk, long offset) throws IOException {
+        resumeAt[chunk] = offset;
+        state.setProperty("chunk." + chunk, Long.toString(offset));
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            state.store(writer, "Order import progress: committed offset per chunk");
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,30 @@
+package com.platform.ops.importer;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jms.config.AbstractJmsListenerContainerFactory;
+
+/**
+ * The import process only publishes. It has no order listeners or persistence, and any other
+ * listener container is created but never started, so it does not compete with the running
+ * instances for the queues it fills.
+ */
+@Configuration
+@Profile(OrderImportRunner.PROFILE)
+public class ImportConfig {
+
+    @Bean
+    public static BeanPostProcessor listenerAutoStartupDisabler() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractJmsListenerContainerFactory<?> factory) {
+                    factory.setAutoStartup(false);
+                }
+                return bean;
+            }
+        };
+    }
+}
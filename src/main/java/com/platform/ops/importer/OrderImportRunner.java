@@ -0,0 +1,41 @@
+package com.platform.ops.importer;
+
+import com.platform.ops.config.ImportProperties;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the import of {@code ops.import.file} when the application is started with the
+ * {@value #PROFILE} profile. The application exits once the import ends, with code 0 if
+ * the whole archive was imported and 1 if it stopped early and can be resumed.
+ */
+@Component
+@Profile(OrderImportRunner.PROFILE)
+public class OrderImportRunner implements CommandLineRunner, ExitCodeGenerator {
+
+    public static final String PROFILE = "import";
+
+    private final OrderImporter importer;
+    private final ImportProperties properties;
+    private int exitCode;
+
+    public OrderImportRunner(OrderImporter importer, ImportProperties properties) {
+        this.importer = importer;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (properties.getFile() == null) {
+            throw new IllegalStateException("Set ops.import.file to the archive to import");
+        }
+        exitCode = importer.importFile(properties.getFile()).complete() ? 0 : 1;
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+}
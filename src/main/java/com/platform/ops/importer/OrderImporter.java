@@ -0,0 +1,320 @@
+package com.platform.ops.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.platform.ops.config.ImportProperties;
+import com.platform.ops.jms.MessageProducer;
+import com.platform.ops.model.Order;
+import com.platform.ops.service.CsvOrders;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Imports an order archive into the order queues. The archive is cut into chunks of
+ * {@code ops.import.chunk-size} at line boundaries. Each chunk is memory-mapped and parsed by
+ * one of {@code parallelism} workers, which publishes its valid orders in transacted batches
+ * through {@link MessageProducer#sendOrders}. Invalid lines are logged and skipped.
+ * <p>
+ * Orders of one chunk are published in file order, but chunks are imported concurrently, so
+ * with more than one worker a customer's orders can reach the queue out of sequence.
+ * Progress is recorded in an {@link ImportCheckpoint} after every batch. Running the import
+ * again resumes every chunk after its last committed batch.
+ */
+@Component
+public class OrderImporter implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderImporter.class);
+
+    record Chunk(int index, long start, long end) {
+    }
+
+    public record Result(long imported, long invalid, boolean complete) {
+    }
+
+    private final MessageProducer messageProducer;
+    private final Validator validator;
+    private final ObjectReader orderReader;
+    private final ImportProperties properties;
+    private volatile boolean stopRequested;
+
+    public OrderImporter(MessageProducer messageProducer, Validator validator, ObjectMapper objectMapper,
+                         ImportProperties properties) {
+        this.messageProducer = messageProducer;
+        this.validator = validator;
+        this.orderReader = objectMapper.readerFor(Order.class);
+        this.properties = properties;
+    }
+
+    public Result importFile(Path file) throws IOException, InterruptedException {
+        Path checkpointFile = properties.getCheckpointFile() != null
+                ? properties.getCheckpointFile()
+                : file.resolveSibling(file.getFileName() + ".checkpoint");
+        long chunkSize = Math.min(Integer.MAX_VALUE, Math.max(1, properties.getChunkSize().toBytes()));
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int[] csvColumns = null;
+            long dataStart = 0;
+            if (file.getFileName().toString().toLowerCase().endsWith(".csv")) {
+                dataStart = nextLineStart(channel, 0, size);
+                csvColumns = CsvOrders.header(readString(channel, 0, dataStart).strip());
+                if (csvColumns == null) {
+                    throw new IllegalArgumentException("CSV header of " + file + " must name the columns "
+                            + String.join(",", CsvOrders.COLUMNS));
+                }
+            }
+            List<Chunk> chunks = split(channel, dataStart, size, chunkSize);
+            ImportCheckpoint checkpoint = ImportCheckpoint.open(checkpointFile, size, chunkSize, chunks);
+            log.info("Importing {} ({} bytes, {} chunks) with {} workers, checkpoint {}", file, size, chunks.size(),
+                    properties.getParallelism(), checkpointFile);
+
+            Import run = new Import(file, channel, checkpoint, csvColumns);
+            AtomicInteger threads = new AtomicInteger();
+            ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()), task -> {
+                Thread thread = new Thread(task, "order-import-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            boolean complete = true;
+            try {
+                List<Future<Boolean>> results = new ArrayList<>(chunks.size());
+                for (Chunk chunk : chunks) {
+                    results.add(workers.submit(() -> run.importChunk(chunk)));
+                }
+                for (Future<Boolean> result : results) {
+                    try {
+                        complete &= result.get();
+                    } catch (ExecutionException e) {
+                        complete = false;
+                        run.failed = true;
+                        log.error("Import of {} failed, resume it by running the import again", file, e.getCause());
+                    }
+                }
+            } finally {
+                workers.shutdownNow();
+                workers.awaitTermination(1, TimeUnit.MINUTES);
+            }
+            log.info("Import of {} {}: {} orders published, {} invalid lines skipped", file,
+                    complete ? "completed" : "stopped", run.imported.get(), run.invalid.get());
+            return new Result(run.imported.get(), run.invalid.get(), complete);
+        }
+    }
+
+    /** Lets running workers finish their current batch, then stops the import. */
+    @Override
+    public void destroy() {
+        stopRequested = true;
+    }
+
+    /** Splits {@code [start, size)} into chunks of about {@code chunkSize} that end after a newline. */
+    static List<Chunk> split(FileChannel channel, long start, long size, long chunkSize) throws IOException {
+        List<Chunk> chunks = new ArrayList<>();
+        long chunkStart = start;
+        while (chunkStart < size) {
+            long end = size - chunkStart <= chunkSize ? size : nextLineStart(channel, chunkStart + chunkSize, size);
+            chunks.add(new Chunk(chunks.size(), chunkStart, end));
+            chunkStart = end;
+        }
+        return chunks;
+    }
+
+    private static long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static String readString(FileChannel channel, long start, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        while (buffer.hasRemaining() && channel.read(buffer, start + buffer.position()) > 0) {
+            // keep reading until the range is complete
+        }
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+    }
+
+    private static String describe(Set<ConstraintViolation<Order>> violations) {
+        StringBuilder errors = new StringBuilder();
+        for (ConstraintViolation<Order> violation : violations) {
+            errors.append(violation.getPropertyPath())
+                    .append(": ")
+                    .append(violation.getMessage())
+                    .append("; ");
+        }
+        return errors.toString();
+    }
+
+    /** One run over an archive, shared by its workers. */
+    private final class Import {
+
+        private final Path file;
+        private final FileChannel channel;
+        private final ImportCheckpoint checkpoint;
+        private final int[] csvColumns;
+        private final long batchIntervalNanos;
+        private final AtomicLong nextBatch = new AtomicLong(System.nanoTime());
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong invalid = new AtomicLong();
+        private volatile boolean failed;
+
+        Import(Path file, FileChannel channel, ImportCheckpoint checkpoint, int[] csvColumns) {
+            this.file = file;
+            this.channel = channel;
+            this.checkpoint = checkpoint;
+            this.csvColumns = csvColumns;
+            double rate = properties.getOrdersPerSecond();
+            this.batchIntervalNanos = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / rate) : 0;
+        }
+
+        /** @return whether the chunk was imported up to its end */
+        boolean importChunk(Chunk chunk) throws IOException {
+            long from = checkpoint.resumeAt(chunk.index());
+            if (from >= chunk.end()) {
+                return true;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, from, chunk.end() - from);
+            int batchSize = Math.max(1, properties.getBatchSize());
+            List<Order> batch = new ArrayList<>(batchSize);
+            byte[] line = new byte[1024];
+            int limit = buffer.limit();
+            int position = 0;
+            while (position < limit) {
+                int lineStart = position;
+                while (position < limit && buffer.get(position) != '\n') {
+                    position++;
+                }
+                int length = position - lineStart;
+                position++; // past the newline
+                if (length > 0 && buffer.get(lineStart + length - 1) == '\r') {
+                    length--;
+                }
+                if (length > line.length) {
+                    line = new byte[Math.max(length, line.length * 2)];
+                }
+                buffer.get(lineStart, line, 0, length);
+
+                Order order = parse(line, length, from + lineStart);
+                if (order != null) {
+                    batch.add(order);
+                }
+                if (batch.size() == batchSize) {
+                    if (!publish(batch, chunk, from + Math.min(position, limit))) {
+                        return false;
+                    }
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            return publish(batch, chunk, chunk.end());
+        }
+
+        private Order parse(byte[] line, int length, long offset) {
+            if (isBlank(line, length)) {
+                return null;
+            }
+            Order order;
+            try {
+                order = csvColumns != null
+                        ? CsvOrders.order(new String(line, 0, length, StandardCharsets.UTF_8), csvColumns)
+                        : orderReader.readValue(line, 0, length);
+            } catch (JsonProcessingException e) {
+                return skip(offset, "unreadable order: " + e.getOriginalMessage());
+            } catch (IOException | IllegalArgumentException e) {
+                return skip(offset, "unreadable order: " + e.getMessage());
+            }
+            if (order == null) {
+                return skip(offset, "not an order");
+            }
+            Set<ConstraintViolation<Order>> violations = validator.validate(order);
+            if (!violations.isEmpty()) {
+                return skip(offset, describe(violations));
+            }
+            return order;
+        }
+
+        private Order skip(long offset, String reason) {
+            invalid.incrementAndGet();
+            log.warn("Skipping line at byte {} of {}: {}", offset, file, reason);
+            return null;
+        }
+
+        /** Publishes the batch and records {@code end} as the chunk's committed offset. */
+        private boolean publish(List<Order> batch, Chunk chunk, long end) throws IOException {
+            if (stopRequested || failed) {
+                return false;
+            }
+            if (!batch.isEmpty()) {
+                pace(batch.size());
+                try {
+                    messageProducer.sendOrders(batch);
+                } catch (RuntimeException e) {
+                    failed = true;
+                    throw e;
+                }
+                imported.addAndGet(batch.size());
+            }
+            checkpoint.advance(chunk.index(), end);
+            return true;
+        }
+
+        /** Waits for this batch's share of {@code ops.import.orders-per-second}, over all workers. */
+        private void pace(int orders) {
+            if (batchIntervalNanos == 0) {
+                return;
+            }
+            long now = System.nanoTime();
+            long start = nextBatch.getAndUpdate(next -> Math.max(next, now) + batchIntervalNanos * orders);
+            long wait = Math.max(start, now) - now;
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private static boolean isBlank(byte[] line, int length) {
+        for (int i = 0; i < length; i++) {
+            if (!Character.isWhitespace(line[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,221 @@
+package com.platform.ops.jms;
+
+import com.platform.ops.config.AsyncSendProperties;
+import com.platform.ops.exception.MessageSendFailureException;
+import com.platform.ops.tracing.RequestIds;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import org.apache.activemq.ActiveMQConnection;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.ActiveMQMessageProducer;
+import org.apache.activemq.ActiveMQSession;
+import org.apache.activemq.AsyncCallback;
+import org.apache.activemq.command.ActiveMQQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking publisher built on ActiveMQ's {@link AsyncCallback} send. The calling thread
+ * only converts and hands the message to the transport; the returned future completes when
+ * the broker acknowledges the persistent send. The number of unacknowledged sends is capped
+ * by {@link AsyncSendProperties#getMaxInFlight()}.
+ */
+@Component
+public class AsyncOrderSender implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncOrderSender.class);
+    public static final String TRACKING_ID_PROPERTY = "trackingId";
+
+    private final ActiveMQConnectionFactory connectionFactory;
+    private final MessageConverter messageConverter;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final long acquireTimeoutMillis;
+    private final BlockingQueue<PooledProducer> idleProducers;
+
+    private volatile ActiveMQConnection connection;
+
+    public AsyncOrderSender(@Qualifier("activeMQConnectionFactory") ActiveMQConnectionFactory connectionFactory,
+                            JmsTemplate jmsTemplate,
+                            AsyncSendProperties properties) {
+        this.connectionFactory = connectionFactory;
+        this.messageConverter = jmsTemplate.getMessageConverter();
+        this.maxInFlight = properties.getMaxInFlight();
+        this.inFlight = new Semaphore(maxInFlight);
+        this.acquireTimeoutMillis = properties.getAcquireTimeout().toMillis();
+        this.idleProducers = new ArrayBlockingQueue<>(Math.max(1, properties.getIdleSessions()));
+    }
+
+    /**
+     * Sends {@code payload} to {@code destination} without waiting for the broker.
+     *
+     * @return a future completed with {@code trackingId} once the broker has accepted the
+     *         message, or completed exceptionally with {@link MessageSendFailureException}
+     * @throws MessageSendFailureException if no in-flight slot frees up in time or the
+     *         message cannot be handed to the transport
+     */
+    public CompletableFuture<String> send(String destination, Object payload, String trackingId) {
+        return send(destination, payload, trackingId, null);
+    }
+
+    /** Like {@link #send(String, Object, String)}, in message group {@code group} unless it is {@code null}. */
+    public CompletableFuture<String> send(String destination, Object payload, String trackingId, String group) {
+        return send(destination, payload, trackingId, group, acquireTimeoutMillis);
+    }
+
+    /**
+     * Like {@link #send(String, Object, String, String)}, but fails at once instead of waiting
+     * when every in-flight slot is taken, so the calling thread never parks.
+     */
+    public CompletableFuture<String> trySend(String destination, Object payload, String trackingId, String group) {
+        return send(destination, payload, trackingId, group, 0);
+    }
+
+    private CompletableFuture<String> send(String destination, Object payload, String trackingId, String group,
+                                           long timeoutMillis) {
+        acquireSlot(destination, timeoutMillis);
+        CompletableFuture<String> future = new CompletableFuture<>();
+        PooledProducer pooled = null;
+        try {
+            pooled = borrow();
+            Message message = messageConverter.toMessage(payload, pooled.session());
+            message.setStringProperty(TRACKING_ID_PROPERTY, trackingId);
+            RequestIds.correlate(message);
+            OrderGrouping.stamp(message, group);
+            pooled.producer().send(new ActiveMQQueue(destination), message, new AsyncCallback() {
+                @Override
+                public void onSuccess() {
+                    inFlight.release();
+                    future.complete(trackingId);
+                }
+
+                @Override
+                public void onException(JMSException exception) {
+                    inFlight.release();
+                    future.completeExceptionally(new MessageSendFailureException(destination, exception));
+                }
+            });
+            release(pooled);
+            return future;
+        } catch (JMSException | RuntimeException e) {
+            inFlight.release();
+            discard(pooled);
+            throw new MessageSendFailureException(destination, e);
+        }
+    }
+
+    /** Number of sends currently waiting for a broker acknowledgement. */
+    public int getInFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    private void acquireSlot(String destination, long timeoutMillis) {
+        try {
+            if (!inFlight.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new MessageSendFailureException(destination,
+                        new IllegalStateException("Too many in-flight sends"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessageSendFailureException(destination, e);
+        }
+    }
+
+    private PooledProducer borrow() throws JMSException {
+        ActiveMQConnection current = currentConnection();
+        PooledProducer pooled;
+        while ((pooled = idleProducers.poll()) != null) {
+            if (pooled.connection() == current) {
+                return pooled;
+            }
+            pooled.close();
+        }
+        ActiveMQSession session = (ActiveMQSession) current.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        ActiveMQMessageProducer producer = (ActiveMQMessageProducer) session.createProducer(null);
+        producer.setDeliveryMode(DeliveryMode.PERSISTENT);
+        return new PooledProducer(current, session, producer);
+    }
+
+    private void release(PooledProducer pooled) {
+        if (!idleProducers.offer(pooled)) {
+            pooled.close();
+        }
+    }
+
+    private void discard(PooledProducer pooled) {
+        if (pooled != null) {
+            pooled.close();
+        }
+        ActiveMQConnection current = connection;
+        if (current != null && (current.isClosed() || current.isTransportFailed())) {
+            resetConnection(current);
+        }
+    }
+
+    private ActiveMQConnection currentConnection() throws JMSException {
+        ActiveMQConnection current = connection;
+        if (current == null) {
+            synchronized (this) {
+                current = connection;
+                if (current == null) {
+                    current = (ActiveMQConnection) connectionFactory.createConnection();
+                    ActiveMQConnection created = current;
+                    current.setExceptionListener(ex -> {
+                        log.warn("Async send connection failed: {}", ex.getMessage());
+                        resetConnection(created);
+                    });
+                    connection = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private synchronized void resetConnection(ActiveMQConnection failed) {
+        if (connection == failed) {
+            connection = null;
+            closeQuietly(failed);
+        }
+    }
+
+    private static void closeQuietly(ActiveMQConnection connection) {
+        try {
+            connection.close();
+        } catch (JMSException e) {
+            log.debug("Failed to close async send connection", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        ActiveMQConnection current = connection;
+        if (current != null) {
+            resetConnection(current);
+        }
+        idleProducers.clear();
+    }
+
+    private record PooledProducer(ActiveMQConnection connection, ActiveMQSession session,
+                                  ActiveMQMessageProducer producer) {
+        void close() {
+            try {
+                session.close();
+            } catch (JMSException e) {
+                log.debug("Failed to close async send session", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.platform.ops.jms;
+
+import com.platform.ops.config.BatchConsumerProperties;
+import com.platform.ops.model.Order;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.JmsUtils;
+import org.springframework.jms.support.converter.MessageConversionException;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-batching consumer for {@code orders.queue}. Each worker owns a CLIENT_ACKNOWLEDGE
+ * session and collects messages until {@code batchSize} is reached or {@code maxWait} has
+ * passed since the first message, then hands the converted orders to the
+ * {@link OrderBatchHandler}. On success the last message is acknowledged, which acknowledges
+ * the whole batch; on failure the session is recovered so every message is redelivered under
+ * the connection factory's RedeliveryPolicy and, once retries are exhausted, dead-lettered
+ * by the broker.
+ * <p>
+ * Messages that cannot be converted to an order, and orders the handler rejects as invalid,
+ * are dead-lettered one by one through {@link RetryScheduler} and acknowledged with the rest
+ * of the batch, so a poison message does not take the valid orders of its batch down with it.
+ * If the batch is redelivered after that, the poison message is dead-lettered again.
+ * <p>
+ * A worker whose connection fails, or that hits an unexpected exception outside the handler,
+ * closes its connection and reconnects after {@code recovery-interval}; its unacknowledged
+ * batch is redelivered.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ops.jms.batch", name = "enabled", havingValue = "true")
+public class BatchOrderListener implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchOrderListener.class);
+
+    private final ConnectionFactory connectionFactory;
+    private final MessageConverter messageConverter;
+    private final OrderBatchHandler handler;
+    private final RetryScheduler retryScheduler;
+    private final BatchConsumerProperties properties;
+    private final List<Thread> workers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    public BatchOrderListener(@Qualifier("activeMQConnectionFactory") ConnectionFactory connectionFactory,
+                              JmsTemplate jmsTemplate,
+                              OrderBatchHandler handler,
+                              RetryScheduler retryScheduler,
+                              BatchConsumerProperties properties) {
+        this.connectionFactory = connectionFactory;
+        this.messageConverter = jmsTemplate.getMessageConverter();
+        this.handler = handler;
+        this.retryScheduler = retryScheduler;
+        this.properties = properties;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < properties.getConsumers(); i++) {
+            Thread worker = new Thread(this::consume, "order-batch-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        log.info("Batch consumer started on {}: consumers={}, batchSize={}, maxWait={}",
+                MessageProducer.ORDERS_QUEUE, properties.getConsumers(), properties.getBatchSize(), properties.getMaxWait());
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(properties.getPollTimeout().toMillis() * 2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        workers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void consume() {
+        while (running) {
+            Connection connection = null;
+            try {
+                connection = connectionFactory.createConnection();
+                connection.start();
+                Session session = connection.createSession(false, Session.CLIENT_ACKNOWLEDGE);
+                jakarta.jms.MessageConsumer consumer = session.createConsumer(session.createQueue(MessageProducer.ORDERS_QUEUE));
+                while (running) {
+                    List<Message> batch = collect(consumer);
+                    if (!batch.isEmpty()) {
+                        process(session, batch);
+                    }
+                }
+            } catch (JMSException e) {
+                if (running) {
+                    log.warn("Batch consumer connection failed, reconnecting in {}: {}",
+                            properties.getRecoveryInterval(), e.getMessage());
+                    sleep(properties.getRecoveryInterval().toMillis());
+                }
+            } catch (RuntimeException e) {
+                // Closing the connection returns the unacknowledged batch to the queue for redelivery
+                if (running) {
+                    log.error("Batch consumer failed, reconnecting in {}", properties.getRecoveryInterval(), e);
+                    sleep(properties.getRecoveryInterval().toMillis());
+                }
+            } finally {
+                JmsUtils.closeConnection(connection);
+            }
+        }
+    }
+
+    List<Message> collect(jakarta.jms.MessageConsumer consumer) throws JMSException {
+        List<Message> batch = new ArrayList<>(properties.getBatchSize());
+        Message first = consumer.receive(properties.getPollTimeout().toMillis());
+        if (first == null) {
+            return batch;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + properties.getMaxWait().toNanos();
+        while (batch.size() < properties.getBatchSize()) {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            Message next = remainingMillis > 0 ? consumer.receive(remainingMillis) : consumer.receiveNoWait();
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    void process(Session session, List<Message> batch) throws JMSException {
+        List<Order> orders = new ArrayList<>(batch.size());
+        Map<Order, Message> messages = new IdentityHashMap<>(batch.size());
+        for (Message message : batch) {
+            Order order = convert(session, message);
+            if (order != null) {
+                orders.add(order);
+                messages.put(order, message);
+            }
+        }
+        try {
+            List<OrderBatchHandler.Rejection> rejections = orders.isEmpty() ? List.of() : handler.handleBatch(orders);
+            for (OrderBatchHandler.Rejection rejection : rejections) {
+                deadLetter(session, messages.get(rejection.order()), rejection.cause());
+            }
+        } catch (RuntimeException e) {
+            log.error("Batch of {} orders failed, recovering session for redelivery: {}", batch.size(), e.getMessage());
+            session.recover();
+            return;
+        }
+        batch.get(batch.size() - 1).acknowledge();
+    }
+
+    /** @return the order, or {@code null} if the message is poison and was dead-lettered */
+    private Order convert(Session session, Message message) throws JMSException {
+        RuntimeException failure;
+        try {
+            Object payload = messageConverter.fromMessage(message);
+            if (payload instanceof Order order) {
+                return order;
+            }
+            failure = new MessageConversionException("Expected an order, got "
+                    + (payload != null ? payload.getClass().getName() : "null"));
+        } catch (MessageConversionException e) {
+            failure = e;
+        }
+        deadLetter(session, message, failure);
+        return null;
+    }
+
+    private void deadLetter(Session session, Message message, RuntimeException cause) throws JMSException {
+        if (!retryScheduler.handleFailure(session, message, cause)) {
+            // Not an ActiveMQ message, so it cannot be copied; it is acknowledged and only logged
+            log.error("Dropping message {} that cannot be processed: {}", message.getJMSMessageID(), cause.toString());
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
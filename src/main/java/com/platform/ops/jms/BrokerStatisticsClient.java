@@ -0,0 +1,62 @@
+package com.platform.ops.jms;
+
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.MapMessage;
+import jakarta.jms.Message;
+import jakarta.jms.TemporaryQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jms.JmsException;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.JmsUtils;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Queries queue statistics through the broker's {@code statisticsBrokerPlugin}
+ * (request/reply on {@code ActiveMQ.Statistics.Destination.<queue>}). Returns an empty
+ * result when the plugin is not enabled or the broker does not answer in time.
+ */
+@Component
+public class BrokerStatisticsClient {
+
+    private static final Logger log = LoggerFactory.getLogger(BrokerStatisticsClient.class);
+    private static final String STATISTICS_PREFIX = "ActiveMQ.Statistics.Destination.";
+
+    private final JmsTemplate jmsTemplate;
+    private final long timeoutMillis;
+
+    public BrokerStatisticsClient(JmsTemplate jmsTemplate,
+                                  @Value("${ops.jms.statistics.timeout:1s}") Duration timeout) {
+        this.jmsTemplate = jmsTemplate;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    public Optional<QueueStatistics> queueStatistics(String queueName) {
+        try {
+            return Optional.ofNullable(jmsTemplate.execute(session -> {
+                TemporaryQueue replyTo = session.createTemporaryQueue();
+                jakarta.jms.MessageConsumer consumer = session.createConsumer(replyTo);
+                jakarta.jms.MessageProducer producer = session.createProducer(session.createQueue(STATISTICS_PREFIX + queueName));
+                try {
+                    producer.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
+                    Message query = session.createMessage();
+                    query.setJMSReplyTo(replyTo);
+                    producer.send(query);
+                    Message reply = consumer.receive(timeoutMillis);
+                    return reply instanceof MapMessage stats ? QueueStatistics.from(stats) : null;
+                } finally {
+                    JmsUtils.closeMessageProducer(producer);
+                    JmsUtils.closeMessageConsumer(consumer);
+                    replyTo.delete();
+                }
+            }, true));
+        } catch (JmsException e) {
+            log.debug("Could not read statistics for {}: {}", queueName, e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
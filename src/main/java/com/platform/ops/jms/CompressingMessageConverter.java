@@ -0,0 +1,196 @@
+package com.platform.ops.jms;
+
+import com.platform.ops.config.CompressionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.jms.BytesMessage;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import org.apache.activemq.command.ActiveMQBytesMessage;
+import org.apache.activemq.command.ActiveMQMessage;
+import org.apache.activemq.command.ActiveMQTextMessage;
+import org.springframework.jms.support.converter.MessageConversionException;
+import org.springframework.jms.support.converter.MessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compresses the body produced by the delegate converter once it reaches the configured
+ * threshold. A compressed message is a {@link BytesMessage} carrying the original properties
+ * plus {@code _compression} (codec), {@code _originalLength} and {@code _originalType}
+ * (TEXT or BYTES). On the way in the original message is rebuilt before it is handed to the
+ * delegate, so listeners never see the compressed form. Incoming compressed messages are
+ * decompressed even when outgoing compression is disabled.
+ */
+public class CompressingMessageConverter implements MessageConverter {
+
+    public static final String COMPRESSION_PROPERTY = "_compression";
+    public static final String ORIGINAL_LENGTH_PROPERTY = "_originalLength";
+    public static final String ORIGINAL_TYPE_PROPERTY = "_originalType";
+
+    private static final String TEXT = "TEXT";
+    private static final String BYTES = "BYTES";
+
+    private final MessageConverter delegate;
+    private final CompressionProperties properties;
+    private final int threshold;
+    private final int maxBodySize;
+    private final DistributionSummary ratio;
+    private final Counter originalBytes;
+    private final Counter compressedBytes;
+    private final Timer compressTime;
+    private final Map<CompressionCodec, Timer> decompressTimes = new EnumMap<>(CompressionCodec.class);
+
+    public CompressingMessageConverter(MessageConverter delegate, CompressionProperties properties,
+                                       MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.threshold = (int) Math.min(Integer.MAX_VALUE, properties.getThreshold().toBytes());
+        this.maxBodySize = (int) Math.min(Integer.MAX_VALUE, properties.getMaxBodySize().toBytes());
+        String codec = properties.getCodec().name().toLowerCase();
+
+        this.ratio = DistributionSummary.builder("ops.jms.compression.ratio")
+                .tag("codec", codec)
+                .description("Original body size divided by compressed body size")
+                .register(meterRegistry);
+        this.originalBytes = Counter.builder("ops.jms.compression.bytes")
+                .tag("codec", codec)
+                .tag("stage", "original")
+                .baseUnit("bytes")
+                .description("Body bytes before and after compression")
+                .register(meterRegistry);
+        this.compressedBytes = Counter.builder("ops.jms.compression.bytes")
+                .tag("codec", codec)
+                .tag("stage", "compressed")
+                .baseUnit("bytes")
+                .description("Body bytes before and after compression")
+                .register(meterRegistry);
+        this.compressTime = timer(meterRegistry, "compress", properties.getCodec());
+        for (CompressionCodec each : CompressionCodec.values()) {
+            decompressTimes.put(each, timer(meterRegistry, "decompress", each));
+        }
+    }
+
+    @Override
+    public Message toMessage(Object object, Session session) throws JMSException, MessageConversionException {
+        Message message = delegate.toMessage(object, session);
+        if (!properties.isEnabled()) {
+            return message;
+        }
+
+        byte[] body;
+        String originalType;
+        if (message instanceof TextMessage text) {
+            body = text.getText() != null ? text.getText().getBytes(StandardCharsets.UTF_8) : null;
+            originalType = TEXT;
+        } else if (message instanceof BytesMessage bytes) {
+            bytes.reset();
+            body = new byte[(int) bytes.getBodyLength()];
+            bytes.readBytes(body);
+            originalType = BYTES;
+        } else {
+            return message;
+        }
+        if (body == null || body.length < threshold) {
+            return message;
+        }
+
+        long start = System.nanoTime();
+        byte[] compressed = properties.getCodec().compress(body, properties.getLevel());
+        compressTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (compressed.length >= body.length) {
+            return message; // incompressible, not worth the decode on the other side
+        }
+        ratio.record((double) body.length / compressed.length);
+        originalBytes.increment(body.length);
+        compressedBytes.increment(compressed.length);
+
+        BytesMessage result = session.createBytesMessage();
+        copyProperties(message, result);
+        result.writeBytes(compressed);
+        result.setStringProperty(COMPRESSION_PROPERTY, properties.getCodec().name());
+        result.setIntProperty(ORIGINAL_LENGTH_PROPERTY, body.length);
+        result.setStringProperty(ORIGINAL_TYPE_PROPERTY, originalType);
+        return result;
+    }
+
+    @Override
+    public Object fromMessage(Message message) throws JMSException, MessageConversionException {
+        if (message instanceof BytesMessage bytes && message.propertyExists(COMPRESSION_PROPERTY)) {
+            return delegate.fromMessage(decompress(bytes));
+        }
+        return delegate.fromMessage(message);
+    }
+
+    private Message decompress(BytesMessage message) throws JMSException {
+        CompressionCodec codec;
+        try {
+            codec = CompressionCodec.valueOf(message.getStringProperty(COMPRESSION_PROPERTY));
+        } catch (IllegalArgumentException e) {
+            throw new MessageConversionException("Unsupported compression codec: " + message.getStringProperty(COMPRESSION_PROPERTY));
+        }
+        // The length sizes the output buffer, so it is bounded before the codec allocates it
+        Object declared = message.getObjectProperty(ORIGINAL_LENGTH_PROPERTY);
+        if (!(declared instanceof Integer originalLength) || originalLength < 0 || originalLength > maxBodySize) {
+            throw new MessageConversionException("Invalid " + ORIGINAL_LENGTH_PROPERTY + " " + declared
+                    + ", expected 0 to " + maxBodySize + " bytes");
+        }
+        byte[] compressed = new byte[(int) message.getBodyLength()];
+        message.readBytes(compressed);
+
+        long start = System.nanoTime();
+        byte[] body;
+        try {
+            body = codec.decompress(compressed, originalLength);
+        } catch (IllegalArgumentException e) {
+            throw new MessageConversionException("Failed to decompress message body", e);
+        }
+        decompressTimes.get(codec).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        ActiveMQMessage original;
+        if (TEXT.equals(message.getStringProperty(ORIGINAL_TYPE_PROPERTY))) {
+            ActiveMQTextMessage text = new ActiveMQTextMessage();
+            text.setText(new String(body, StandardCharsets.UTF_8));
+            original = text;
+        } else {
+            ActiveMQBytesMessage bytes = new ActiveMQBytesMessage();
+            bytes.writeBytes(body);
+            bytes.reset();
+            original = bytes;
+        }
+        copyProperties(message, original);
+        original.setJMSMessageID(message.getJMSMessageID());
+        original.setJMSCorrelationID(message.getJMSCorrelationID());
+        original.setJMSRedelivered(message.getJMSRedelivered());
+        return original;
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operation, CompressionCodec codec) {
+        return Timer.builder("ops.jms.compression.time")
+                .tag("operation", operation)
+                .tag("codec", codec.name().toLowerCase())
+                .description("CPU time spent compressing and decompressing message bodies")
+                .register(meterRegistry);
+    }
+
+    private static void copyProperties(Message source, Message target) throws JMSException {
+        Enumeration<?> names = source.getPropertyNames();
+        while (names.hasMoreElements()) {
+            String name = (String) names.nextElement();
+            // JMSX properties are set by the provider, the compression markers only describe the wire form
+            if (name.startsWith("JMSX") || name.equals(COMPRESSION_PROPERTY)
+                    || name.equals(ORIGINAL_LENGTH_PROPERTY) || name.equals(ORIGINAL_TYPE_PROPERTY)) {
+                continue;
+            }
+            target.setObjectProperty(name, source.getObjectProperty(name));
+        }
+    }
+}
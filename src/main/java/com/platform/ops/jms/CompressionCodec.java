@@ -0,0 +1,91 @@
+package com.platform.ops.jms;
+
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Body compression codecs. {@code level} follows the underlying library: a Deflate level
+ * (0-9) or an LZ4 HC level (1-17); a negative level selects the default (fast LZ4).
+ */
+public enum CompressionCodec {
+
+    LZ4 {
+        private final LZ4Factory factory = LZ4Factory.fastestInstance();
+
+        @Override
+        public byte[] compress(byte[] data, int level) {
+            return level > 0
+                    ? factory.highCompressor(level).compress(data)
+                    : factory.fastCompressor().compress(data);
+        }
+
+        @Override
+        public byte[] decompress(byte[] data, int originalLength) {
+            try {
+                byte[] result = factory.safeDecompressor().decompress(data, originalLength);
+                if (result.length != originalLength) {
+                    throw new IllegalArgumentException("Expected " + originalLength + " bytes, got " + result.length);
+                }
+                return result;
+            } catch (LZ4Exception e) {
+                throw new IllegalArgumentException("Corrupt LZ4 payload", e);
+            }
+        }
+    },
+
+    DEFLATE {
+        @Override
+        public byte[] compress(byte[] data, int level) {
+            Deflater deflater = new Deflater(level < 0 ? Deflater.DEFAULT_COMPRESSION : level);
+            try {
+                deflater.setInput(data);
+                deflater.finish();
+                ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 2));
+                byte[] buffer = new byte[8192];
+                while (!deflater.finished()) {
+                    out.write(buffer, 0, deflater.deflate(buffer));
+                }
+                return out.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+
+        @Override
+        public byte[] decompress(byte[] data, int originalLength) {
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(data);
+                byte[] result = new byte[originalLength];
+                int length = 0;
+                while (length < originalLength && !inflater.finished()) {
+                    int read = inflater.inflate(result, length, originalLength - length);
+                    if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    length += read;
+                }
+                if (length != originalLength || !inflater.finished()) {
+                    throw new IllegalArgumentException("Expected " + originalLength + " bytes, got " + length);
+                }
+                return result;
+            } catch (DataFormatException e) {
+                throw new IllegalArgumentException("Corrupt Deflate payload", e);
+            } finally {
+                inflater.end();
+            }
+        }
+    };
+
+    public abstract byte[] compress(byte[] data, int level);
+
+    /**
+     * @throws IllegalArgumentException if {@code data} does not decompress to exactly {@code originalLength} bytes
+     */
+    public abstract byte[] decompress(byte[] data, int originalLength);
+}
@@ -0,0 +1,39 @@
+package com.platform.ops.jms;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates order processing time on the listener threads. Recording is two
+ * {@link LongAdder} increments; readers compute averages from the deltas between snapshots.
+ */
+@Component
+public class ConsumerLoadTracker {
+
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder processingNanos = new LongAdder();
+
+    public void record(long elapsedNanos) {
+        processed.increment();
+        processingNanos.add(elapsedNanos);
+    }
+
+    public void recordBatch(int size, long elapsedNanos) {
+        processed.add(size);
+        processingNanos.add(elapsedNanos);
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(processed.sum(), processingNanos.sum());
+    }
+
+    public record Snapshot(long processed, long processingNanos) {
+
+        /** Average processing time in milliseconds since {@code previous}, or -1 if nothing was processed. */
+        public double averageMillisSince(Snapshot previous) {
+            long count = processed - previous.processed;
+            return count > 0 ? (processingNanos - previous.processingNanos) / 1_000_000.0 / count : -1;
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.platform.ops.jms;
+
+import com.platform.ops.config.ReplayProperties;
+import com.platform.ops.model.ReplayRequest;
+import com.platform.ops.service.OrderStatusService;
+import com.platform.ops.tracing.RequestIds;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.Destination;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import org.apache.activemq.ScheduledMessage;
+import org.apache.activemq.command.ActiveMQDestination;
+import org.apache.activemq.command.ActiveMQMessage;
+import org.apache.activemq.util.JMSExceptionSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jms.support.JmsUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Moves dead-lettered messages back to the queue they failed on once their cause is fixed.
+ * <p>
+ * The DLQ listener parks every message it receives on {@value #PARKING_QUEUE}, stamped with
+ * {@value #DEAD_LETTERED_AT_PROPERTY}, the queue it was dead-lettered from in
+ * {@value RetryScheduler#ORIGINAL_DESTINATION_PROPERTY} and, for orders, {@value #ORDER_ID_PROPERTY}.
+ * A replay consumes that queue with a selector built from the {@link ReplayRequest}, and sends
+ * each match back to its original queue (or {@code ops.jms.replay.target-queue} if it is
+ * unknown) in a transacted session: one commit per batch, so a batch is
+ * either moved completely or stays parked. Batches are paced to the requested rate, so a
+ * large replay does not flood the consumers. Retry and failure properties are removed, so a
+ * replayed order starts over with a full set of attempts.
+ * <p>
+ * Messages dead-lettered as {@value RetryScheduler#PERMANENT_FAILURE} (unconvertible or invalid)
+ * would fail the same way again, so they stay parked unless the request selects them with a
+ * {@value RetryScheduler#FAILURE_REASON_PROPERTY} header.
+ * <p>
+ * One replay runs at a time, on its own thread. Cancelling stops it after the batch in progress.
+ */
+@Component
+public class DeadLetterReplayer implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadLetterReplayer.class);
+
+    public static final String PARKING_QUEUE = "orders.DLQ.parked";
+    public static final String DEAD_LETTERED_AT_PROPERTY = "_deadLetteredAt";
+    public static final String ORDER_ID_PROPERTY = "_orderId";
+    /** Set by the broker on messages it dead-letters after in-session redeliveries. */
+    static final String BROKER_FAILURE_CAUSE_PROPERTY = "dlqDeliveryFailureCause";
+
+    private static final Pattern PROPERTY_NAME = Pattern.compile("[A-Za-z_$][A-Za-z0-9_$]*");
+    private static final List<String> CLEARED_PROPERTIES = List.of(
+            RetryScheduler.ATTEMPT_PROPERTY,
+            RetryScheduler.FAILURE_REASON_PROPERTY,
+            RetryScheduler.FAILURE_EXCEPTION_PROPERTY,
+            RetryScheduler.FAILURE_MESSAGE_PROPERTY,
+            RetryScheduler.ORIGINAL_DESTINATION_PROPERTY,
+            BROKER_FAILURE_CAUSE_PROPERTY,
+            DEAD_LETTERED_AT_PROPERTY,
+            ScheduledMessage.AMQ_SCHEDULED_DELAY);
+
+    private final ConnectionFactory connectionFactory;
+    private final ReplayProperties properties;
+    private final OrderStatusService orderStatusService;
+    private final Counter replayedMessages;
+    private final Map<String, ReplayJob> jobs = new LinkedHashMap<>();
+    private ReplayJob active;
+
+    public DeadLetterReplayer(@Qualifier("activeMQConnectionFactory") ConnectionFactory connectionFactory,
+                              ReplayProperties properties,
+                              OrderStatusService orderStatusService,
+                              MeterRegistry meterRegistry) {
+        this.connectionFactory = connectionFactory;
+        this.properties = properties;
+        this.orderStatusService = orderStatusService;
+        this.replayedMessages = Counter.builder("ops.jms.replay.messages")
+                .description("Dead-lettered messages moved back to the queue they failed on")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts a replay in the background.
+     *
+     * @throws IllegalArgumentException if the request cannot be turned into a selector
+     * @throws IllegalStateException    if another replay is still running
+     */
+    public synchronized ReplayJob start(ReplayRequest request) {
+        String selector = selectorFor(request);
+        if (active != null && !active.isFinished()) {
+            throw new IllegalStateException("Replay " + active.getId() + " is still running");
+        }
+        double rate = request.getMessagesPerSecond() != null ? request.getMessagesPerSecond() : properties.getMessagesPerSecond();
+        if (!(rate > 0)) {
+            throw new IllegalArgumentException("messagesPerSecond must be positive");
+        }
+        ReplayJob job = new ReplayJob(RequestIds.next(), selector, request.getLimit(),
+                Math.min(rate, properties.getMaxMessagesPerSecond()));
+        jobs.put(job.getId(), job);
+        jobs.values().removeIf(old -> jobs.size() > properties.getHistory() && old.isFinished());
+        active = job;
+
+        Thread worker = new Thread(() -> run(job), "dlq-replay");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Replay {} started: selector={}, rate={}/s, limit={}",
+                job.getId(), selector, job.getMessagesPerSecond(), job.getLimit());
+        return job;
+    }
+
+    /** Recent replays, oldest first. */
+    public synchronized List<ReplayJob> jobs() {
+        return new ArrayList<>(jobs.values());
+    }
+
+    public synchronized Optional<ReplayJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    public Optional<ReplayJob> cancel(String id) {
+        Optional<ReplayJob> job = find(id);
+        job.ifPresent(ReplayJob::cancel);
+        return job;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (active != null) {
+            active.cancel();
+        }
+    }
+
+    void run(ReplayJob job) {
+        Connection connection = null;
+        try {
+            connection = connectionFactory.createConnection();
+            connection.start();
+            Session session = connection.createSession(true, Session.SESSION_TRANSACTED);
+            jakarta.jms.MessageConsumer consumer = session.createConsumer(session.createQueue(PARKING_QUEUE), job.getSelector());
+            // Unbound producer, so each message can go back to its own lane
+            jakarta.jms.MessageProducer producer = session.createProducer(null);
+            Destination fallback = session.createQueue(properties.getTargetQueue());
+            long batchIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / job.getMessagesPerSecond());
+            long nextBatch = System.nanoTime();
+
+            while (!job.isCancelRequested()) {
+                // At most a second's worth per batch, so slow replays still stop soon after a cancel
+                int batchSize = job.nextBatchSize(Math.max(1, Math.min(properties.getBatchSize(), (int) job.getMessagesPerSecond())));
+                if (batchSize == 0) {
+                    break;
+                }
+                List<String> orderIds = new ArrayList<>(batchSize);
+                int moved = 0;
+                Message message = consumer.receive(properties.getReceiveTimeout().toMillis());
+                while (message != null) {
+                    producer.send(targetOf(message, fallback), replayCopy(message), message.getJMSDeliveryMode(),
+                            message.getJMSPriority(), Message.DEFAULT_TIME_TO_LIVE);
+                    String orderId = message.getStringProperty(ORDER_ID_PROPERTY);
+                    if (orderId != null) {
+                        orderIds.add(orderId);
+                    }
+                    message = ++moved < batchSize ? consumer.receiveNoWait() : null;
+                }
+                if (moved == 0) {
+                    break;
+                }
+                session.commit();
+                job.batchCommitted(moved);
+                replayedMessages.increment(moved);
+                orderIds.forEach(orderStatusService::recordReplayed);
+
+                nextBatch += batchIntervalNanos * moved;
+                sleepUntil(nextBatch);
+            }
+            job.finish(job.isCancelRequested() ? ReplayJob.State.CANCELLED : ReplayJob.State.COMPLETED, null);
+            log.info("Replay {} {}: {} messages in {} batches", job.getId(),
+                    job.getState().name().toLowerCase(), job.getReplayed(), job.getBatches());
+        } catch (JMSException | RuntimeException e) {
+            job.finish(ReplayJob.State.FAILED, e.getMessage());
+            log.error("Replay {} failed after {} messages, the current batch stays parked: {}",
+                    job.getId(), job.getReplayed(), e.getMessage());
+        } finally {
+            JmsUtils.closeConnection(connection);
+        }
+    }
+
+    /**
+     * JMS selector for {@code request}. Property names are checked and values quoted, so a
+     * request cannot inject selector syntax.
+     */
+    static String selectorFor(ReplayRequest request) {
+        List<String> clauses = new ArrayList<>();
+        if (request.getHeaders() == null || !request.getHeaders().containsKey(RetryScheduler.FAILURE_REASON_PROPERTY)) {
+            clauses.add("(" + RetryScheduler.FAILURE_REASON_PROPERTY + " IS NULL OR "
+                    + RetryScheduler.FAILURE_REASON_PROPERTY + " <> " + quote(RetryScheduler.PERMANENT_FAILURE) + ")");
+        }
+        if (request.getHeaders() != null) {
+            request.getHeaders().forEach((name, value) -> {
+                if (name == null || !PROPERTY_NAME.matcher(name).matches()) {
+                    throw new IllegalArgumentException("Invalid header name: " + name);
+                }
+                clauses.add(value != null ? name + " = " + quote(value) : name + " IS NULL");
+            });
+        }
+        if (request.getErrorClass() != null && !request.getErrorClass().isBlank()) {
+            String errorClass = request.getErrorClass().trim();
+            clauses.add("(" + RetryScheduler.FAILURE_EXCEPTION_PROPERTY + " = " + quote(errorClass)
+                    + " OR " + BROKER_FAILURE_CAUSE_PROPERTY + " LIKE " + quote("%" + escapeLike(errorClass) + "%")
+                    + " ESCAPE '\\')");
+        }
+        if (request.getFrom() != null) {
+            clauses.add(DEAD_LETTERED_AT_PROPERTY + " >= " + request.getFrom().toEpochMilli());
+        }
+        if (request.getTo() != null) {
+            clauses.add(DEAD_LETTERED_AT_PROPERTY + " < " + request.getTo().toEpochMilli());
+        }
+        return String.join(" AND ", clauses);
+    }
+
+    /**
+     * Copy of a dead-lettered message to park on {@value #PARKING_QUEUE}, stamped with the time
+     * it was parked and, when known, its original queue and order ID. {@link RetryScheduler}
+     * records the original queue itself; for messages the broker dead-lettered, it is taken
+     * from the broker's original destination.
+     */
+    static Message parkingCopy(Message message, String orderId) throws JMSException {
+        if (!(message instanceof ActiveMQMessage original)) {
+            return message;
+        }
+        ActiveMQMessage copy = (ActiveMQMessage) original.copy();
+        copy.setReadOnlyProperties(false);
+        if (!copy.propertyExists(DEAD_LETTERED_AT_PROPERTY)) {
+            copy.setLongProperty(DEAD_LETTERED_AT_PROPERTY, System.currentTimeMillis());
+        }
+        if (!copy.propertyExists(RetryScheduler.ORIGINAL_DESTINATION_PROPERTY) && copy.getOriginalDestination() != null) {
+            copy.setStringProperty(RetryScheduler.ORIGINAL_DESTINATION_PROPERTY, String.valueOf(copy.getOriginalDestination()));
+        }
+        if (orderId != null) {
+            copy.setStringProperty(ORDER_ID_PROPERTY, orderId);
+        }
+        return copy;
+    }
+
+    /** The queue {@code message} was dead-lettered from, or {@code fallback} if it is not recorded. */
+    static Destination targetOf(Message message, Destination fallback) throws JMSException {
+        String original = message.getStringProperty(RetryScheduler.ORIGINAL_DESTINATION_PROPERTY);
+        if (original == null || original.isBlank()) {
+            return fallback;
+        }
+        // Recorded as queue://name; a plain name is taken as a queue
+        ActiveMQDestination destination = ActiveMQDestination.createDestination(original, ActiveMQDestination.QUEUE_TYPE);
+        return destination.isQueue() ? destination : fallback;
+    }
+
+    private static Message replayCopy(Message message) throws JMSException {
+        if (!(message instanceof ActiveMQMessage original)) {
+            return message;
+        }
+        ActiveMQMessage copy = (ActiveMQMessage) original.copy();
+        copy.setReadOnlyProperties(false);
+        try {
+            for (String property : CLEARED_PROPERTIES) {
+                copy.removeProperty(property);
+            }
+        } catch (IOException e) {
+            throw JMSExceptionSupport.create(e);
+        }
+        return copy;
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static void sleepUntil(long deadlineNanos) {
+        long remaining = deadlineNanos - System.nanoTime();
+        if (remaining > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
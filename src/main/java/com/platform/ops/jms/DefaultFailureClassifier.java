@@ -0,0 +1,47 @@
+package com.platform.ops.jms;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.platform.ops.config.RetryProperties;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.messaging.handler.invocation.MethodArgumentResolutionException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Treats a failure as permanent when any exception in its cause chain says the message
+ * cannot be read or is invalid: conversion errors (malformed JSON or binary payloads, an
+ * unknown {@code _type}), listener argument errors and bean validation failures, plus the
+ * types listed in {@code ops.jms.retry.permanent-exceptions}. Everything else is transient.
+ */
+@Component
+public class DefaultFailureClassifier implements FailureClassifier {
+
+    private static final int MAX_CAUSE_DEPTH = 16;
+
+    private final List<Class<? extends Throwable>> permanentTypes = new ArrayList<>(List.of(
+            org.springframework.jms.support.converter.MessageConversionException.class,
+            org.springframework.messaging.converter.MessageConversionException.class,
+            MethodArgumentResolutionException.class,
+            JsonProcessingException.class,
+            ConstraintViolationException.class));
+
+    public DefaultFailureClassifier(RetryProperties properties) {
+        permanentTypes.addAll(properties.getPermanentExceptions());
+    }
+
+    @Override
+    public FailureType classify(Throwable failure) {
+        Throwable current = failure;
+        for (int depth = 0; current != null && depth < MAX_CAUSE_DEPTH; depth++) {
+            for (Class<? extends Throwable> type : permanentTypes) {
+                if (type.isInstance(current)) {
+                    return FailureType.PERMANENT;
+                }
+            }
+            current = current.getCause();
+        }
+        return FailureType.TRANSIENT;
+    }
+}
@@ -0,0 +1,28 @@
+package com.platform.ops.jms;
+
+import com.platform.ops.config.LaneProperties;
+import com.platform.ops.model.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends orders worth at least {@code ops.jms.lanes.priority-threshold} ({@code price * quantity})
+ * to the priority lane, everything else to the standard lane.
+ */
+@Component
+public class DefaultOrderClassifier implements OrderClassifier {
+
+    private final LaneProperties properties;
+
+    public DefaultOrderClassifier(LaneProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Lane classify(Order order) {
+        if (!properties.isEnabled() || order.getQuantity() == null) {
+            return Lane.STANDARD;
+        }
+        double value = order.getPrice() * order.getQuantity();
+        return value >= properties.getPriorityThreshold() ? Lane.PRIORITY : Lane.STANDARD;
+    }
+}
@@ -0,0 +1,19 @@
+package com.platform.ops.jms;
+
+/**
+ * Decides whether a failed message can succeed on a later attempt. Permanent failures skip
+ * the retries and go straight to the dead letter queue. Declare a {@code @Primary} bean to
+ * replace {@link DefaultFailureClassifier}.
+ */
+@FunctionalInterface
+public interface FailureClassifier {
+
+    enum FailureType {
+        /** Worth retrying: the broker, the database or a downstream service may recover. */
+        TRANSIENT,
+        /** The message itself is bad (a poison message); every retry fails the same way. */
+        PERMANENT
+    }
+
+    FailureType classify(Throwable failure);
+}
@@ -0,0 +1,141 @@
+package com.platform.ops.jms;
+
+import com.platform.ops.config.ListenerAutoscaleProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jms.config.JmsListenerEndpointRegistry;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.jms.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Grows and shrinks the consumer count of the {@code orders.queue} listener container
+ * between the configured bounds. Each tick compares the backlog reported by the broker with
+ * the recent per-order processing time: enough consumers are requested to drain the backlog
+ * within {@code targetDrainTime}. Scale-up is immediate (bounded by {@code maxStep}),
+ * scale-down happens one consumer at a time after {@code scaleDownCooldown}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ops.jms.autoscale", name = "enabled", havingValue = "true")
+public class ListenerConcurrencyController implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(ListenerConcurrencyController.class);
+    static final String ORDERS_LISTENER_ID = "ordersListener";
+
+    private final JmsListenerEndpointRegistry registry;
+    private final BrokerStatisticsClient statisticsClient;
+    private final ConsumerLoadTracker loadTracker;
+    private final ListenerAutoscaleProperties properties;
+    private final Counter scaleUps;
+    private final Counter scaleDowns;
+
+    private ConsumerLoadTracker.Snapshot lastSnapshot;
+    private double averageProcessingMillis = 1.0;
+    private volatile long lastQueueDepth = -1;
+    private volatile int desiredConsumers;
+    private long lastChangeNanos = System.nanoTime();
+
+    public ListenerConcurrencyController(JmsListenerEndpointRegistry registry,
+                                         BrokerStatisticsClient statisticsClient,
+                                         ConsumerLoadTracker loadTracker,
+                                         ListenerAutoscaleProperties properties,
+                                         MeterRegistry meterRegistry) {
+        this.registry = registry;
+        this.statisticsClient = statisticsClient;
+        this.loadTracker = loadTracker;
+        this.properties = properties;
+        this.lastSnapshot = loadTracker.snapshot();
+        this.desiredConsumers = properties.getMinConsumers();
+
+        this.scaleUps = Counter.builder("ops.jms.autoscale.decisions")
+                .tag("direction", "up")
+                .description("Scaling decisions taken for the orders listener")
+                .register(meterRegistry);
+        this.scaleDowns = Counter.builder("ops.jms.autoscale.decisions")
+                .tag("direction", "down")
+                .description("Scaling decisions taken for the orders listener")
+                .register(meterRegistry);
+        Gauge.builder("ops.jms.autoscale.consumers.desired", this, c -> c.desiredConsumers)
+                .description("Consumer count requested by the autoscaler")
+                .register(meterRegistry);
+        Gauge.builder("ops.jms.autoscale.consumers.active", this, c -> c.container().map(DefaultMessageListenerContainer::getActiveConsumerCount).orElse(0))
+                .description("Consumers currently active on the orders listener")
+                .register(meterRegistry);
+        Gauge.builder("ops.jms.autoscale.queue.depth", this, c -> c.lastQueueDepth)
+                .description("Last observed depth of orders.queue")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(this::adjust, properties.getInterval());
+    }
+
+    synchronized void adjust() {
+        Optional<DefaultMessageListenerContainer> container = container();
+        if (container.isEmpty()) {
+            return;
+        }
+        Optional<QueueStatistics> statistics = statisticsClient.queueStatistics(MessageProducer.ORDERS_QUEUE);
+        if (statistics.isEmpty()) {
+            log.debug("No statistics for {}, keeping current concurrency", MessageProducer.ORDERS_QUEUE);
+            return;
+        }
+
+        ConsumerLoadTracker.Snapshot snapshot = loadTracker.snapshot();
+        double recent = snapshot.averageMillisSince(lastSnapshot);
+        if (recent >= 0) {
+            averageProcessingMillis = recent;
+        }
+        lastSnapshot = snapshot;
+        lastQueueDepth = statistics.get().size();
+
+        int current = container.get().getConcurrentConsumers();
+        int target = targetConsumers(lastQueueDepth, averageProcessingMillis);
+        long now = System.nanoTime();
+
+        if (target > current) {
+            int next = Math.min(target, current + properties.getMaxStep());
+            apply(container.get(), current, next);
+            scaleUps.increment();
+            lastChangeNanos = now;
+        } else if (target < current && now - lastChangeNanos >= properties.getScaleDownCooldown().toNanos()) {
+            apply(container.get(), current, current - 1);
+            scaleDowns.increment();
+            lastChangeNanos = now;
+        }
+    }
+
+    int targetConsumers(long queueDepth, double processingMillis) {
+        double backlogMillis = queueDepth * Math.max(processingMillis, 0.01);
+        int needed = (int) Math.ceil(backlogMillis / Math.max(1, properties.getTargetDrainTime().toMillis()));
+        return Math.max(properties.getMinConsumers(), Math.min(properties.getMaxConsumers(), needed));
+    }
+
+    private void apply(DefaultMessageListenerContainer container, int current, int next) {
+        if (next > current) {
+            container.setMaxConcurrentConsumers(next);
+            container.setConcurrentConsumers(next);
+        } else {
+            container.setConcurrentConsumers(next);
+            container.setMaxConcurrentConsumers(next);
+        }
+        desiredConsumers = next;
+        log.info("Scaled {} consumers {} -> {} (queueDepth={}, avgProcessing={}ms)",
+                MessageProducer.ORDERS_QUEUE, current, next, lastQueueDepth,
+                String.format("%.2f", averageProcessingMillis));
+    }
+
+    private Optional<DefaultMessageListenerContainer> container() {
+        MessageListenerContainer container = registry.getListenerContainer(ORDERS_LISTENER_ID);
+        return container instanceof DefaultMessageListenerContainer dmlc ? Optional.of(dmlc) : Optional.empty();
+    }
+}
@@ -1,40 +1,271 @@
 package com.platform.ops.jms;
+import com.platform.ops.importer.OrderImportRunner;
 import com.platform.ops.model.Order;
+import com.platform.ops.service.OrderStatsService;
+import com.platform.ops.service.OrderStatusService;
+import com.platform.ops.service.OrderWriteBehindService;
+import com.platform.ops.tracing.RequestIds;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.springframework.context.annotation.Profile;
 import org.springframework.jms.annotation.JmsListener;
+import org.springframework.jms.support.JmsHeaders;
+import org.springframework.jms.support.JmsUtils;
+import org.springframework.jms.support.converter.MessageConversionException;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 
+
+/** Order listeners. The {@code import} profile only publishes, so it has none. */
 @Component
-public class MessageConsumer {
+@Profile("!" + OrderImportRunner.PROFILE)
+public class MessageConsumer implements OrderBatchHandler {
     private static final Logger log = LoggerFactory.getLogger(MessageConsumer.class);
+    public static final String PRIORITY_LISTENER_ID = "priorityOrdersListener";
+
+    private final ConsumerLoadTracker loadTracker;
+    private final OrderDeduplicator deduplicator;
+    private final OrderWriteBehindService orderWriter;
+    private final OrderStatusService orderStatusService;
+    private final OrderStatsService orderStats;
+    private final MessagingMetrics metrics;
+    private final Validator validator;
+    private final MessageConverter messageConverter;
+
+    public MessageConsumer(ConsumerLoadTracker loadTracker, OrderDeduplicator deduplicator,
+                           OrderWriteBehindService orderWriter, OrderStatusService orderStatusService,
+                           OrderStatsService orderStats, MessagingMetrics metrics, Validator validator,
+                           MessageConverter messageConverter) {
+        this.loadTracker = loadTracker;
+        this.deduplicator = deduplicator;
+        this.orderWriter = orderWriter;
+        this.orderStatusService = orderStatusService;
+        this.orderStats = orderStats;
+        this.metrics = metrics;
+        this.validator = validator;
+        this.messageConverter = messageConverter;
+    }
 
     @JmsListener(destination = "demo.queue")
     public void receiveMessage(String message) {
         log.info("Received message: {}", message);
     };
 
-    @JmsListener(destination = "orders.queue")
-    public void receiveOrder(Order order) {
-        log.info("Received order: {}", order);
+    /**
+     * Listener of the standard lane. Records how long the order waited on the queue, then
+     * validates, deduplicates and buffers it for persistence.
+     *
+     * @param sentAt {@code JMSTimestamp}, when the producer handed the order to the broker
+     */
+    @JmsListener(id = ListenerConcurrencyController.ORDERS_LISTENER_ID, destination = MessageProducer.ORDERS_QUEUE,
+            containerFactory = "ordersListenerContainerFactory")
+    public void receiveOrder(Order order,
+                             @Header(name = "JMSXDeliveryCount", required = false) Integer deliveryCount,
+                             @Header(name = RetryScheduler.ATTEMPT_PROPERTY, required = false) Integer attempt,
+                             @Header(name = JmsHeaders.CORRELATION_ID, required = false) String correlationId,
+                             @Header(name = JmsHeaders.TIMESTAMP, required = false) Long sentAt) {
+        receiveOrder(OrderClassifier.Lane.STANDARD, order, deliveryCount, attempt, correlationId, sentAt);
+    }
+
+    /** Listener of the priority lane, see {@link OrderClassifier}. */
+    @JmsListener(id = PRIORITY_LISTENER_ID, destination = MessageProducer.PRIORITY_QUEUE,
+            containerFactory = "priorityOrdersListenerContainerFactory")
+    public void receivePriorityOrder(Order order,
+                                     @Header(name = "JMSXDeliveryCount", required = false) Integer deliveryCount,
+                                     @Header(name = RetryScheduler.ATTEMPT_PROPERTY, required = false) Integer attempt,
+                                     @Header(name = JmsHeaders.CORRELATION_ID, required = false) String correlationId,
+                                     @Header(name = JmsHeaders.TIMESTAMP, required = false) Long sentAt) {
+        receiveOrder(OrderClassifier.Lane.PRIORITY, order, deliveryCount, attempt, correlationId, sentAt);
+    }
+
+    /**
+     * @param deliveryCount {@code JMSXDeliveryCount}, only set by the broker on redeliveries
+     * @param attempt       attempt number set by {@link RetryScheduler} on scheduled retries
+     * @param correlationId request ID stamped by the producer, logged as {@code requestId}
+     */
+    private void receiveOrder(OrderClassifier.Lane lane, Order order, Integer deliveryCount, Integer attempt,
+                              String correlationId, Long sentAt) {
+        // Redeliveries and scheduled retries would count the failed attempts as waiting time
+        if (sentAt != null && sentAt > 0 && (deliveryCount == null || deliveryCount <= 1) && attempt == null) {
+            metrics.queueWait(lane, sentAt);
+        }
+        restoreRequestId(correlationId);
+        try {
+            // Each scheduled retry is a new message, so its own delivery count starts over
+            int deliveries = (attempt != null ? attempt : 1) + (deliveryCount != null ? deliveryCount - 1 : 0);
+            processOrder(lane, order, deliveries);
+        } finally {
+            MDC.remove(RequestIds.MDC_KEY);
+        }
+    }
+
+    private void processOrder(OrderClassifier.Lane lane, Order order, int deliveries) {
+        // Orders are validated at the HTTP edge, but not every producer goes through it
+        Set<ConstraintViolation<Order>> violations = validator.validate(order);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException("Invalid order " + order.getOrderId(), violations);
+        }
+        if (!deduplicator.tryClaim(order.getOrderId())) {
+            log.warn("Dropping duplicate order: {}", order.getOrderId());
+            return;
+        }
+        if (deliveries > 1) {
+            metrics.redelivered(lane);
+            orderStatusService.recordRetried(order.getOrderId(), deliveries);
+        }
+        long start = metrics.processingStarted(1);
+        boolean processed = false;
+        try {
+            log.info("Received order: {}", order);
+
+            // Uncomment these lines in receiveOrder method:
+            // log.error("Forcing failure for order: {} - This will trigger DLQ after retries", order.getOrderId());
+            // throw new RuntimeException("Forced processing failure for DLQ test");
+
+            orderWriter.enqueue(order);
+            orderStatusService.recordConsumed(order.getOrderId(), deliveries);
+            orderStats.record(order);
+            processed = true;
+        } catch (RuntimeException e) {
+            deduplicator.release(order.getOrderId()); // let the redelivery through
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            loadTracker.record(elapsed);
+            metrics.processingCompleted(lane, 1, elapsed, processed);
+        }
+    }
+
+    /**
+     * Batch counterpart of the order listeners, used when {@code ops.jms.batch.enabled=true}.
+     * Invalid orders are returned as rejections instead of failing the whole batch.
+     */
+    @Override
+    public List<Rejection> handleBatch(List<Order> orders) {
+        List<Order> fresh = new ArrayList<>(orders.size());
+        List<Rejection> rejections = new ArrayList<>();
+        for (Order order : orders) {
+            Set<ConstraintViolation<Order>> violations = validator.validate(order);
+            if (!violations.isEmpty()) {
+                String reason = "Invalid order " + order.getOrderId() + ": " + violations.stream()
+                        .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                        .collect(Collectors.joining("; "));
+                log.error("Rejecting order of batch. {}", reason);
+                rejections.add(new Rejection(order, new ConstraintViolationException(reason, violations)));
+            } else if (deduplicator.tryClaim(order.getOrderId())) {
+                fresh.add(order);
+            } else {
+                log.warn("Dropping duplicate order: {}", order.getOrderId());
+            }
+        }
+        long start = metrics.processingStarted(fresh.size());
+        int buffered = 0;
+        try {
+            log.info("Received batch of {} orders", fresh.size());
+            for (Order order : fresh) {
+                log.debug("Received order: {}", order);
+                orderWriter.enqueue(order);
+                orderStatusService.recordConsumed(order.getOrderId(), 1);
+                orderStats.record(order);
+                buffered++;
+            }
+        } catch (RuntimeException e) {
+            // Buffered orders stay claimed, so the redelivered batch does not persist them twice
+            fresh.subList(buffered, fresh.size()).forEach(order -> deduplicator.release(order.getOrderId()));
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            loadTracker.recordBatch(fresh.size(), elapsed);
+            metrics.batchProcessingCompleted(fresh.size(), elapsed, buffered == fresh.size());
+        }
+        return rejections;
+    }
 
-        // Uncomment these lines in receiveOrder method:
-        // log.error("Forcing failure for order: {} - This will trigger DLQ after retries", order.getOrderId());
-        // throw new RuntimeException("Forced processing failure for DLQ test");
+    /**
+     * Logs and counts a dead letter, then parks it on {@value DeadLetterReplayer#PARKING_QUEUE}
+     * where {@link DeadLetterReplayer} can pick it up. The container's session is transacted,
+     * so parking and acknowledging commit together. Messages that cannot be converted are
+     * handled as the raw JMS message.
+     */
+    @JmsListener(destination = "orders.DLQ", containerFactory = "deadLetterListenerContainerFactory")
+    public void receiveFromDLQ(Message message, Session session,
+                               @Header(name = JmsHeaders.CORRELATION_ID, required = false) String correlationId)
+            throws JMSException {
+        restoreRequestId(correlationId);
+        try {
+            Object payload = payloadOf(message);
+            handleDeadLetter(payload);
+            jakarta.jms.MessageProducer producer = session.createProducer(session.createQueue(DeadLetterReplayer.PARKING_QUEUE));
+            try {
+                producer.send(DeadLetterReplayer.parkingCopy(message, payload instanceof Order order ? order.getOrderId() : null),
+                        message.getJMSDeliveryMode(), message.getJMSPriority(), Message.DEFAULT_TIME_TO_LIVE);
+            } finally {
+                JmsUtils.closeMessageProducer(producer);
+            }
+        } finally {
+            MDC.remove(RequestIds.MDC_KEY);
+        }
     }
 
-    @JmsListener(destination = "orders.DLQ")
-    public void receiveFromDLQ(Object message) {
+    private void handleDeadLetter(Object message) {
         log.error("🔥 DLQ LISTENER CALLED! Message type: {}", 
                 message != null ? message.getClass().getSimpleName() : "null");
+        metrics.deadLettered(message instanceof Order);
         if (message instanceof Order order) {
             log.error("ERROR: Order in DLQ: {}", order);
+            orderStatusService.recordDeadLettered(order.getOrderId());
+        } else if (message instanceof Message poison) {
+            log.error("ERROR: Unreadable message in DLQ: {} ({}: {})", messageId(poison),
+                    stringProperty(poison, RetryScheduler.FAILURE_EXCEPTION_PROPERTY),
+                    stringProperty(poison, RetryScheduler.FAILURE_MESSAGE_PROPERTY));
         } else if (message != null) {
             log.error("ERROR: Non-order message in DLQ: {}", message);
         } else {
             log.error("ERROR: Null message received in DLQ");
         }
     }
+
+    private Object payloadOf(Message message) {
+        try {
+            return messageConverter.fromMessage(message);
+        } catch (JMSException | MessageConversionException e) {
+            return message;
+        }
+    }
+
+    private static String messageId(Message message) {
+        try {
+            return message.getJMSMessageID();
+        } catch (JMSException e) {
+            return null;
+        }
+    }
+
+    private static String stringProperty(Message message, String name) {
+        try {
+            return message.getStringProperty(name);
+        } catch (JMSException e) {
+            return null;
+        }
+    }
+
+    private static void restoreRequestId(String correlationId) {
+        if (correlationId != null) {
+            MDC.put(RequestIds.MDC_KEY, correlationId);
+        }
+    }
 }
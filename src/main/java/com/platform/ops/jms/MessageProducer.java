@@ -2,33 +2,185 @@ package com.platform.ops.jms;
 
 import com.platform.ops.exception.MessageSendFailureException;
 import com.platform.ops.model.Order;
-import lombok.RequiredArgsConstructor;
+import com.platform.ops.service.OrderStatusService;
+import com.platform.ops.tracing.RequestIds;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Queue;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jms.JmsException;
 import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.JmsUtils;
+import org.springframework.jms.support.converter.MessageConverter;
 import org.springframework.stereotype.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
 
 @Component
-@RequiredArgsConstructor
 public class MessageProducer {
 
     private static final Logger log = LoggerFactory.getLogger(MessageProducer.class);
+    public static final String ORDERS_QUEUE = "orders.queue";
+    public static final String PRIORITY_QUEUE = "orders.queue.priority";
+
     private final JmsTemplate jmsTemplate;
+    private final JmsTemplate batchJmsTemplate;
+    private final AsyncOrderSender asyncOrderSender;
+    private final OrderStatusService orderStatusService;
+    private final MessagingMetrics metrics;
+    private final OrderGrouping grouping;
+    private final OrderClassifier classifier;
+
+    public MessageProducer(JmsTemplate jmsTemplate,
+                           @Qualifier("batchJmsTemplate") JmsTemplate batchJmsTemplate,
+                           AsyncOrderSender asyncOrderSender,
+                           OrderStatusService orderStatusService,
+                           MessagingMetrics metrics,
+                           OrderGrouping grouping,
+                           OrderClassifier classifier) {
+        this.jmsTemplate = jmsTemplate;
+        this.batchJmsTemplate = batchJmsTemplate;
+        this.asyncOrderSender = asyncOrderSender;
+        this.orderStatusService = orderStatusService;
+        this.metrics = metrics;
+        this.grouping = grouping;
+        this.classifier = classifier;
+    }
 
     public void sendOrder(Order order) {
         log.info("Sending order: {}", order);
         jmsTemplate.setDeliveryPersistent(true);
-        jmsTemplate.convertAndSend("orders.queue", order);
+        String queue = classifier.classify(order).queue();
+        long start = metrics.sendStarted();
+        boolean sent = false;
+        try {
+            jmsTemplate.convertAndSend(queue, order, grouping.correlateAndGroup(order));
+            sent = true;
+        } finally {
+            metrics.sendCompleted(MessagingMetrics.SendMode.SYNC, queue, start, sent);
+        }
+        orderStatusService.recordQueued(order.getOrderId());
     }
+
+    /**
+     * Hands the order to the broker without blocking the caller on the persistent send.
+     * The returned future completes with {@code trackingId} once the broker acknowledges it,
+     * or exceptionally with {@link MessageSendFailureException}.
+     */
+    public CompletableFuture<String> sendOrderAsync(Order order, String trackingId) {
+        return sendOrderAsync(order, trackingId, true);
+    }
+
+    /**
+     * Like {@link #sendOrderAsync}, but throws {@link MessageSendFailureException} at once
+     * when the in-flight limit is reached, instead of waiting for a slot.
+     */
+    public CompletableFuture<String> trySendOrderAsync(Order order, String trackingId) {
+        return sendOrderAsync(order, trackingId, false);
+    }
+
+    private CompletableFuture<String> sendOrderAsync(Order order, String trackingId, boolean waitForSlot) {
+        log.info("Sending order asynchronously [{}]: {}", trackingId, order);
+        String queue = classifier.classify(order).queue();
+        long start = metrics.sendStarted();
+        CompletableFuture<String> future;
+        try {
+            String group = grouping.groupOf(order);
+            future = waitForSlot
+                    ? asyncOrderSender.send(queue, order, trackingId, group)
+                    : asyncOrderSender.trySend(queue, order, trackingId, group);
+        } catch (RuntimeException e) {
+            metrics.sendCompleted(MessagingMetrics.SendMode.ASYNC, queue, start, false);
+            throw e;
+        }
+        future.whenComplete((id, ex) -> {
+            metrics.sendCompleted(MessagingMetrics.SendMode.ASYNC, queue, start, ex == null);
+            if (ex != null) {
+                log.error("Asynchronous send of order {} [{}] failed", order.getOrderId(), trackingId, ex);
+            } else {
+                orderStatusService.recordQueued(order.getOrderId());
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Publishes all orders through a single transacted session, so the whole
+     * batch is covered by one broker commit. Either every order is enqueued or none is,
+     * whichever lane each order is routed to. The send is timed against the batch's lane,
+     * or as {@value MessagingMetrics#MIXED_DESTINATION} if it spans both.
+     */
+    public void sendOrders(List<Order> orders) {
+        List<OrderClassifier.Lane> lanes = orders.stream().map(classifier::classify).toList();
+        Set<OrderClassifier.Lane> used = lanes.isEmpty()
+                ? EnumSet.of(OrderClassifier.Lane.STANDARD) : EnumSet.copyOf(lanes);
+        String destination = used.stream().map(OrderClassifier.Lane::queue).collect(Collectors.joining(", "));
+        long start = metrics.sendStarted();
+        boolean sent = false;
+        try {
+            log.info("Sending batch of {} orders", orders.size());
+            batchJmsTemplate.execute(session -> {
+                MessageConverter converter = batchJmsTemplate.getMessageConverter();
+                Map<OrderClassifier.Lane, Queue> queues = new EnumMap<>(OrderClassifier.Lane.class);
+                // Unbound producer, so one session can publish to every lane
+                jakarta.jms.MessageProducer producer = session.createProducer(null);
+                try {
+                    producer.setDeliveryMode(DeliveryMode.PERSISTENT);
+                    for (int i = 0; i < orders.size(); i++) {
+                        Order order = orders.get(i);
+                        Message message = converter.toMessage(order, session);
+                        RequestIds.correlate(message);
+                        OrderGrouping.stamp(message, grouping.groupOf(order));
+                        OrderClassifier.Lane lane = lanes.get(i);
+                        Queue queue = queues.get(lane);
+                        if (queue == null) {
+                            queue = session.createQueue(lane.queue());
+                            queues.put(lane, queue);
+                        }
+                        producer.send(queue, message);
+                    }
+                    JmsUtils.commitIfNecessary(session);
+                } catch (JMSException | RuntimeException ex) {
+                    JmsUtils.rollbackIfNecessary(session);
+                    throw ex;
+                } finally {
+                    JmsUtils.closeMessageProducer(producer);
+                }
+                return null;
+            }, false);
+            sent = true;
+        } catch (JmsException e) {
+            log.error("Failed to send batch of {} orders to {}", orders.size(), destination, e);
+            throw new MessageSendFailureException(destination, e);
+        } finally {
+            metrics.sendCompleted(MessagingMetrics.SendMode.BATCH,
+                    used.size() > 1 ? MessagingMetrics.MIXED_DESTINATION : destination, start, sent);
+        }
+        orders.forEach(order -> orderStatusService.recordQueued(order.getOrderId()));
+    }
+
     public void sendMessage(String destination, String message) {
+        long start = metrics.sendStarted();
+        boolean sent = false;
         try {
             log.info("Sending message to '{}': {}", destination, message);
-            jmsTemplate.convertAndSend(destination, message);
+            jmsTemplate.convertAndSend(destination, message, RequestIds.CORRELATE);
+            sent = true;
         } catch (JmsException e) {
             log.error("Failed to send message to {}", destination, e);
             throw new MessageSendFailureException(destination, e);
+        } finally {
+            metrics.sendCompleted(MessagingMetrics.SendMode.SYNC, destination, start, sent);
         }
     }
 }
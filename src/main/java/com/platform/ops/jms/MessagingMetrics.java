@@ -0,0 +1,165 @@
+package com.platform.ops.jms;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Send and consume meters shared by the producers and listeners. Timers are created once
+ * per destination and cached, so a send or a consumed order only records into an existing
+ * meter. Timers publish percentile histograms, so percentiles are computed in Prometheus
+ * ({@code histogram_quantile}) and can be aggregated across instances.
+ * <p>
+ * Destinations can come from API callers ({@code POST /api/messages}), so only the
+ * application's queues get their own {@code destination} tag; any other destination is
+ * recorded as {@value #OTHER_DESTINATION}. Consume meters are tagged by lane.
+ */
+@Component
+public class MessagingMetrics {
+
+    public enum SendMode {
+        SYNC, ASYNC, BATCH
+    }
+
+    /** Tag of a batch send whose orders went to more than one lane. */
+    public static final String MIXED_DESTINATION = "mixed";
+    public static final String OTHER_DESTINATION = "other";
+
+    private static final Set<String> KNOWN_DESTINATIONS = Set.of(MessageProducer.ORDERS_QUEUE,
+            MessageProducer.PRIORITY_QUEUE, "demo.queue", "orders.DLQ", MIXED_DESTINATION);
+
+    private final MeterRegistry registry;
+    private final Map<SendMode, Map<String, Timer[]>> sendTimers = new EnumMap<>(SendMode.class);
+    private final Map<OrderClassifier.Lane, Timer> queueWaitTimers = new EnumMap<>(OrderClassifier.Lane.class);
+    private final AtomicInteger sendsInFlight = new AtomicInteger();
+    private final AtomicInteger ordersInFlight = new AtomicInteger();
+    private final Map<OrderClassifier.Lane, Timer[]> processingTimers = new EnumMap<>(OrderClassifier.Lane.class);
+    private final Map<OrderClassifier.Lane, Counter> redeliveries = new EnumMap<>(OrderClassifier.Lane.class);
+    private final Timer batchProcessed;
+    private final Timer batchProcessingFailed;
+    private final Counter deadLetteredOrders;
+    private final Counter deadLetteredOther;
+
+    public MessagingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (SendMode mode : SendMode.values()) {
+            sendTimers.put(mode, new ConcurrentHashMap<>());
+        }
+        for (OrderClassifier.Lane lane : OrderClassifier.Lane.values()) {
+            queueWaitTimers.put(lane, Timer.builder("ops.jms.queue.wait")
+                    .tag("lane", lane.name().toLowerCase())
+                    .tag("queue", lane.queue())
+                    .description("Time an order spent on its lane's queue before a listener picked it up")
+                    .publishPercentileHistogram()
+                    .register(registry));
+            processingTimers.put(lane, new Timer[]{
+                    processingTimer("ops.jms.consume.time", lane, "success"),
+                    processingTimer("ops.jms.consume.time", lane, "failure")});
+            redeliveries.put(lane, Counter.builder("ops.jms.redeliveries")
+                    .tag("lane", lane.name().toLowerCase())
+                    .tag("queue", lane.queue())
+                    .description("Orders received again after a failed delivery")
+                    .register(registry));
+        }
+
+        // The batch listener only consumes the standard lane
+        this.batchProcessed = processingTimer("ops.jms.consume.batch.time", OrderClassifier.Lane.STANDARD, "success");
+        this.batchProcessingFailed = processingTimer("ops.jms.consume.batch.time", OrderClassifier.Lane.STANDARD, "failure");
+        this.deadLetteredOrders = Counter.builder("ops.jms.dlq.arrivals")
+                .tag("queue", "orders.DLQ")
+                .tag("type", "order")
+                .description("Messages received from the dead letter queue")
+                .register(registry);
+        this.deadLetteredOther = Counter.builder("ops.jms.dlq.arrivals")
+                .tag("queue", "orders.DLQ")
+                .tag("type", "other")
+                .description("Messages received from the dead letter queue")
+                .register(registry);
+        Gauge.builder("ops.jms.send.in.flight", sendsInFlight, AtomicInteger::get)
+                .description("Sends waiting for the broker")
+                .register(registry);
+        Gauge.builder("ops.jms.consume.in.flight", ordersInFlight, AtomicInteger::get)
+                .description("Orders currently being processed by listeners")
+                .register(registry);
+    }
+
+    /** @return the start timestamp to pass to {@link #sendCompleted} */
+    public long sendStarted() {
+        sendsInFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    public void sendCompleted(SendMode mode, String destination, long startNanos, boolean success) {
+        sendsInFlight.decrementAndGet();
+        String tag = KNOWN_DESTINATIONS.contains(destination) ? destination : OTHER_DESTINATION;
+        Map<String, Timer[]> timers = sendTimers.get(mode);
+        Timer[] outcomes = timers.get(tag);
+        if (outcomes == null) {
+            outcomes = timers.computeIfAbsent(tag, d -> new Timer[]{
+                    sendTimer(mode, d, "success"), sendTimer(mode, d, "failure")});
+        }
+        outcomes[success ? 0 : 1].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** @return the start timestamp to pass to {@link #processingCompleted} */
+    public long processingStarted(int orders) {
+        ordersInFlight.addAndGet(orders);
+        return System.nanoTime();
+    }
+
+    public void processingCompleted(OrderClassifier.Lane lane, int orders, long elapsedNanos, boolean success) {
+        ordersInFlight.addAndGet(-orders);
+        processingTimers.get(lane)[success ? 0 : 1].record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void batchProcessingCompleted(int orders, long elapsedNanos, boolean success) {
+        ordersInFlight.addAndGet(-orders);
+        (success ? batchProcessed : batchProcessingFailed).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param sentAtMillis {@code JMSTimestamp} of the message; clock skew between producer
+     *                     and consumer can make the wait negative, which is recorded as zero
+     */
+    public void queueWait(OrderClassifier.Lane lane, long sentAtMillis) {
+        long waitMillis = Math.max(0, System.currentTimeMillis() - sentAtMillis);
+        queueWaitTimers.get(lane).record(waitMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void redelivered(OrderClassifier.Lane lane) {
+        redeliveries.get(lane).increment();
+    }
+
+    public void deadLettered(boolean order) {
+        (order ? deadLetteredOrders : deadLetteredOther).increment();
+    }
+
+    private Timer sendTimer(SendMode mode, String destination, String outcome) {
+        return Timer.builder("ops.jms.send.time")
+                .tag("destination", destination)
+                .tag("mode", mode.name().toLowerCase())
+                .tag("outcome", outcome)
+                .description("Time until the broker accepted a send")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Timer processingTimer(String name, OrderClassifier.Lane lane, String outcome) {
+        return Timer.builder(name)
+                .tag("lane", lane.name().toLowerCase())
+                .tag("queue", lane.queue())
+                .tag("outcome", outcome)
+                .description("Listener processing time")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,22 @@
+package com.platform.ops.jms;
+
+import com.platform.ops.model.Order;
+
+import java.util.List;
+
+/**
+ * Receives orders from {@link BatchOrderListener}. The batch is acknowledged only if this
+ * method returns normally; throwing causes every order in the batch to be redelivered.
+ */
+public interface OrderBatchHandler {
+
+    /** An order of the batch that can never be processed, and why. */
+    record Rejection(Order order, RuntimeException cause) {
+    }
+
+    /**
+     * @return the orders rejected as invalid. They are acknowledged with the batch and
+     * dead-lettered one by one, instead of failing the batch.
+     */
+    List<Rejection> handleBatch(List<Order> orders);
+}
@@ -0,0 +1,140 @@
+package com.platform.ops.jms;
+
+import com.platform.ops.model.Order;
+import org.springframework.jms.support.converter.MessageConversionException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary encoding of {@link Order}, schema 1:
+ * <pre>
+ *   flags        1 byte   (bit 0: quantity present)
+ *   orderId      string
+ *   customerName string
+ *   product      string
+ *   quantity     int32    (only if flagged)
+ *   price        float64
+ * </pre>
+ * Strings are a varint of {@code length + 1} followed by UTF-8 bytes; a varint of 0 encodes null.
+ * Any change to this layout must use a new schema ID so consumers can still read old messages.
+ */
+public final class OrderBinaryCodec {
+
+    public static final int SCHEMA_ID = 1;
+
+    private static final byte FLAG_QUANTITY = 1;
+
+    private OrderBinaryCodec() {
+    }
+
+    public static byte[] encode(Order order) {
+        byte[] orderId = utf8(order.getOrderId());
+        byte[] customerName = utf8(order.getCustomerName());
+        byte[] product = utf8(order.getProduct());
+        Integer quantity = order.getQuantity();
+
+        int size = 1 + sizeOf(orderId) + sizeOf(customerName) + sizeOf(product)
+                + (quantity != null ? Integer.BYTES : 0) + Double.BYTES;
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(quantity != null ? FLAG_QUANTITY : 0);
+        putString(buffer, orderId);
+        putString(buffer, customerName);
+        putString(buffer, product);
+        if (quantity != null) {
+            buffer.putInt(quantity);
+        }
+        buffer.putDouble(order.getPrice());
+        return buffer.array();
+    }
+
+    /**
+     * @throws MessageConversionException if {@code data} is not a valid schema 1 payload
+     */
+    public static Order decode(byte[] data) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            byte flags = buffer.get();
+            Order order = new Order();
+            order.setOrderId(getString(buffer));
+            order.setCustomerName(getString(buffer));
+            order.setProduct(getString(buffer));
+            if ((flags & FLAG_QUANTITY) != 0) {
+                order.setQuantity(buffer.getInt());
+            }
+            order.setPrice(buffer.getDouble());
+            if (buffer.hasRemaining()) {
+                throw new MessageConversionException(buffer.remaining() + " trailing bytes after order payload");
+            }
+            return order;
+        } catch (BufferUnderflowException e) {
+            throw new MessageConversionException("Truncated order payload", e);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int sizeOf(byte[] value) {
+        int length = value != null ? value.length : 0;
+        return varIntSize(value != null ? length + 1 : 0) + length;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            putVarInt(buffer, 0);
+            return;
+        }
+        putVarInt(buffer, value.length + 1);
+        buffer.put(value);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int header = getVarInt(buffer);
+        if (header == 0) {
+            return null;
+        }
+        // A five-byte varint can carry the sign bit; no encoder writes one
+        if (header < 0) {
+            throw new MessageConversionException("Negative string header " + header);
+        }
+        int length = header - 1;
+        if (length > buffer.remaining()) {
+            throw new MessageConversionException("String length " + length + " exceeds payload");
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int getVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new MessageConversionException("Malformed varint");
+    }
+}
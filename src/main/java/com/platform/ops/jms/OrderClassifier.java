@@ -0,0 +1,29 @@
+package com.platform.ops.jms;
+
+import com.platform.ops.model.Order;
+
+/**
+ * Assigns orders to a lane, i.e. the queue they are published to. Each lane has its own
+ * listener, so a backlog in one lane does not delay the others. Declare a {@code @Primary}
+ * bean to replace {@link DefaultOrderClassifier}.
+ */
+@FunctionalInterface
+public interface OrderClassifier {
+
+    enum Lane {
+        STANDARD(MessageProducer.ORDERS_QUEUE),
+        PRIORITY(MessageProducer.PRIORITY_QUEUE);
+
+        private final String queue;
+
+        Lane(String queue) {
+            this.queue = queue;
+        }
+
+        public String queue() {
+            return queue;
+        }
+    }
+
+    Lane classify(Order order);
+}
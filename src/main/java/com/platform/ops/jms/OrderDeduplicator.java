@@ -0,0 +1,221 @@
+package com.platform.ops.jms;
+
+import com.platform.ops.config.DeduplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers recently processed orderIds so redelivered, retried or resubmitted orders are
+ * dropped. IDs are stored as 64-bit fingerprints in two open-addressed tables (the current
+ * and the previous window); when the current window expires or fills up, it becomes the
+ * previous one and a fresh table is started. Memory is therefore fixed, no per-ID objects are
+ * allocated, and a lookup is a few array reads. Two distinct IDs share a fingerprint with
+ * probability around n&sup2;/2<sup>65</sup>, far below the cost of an exact fallback.
+ * <p>
+ * An ID is claimed before the order is processed and released if processing fails, so a
+ * concurrent copy is dropped while a redelivery after a failure is let through.
+ */
+@Component
+public class OrderDeduplicator {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderDeduplicator.class);
+
+    private static final long EMPTY = 0L;
+    private static final long RELEASED = 1L;
+
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int capacity;
+    private final int tableSize;
+    private final LongSupplier clock;
+    private final Counter duplicates;
+    private final Counter windowRotations;
+    private final Counter capacityRotations;
+
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    @Autowired
+    public OrderDeduplicator(DeduplicationProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    OrderDeduplicator(DeduplicationProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.enabled = properties.isEnabled();
+        this.windowNanos = properties.getWindow().toNanos();
+        this.capacity = properties.getCapacity();
+        this.tableSize = Integer.highestOneBit(Math.max(2, (int) Math.min(1 << 30, capacity * 4L / 3)) - 1) << 1;
+        this.clock = clock;
+        this.current = enabled ? new Generation(tableSize, clock.getAsLong()) : null;
+
+        this.duplicates = Counter.builder("ops.orders.duplicates")
+                .description("Orders dropped because their orderId was already processed")
+                .register(meterRegistry);
+        this.windowRotations = Counter.builder("ops.orders.dedup.rotations")
+                .tag("reason", "window")
+                .description("Dedup table rotations")
+                .register(meterRegistry);
+        this.capacityRotations = Counter.builder("ops.orders.dedup.rotations")
+                .tag("reason", "capacity")
+                .description("Dedup table rotations")
+                .register(meterRegistry);
+        Gauge.builder("ops.orders.dedup.entries", this, OrderDeduplicator::entries)
+                .description("orderIds currently remembered")
+                .register(meterRegistry);
+
+        if (enabled) {
+            log.info("Order dedup enabled: window={}, capacity={}, memory={}KB",
+                    properties.getWindow(), capacity, 2L * tableSize * Long.BYTES / 1024);
+        }
+    }
+
+    /**
+     * Claims {@code orderId} for processing.
+     *
+     * @return {@code false} if the ID was already claimed within the window, meaning the order
+     * is a duplicate and must be dropped
+     */
+    public boolean tryClaim(String orderId) {
+        if (!enabled || orderId == null) {
+            return true;
+        }
+        long fingerprint = fingerprint(orderId);
+        Generation generation = currentGeneration();
+        Generation older = previous;
+        boolean claimed = (older == null || !older.contains(fingerprint)) && generation.claim(fingerprint);
+        if (!claimed) {
+            duplicates.increment();
+        }
+        return claimed;
+    }
+
+    /**
+     * Forgets a claimed {@code orderId} after its processing failed, so a redelivery is processed.
+     */
+    public void release(String orderId) {
+        if (!enabled || orderId == null) {
+            return;
+        }
+        long fingerprint = fingerprint(orderId);
+        if (!current.release(fingerprint)) {
+            Generation older = previous;
+            if (older != null) {
+                older.release(fingerprint);
+            }
+        }
+    }
+
+    private Generation currentGeneration() {
+        Generation generation = current;
+        boolean expired = clock.getAsLong() - generation.startedNanos >= windowNanos;
+        if (expired || generation.size.get() >= capacity) {
+            generation = rotate(generation, expired);
+        }
+        return generation;
+    }
+
+    private synchronized Generation rotate(Generation expected, boolean expired) {
+        if (current != expected) {
+            return current; // another thread rotated first
+        }
+        // An idle period longer than the window leaves nothing worth keeping
+        boolean stale = clock.getAsLong() - expected.startedNanos >= 2 * windowNanos;
+        previous = stale ? null : expected;
+        current = new Generation(tableSize, clock.getAsLong());
+        (expired ? windowRotations : capacityRotations).increment();
+        if (!expired) {
+            log.warn("Dedup capacity of {} orderIds reached before the window ended, rotating early", capacity);
+        }
+        return current;
+    }
+
+    private double entries() {
+        Generation generation = current;
+        Generation older = previous;
+        return (generation != null ? generation.size.get() : 0) + (older != null ? older.size.get() : 0);
+    }
+
+    /** FNV-1a over the UTF-16 chars followed by the MurmurHash3 finalizer; never EMPTY or RELEASED. */
+    static long fingerprint(String orderId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < orderId.length(); i++) {
+            hash ^= orderId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == EMPTY || hash == RELEASED ? hash + 2 : hash;
+    }
+
+    /** Linear-probing fingerprint table; released slots stay occupied until the table is discarded. */
+    private static final class Generation {
+
+        private final AtomicLongArray slots;
+        private final int mask;
+        private final long startedNanos;
+        private final AtomicInteger size = new AtomicInteger();
+
+        Generation(int tableSize, long startedNanos) {
+            this.slots = new AtomicLongArray(tableSize);
+            this.mask = tableSize - 1;
+            this.startedNanos = startedNanos;
+        }
+
+        boolean contains(long fingerprint) {
+            return indexOf(fingerprint) >= 0;
+        }
+
+        /** @return {@code true} if the fingerprint was absent and is now stored */
+        boolean claim(long fingerprint) {
+            int index = (int) fingerprint & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                long value = slots.get(index);
+                if (value == EMPTY) {
+                    if (slots.compareAndSet(index, EMPTY, fingerprint)) {
+                        size.incrementAndGet();
+                        return true;
+                    }
+                    value = slots.get(index);
+                }
+                if (value == fingerprint) {
+                    return false;
+                }
+                index = (index + 1) & mask;
+            }
+            // Unreachable while size stays below capacity; treat as new rather than drop a valid order
+            return true;
+        }
+
+        boolean release(long fingerprint) {
+            int index = indexOf(fingerprint);
+            return index >= 0 && slots.compareAndSet(index, fingerprint, RELEASED);
+        }
+
+        private int indexOf(long fingerprint) {
+            int index = (int) fingerprint & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                long value = slots.get(index);
+                if (value == fingerprint) {
+                    return index;
+                }
+                if (value == EMPTY) {
+                    return -1;
+                }
+                index = (index + 1) & mask;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.platform.ops.jms;
+
+import com.platform.ops.config.OrderGroupingProperties;
+import com.platform.ops.model.Order;
+import com.platform.ops.tracing.RequestIds;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import org.springframework.jms.core.MessagePostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Assigns orders to JMS message groups. The broker delivers all messages of a group to the
+ * same consumer, in order, while different groups spread over every consumer of the queue.
+ * Grouping by customer therefore lets the {@code orders.queue} listener run several consumers
+ * without reordering any customer's orders.
+ * <p>
+ * A grouped order that fails transiently is retried by {@link RetryScheduler} like any other,
+ * so later orders of its group can overtake it while it backs off. With
+ * {@code ops.jms.retry.keep-group-order} it is redelivered in-session instead, and the later
+ * orders of its group wait for it. An order dead-lettered as a permanent failure is skipped,
+ * and the rest of its group continues.
+ */
+@Component
+public class OrderGrouping {
+
+    public static final String GROUP_ID_PROPERTY = "JMSXGroupID";
+
+    private final OrderGroupingProperties properties;
+
+    public OrderGrouping(OrderGroupingProperties properties) {
+        this.properties = properties;
+    }
+
+    /** Group of {@code order}, or {@code null} when grouping is disabled or the key is blank. */
+    public String groupOf(Order order) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        String group = switch (properties.getKey()) {
+            case CUSTOMER_NAME -> order.getCustomerName();
+            case PRODUCT -> order.getProduct();
+            case ORDER_ID -> order.getOrderId();
+        };
+        return group == null || group.isBlank() ? null : group;
+    }
+
+    /** Post-processor for template sends: stamps the request ID and the order's group. */
+    public MessagePostProcessor correlateAndGroup(Order order) {
+        String group = groupOf(order);
+        return message -> {
+            RequestIds.correlate(message);
+            stamp(message, group);
+            return message;
+        };
+    }
+
+    static void stamp(Message message, String group) throws JMSException {
+        if (group != null) {
+            message.setStringProperty(GROUP_ID_PROPERTY, group);
+        }
+    }
+}
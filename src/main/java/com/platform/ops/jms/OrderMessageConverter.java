@@ -0,0 +1,55 @@
+package com.platform.ops.jms;
+
+import com.platform.ops.model.Order;
+import jakarta.jms.BytesMessage;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import org.springframework.jms.support.converter.MessageConversionException;
+import org.springframework.jms.support.converter.MessageConverter;
+
+/**
+ * Writes {@link Order} payloads either as JSON (through the Jackson converter) or as a
+ * {@link OrderBinaryCodec} {@link BytesMessage} tagged with a schema ID header, and reads
+ * both formats regardless of the configured write format, so producers and consumers can
+ * be migrated independently. Every other payload type goes through the Jackson converter.
+ */
+public class OrderMessageConverter implements MessageConverter {
+
+    public static final String SCHEMA_ID_PROPERTY = "_schemaId";
+
+    public enum Format { JSON, BINARY }
+
+    private final MessageConverter jsonConverter;
+    private final Format format;
+
+    public OrderMessageConverter(MessageConverter jsonConverter, Format format) {
+        this.jsonConverter = jsonConverter;
+        this.format = format;
+    }
+
+    @Override
+    public Message toMessage(Object object, Session session) throws JMSException, MessageConversionException {
+        if (format == Format.BINARY && object instanceof Order order) {
+            BytesMessage message = session.createBytesMessage();
+            message.writeBytes(OrderBinaryCodec.encode(order));
+            message.setIntProperty(SCHEMA_ID_PROPERTY, OrderBinaryCodec.SCHEMA_ID);
+            return message;
+        }
+        return jsonConverter.toMessage(object, session);
+    }
+
+    @Override
+    public Object fromMessage(Message message) throws JMSException, MessageConversionException {
+        if (message instanceof BytesMessage bytesMessage && message.propertyExists(SCHEMA_ID_PROPERTY)) {
+            int schemaId = message.getIntProperty(SCHEMA_ID_PROPERTY);
+            if (schemaId != OrderBinaryCodec.SCHEMA_ID) {
+                throw new MessageConversionException("Unsupported order schema id: " + schemaId);
+            }
+            byte[] data = new byte[(int) bytesMessage.getBodyLength()];
+            bytesMessage.readBytes(data);
+            return OrderBinaryCodec.decode(data);
+        }
+        return jsonConverter.fromMessage(message);
+    }
+}
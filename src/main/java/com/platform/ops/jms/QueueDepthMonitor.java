@@ -0,0 +1,75 @@
+package com.platform.ops.jms;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Exports {@code ops.jms.queue.depth} and {@code ops.jms.queue.consumers} for both order lanes,
+ * orders.DLQ and the parked dead letters waiting for a replay. The broker is asked on a fixed
+ * schedule rather than on every scrape, so a gauge read never blocks on a broker round trip.
+ * Gauges report {@code NaN} until the first successful answer, and whenever the statistics
+ * plugin does not answer.
+ */
+@Component
+public class QueueDepthMonitor implements SchedulingConfigurer {
+
+    static final List<String> QUEUES = List.of(MessageProducer.ORDERS_QUEUE, MessageProducer.PRIORITY_QUEUE, "orders.DLQ",
+            DeadLetterReplayer.PARKING_QUEUE);
+
+    private final BrokerStatisticsClient statisticsClient;
+    private final Duration interval;
+    private final Map<String, QueueStatistics> latest = new LinkedHashMap<>();
+
+    public QueueDepthMonitor(BrokerStatisticsClient statisticsClient, MeterRegistry meterRegistry,
+                             @Value("${ops.jms.statistics.interval:15s}") Duration interval) {
+        this.statisticsClient = statisticsClient;
+        this.interval = interval;
+        for (String queue : QUEUES) {
+            Gauge.builder("ops.jms.queue.depth", this, m -> m.value(queue, QueueStatistics::size))
+                    .tag("queue", queue)
+                    .description("Messages waiting on the queue, as last reported by the broker")
+                    .register(meterRegistry);
+            Gauge.builder("ops.jms.queue.consumers", this, m -> m.value(queue, QueueStatistics::consumerCount))
+                    .tag("queue", queue)
+                    .description("Consumers attached to the queue, as last reported by the broker")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(this::refresh, interval);
+    }
+
+    void refresh() {
+        for (String queue : QUEUES) {
+            QueueStatistics statistics = statisticsClient.queueStatistics(queue).orElse(null);
+            synchronized (latest) {
+                latest.put(queue, statistics);
+            }
+        }
+    }
+
+    /** Messages waiting on {@code queue} as last reported, {@code NaN} if unknown. */
+    public double depth(String queue) {
+        return value(queue, QueueStatistics::size);
+    }
+
+    private double value(String queue, ToLongFunction<QueueStatistics> field) {
+        QueueStatistics statistics;
+        synchronized (latest) {
+            statistics = latest.get(queue);
+        }
+        return statistics != null ? field.applyAsLong(statistics) : Double.NaN;
+    }
+}
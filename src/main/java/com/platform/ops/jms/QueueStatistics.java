@@ -0,0 +1,31 @@
+package com.platform.ops.jms;
+
+import jakarta.jms.JMSException;
+import jakarta.jms.MapMessage;
+
+/**
+ * Snapshot of a queue as reported by the ActiveMQ statistics broker plugin.
+ *
+ * @param size               messages currently waiting on the queue
+ * @param enqueueCount       messages ever enqueued
+ * @param dequeueCount       messages ever acknowledged
+ * @param consumerCount      consumers attached to the queue
+ * @param averageEnqueueTime average time in milliseconds a message spent on the queue
+ */
+public record QueueStatistics(long size, long enqueueCount, long dequeueCount,
+                              long consumerCount, double averageEnqueueTime) {
+
+    static QueueStatistics from(MapMessage reply) throws JMSException {
+        return new QueueStatistics(
+                number(reply, "size").longValue(),
+                number(reply, "enqueueCount").longValue(),
+                number(reply, "dequeueCount").longValue(),
+                number(reply, "consumerCount").longValue(),
+                number(reply, "averageEnqueueTime").doubleValue());
+    }
+
+    private static Number number(MapMessage reply, String name) throws JMSException {
+        Object value = reply.getObject(name);
+        return value instanceof Number number ? number : 0L;
+    }
+}
@@ -0,0 +1,86 @@
+package com.platform.ops.jms;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one replay started through {@link DeadLetterReplayer}. Counters are updated
+ * after every committed batch, so they never include messages that may still be rolled back.
+ */
+@Getter
+public class ReplayJob {
+
+    public enum State {
+        RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+
+    private final String id;
+    /** JMS selector built from the request, {@code null} when every message is replayed. */
+    private final String selector;
+    private final Long limit;
+    private final double messagesPerSecond;
+    private final Instant startedAt = Instant.now();
+    private volatile State state = State.RUNNING;
+    private volatile boolean cancelRequested;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong replayed = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong batches = new AtomicLong();
+
+    ReplayJob(String id, String selector, Long limit, double messagesPerSecond) {
+        this.id = id;
+        this.selector = selector;
+        this.limit = limit;
+        this.messagesPerSecond = messagesPerSecond;
+    }
+
+    public long getReplayed() {
+        return replayed.get();
+    }
+
+    public long getBatches() {
+        return batches.get();
+    }
+
+    /** Messages per second achieved so far. */
+    public double getActualRate() {
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long millis = Math.max(1, Duration.between(startedAt, end).toMillis());
+        return replayed.get() * 1000.0 / millis;
+    }
+
+    public boolean isFinished() {
+        return state != State.RUNNING;
+    }
+
+    /** Asks the replay to stop after the batch in progress. */
+    void cancel() {
+        cancelRequested = true;
+    }
+
+    /** How many more messages this replay may move, capped at {@code batchSize}. */
+    int nextBatchSize(int batchSize) {
+        if (limit == null) {
+            return batchSize;
+        }
+        return (int) Math.max(0, Math.min(batchSize, limit - replayed.get()));
+    }
+
+    void batchCommitted(int messages) {
+        replayed.addAndGet(messages);
+        batches.incrementAndGet();
+    }
+
+    void finish(State state, String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.state = state;
+    }
+}
@@ -0,0 +1,177 @@
+package com.platform.ops.jms;
+
+import com.platform.ops.config.RetryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.jms.Destination;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import org.apache.activemq.ScheduledMessage;
+import org.apache.activemq.command.ActiveMQMessage;
+import org.apache.activemq.util.JMSExceptionSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jms.support.JmsUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Moves a failed message out of the listener's way: a copy is re-published to its queue with
+ * {@code AMQ_SCHEDULED_DELAY} set, so the broker holds it back while the session acknowledges
+ * the original and carries on with the next message. Delays grow exponentially with jitter;
+ * after {@code maxAttempts} deliveries the copy goes to the dead letter queue instead. The
+ * attempt number travels in the {@value #ATTEMPT_PROPERTY} property.
+ * <p>
+ * Failures the {@link FailureClassifier} reports as permanent are not retried at all: the copy
+ * goes to the dead letter queue on the first attempt. Dead-lettered copies carry the reason,
+ * the root cause and the queue they came from in the {@code _failure*} and
+ * {@value #ORIGINAL_DESTINATION_PROPERTY} properties.
+ */
+@Component
+public class RetryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RetryScheduler.class);
+    public static final String ATTEMPT_PROPERTY = "_attempt";
+    /** {@value #PERMANENT_FAILURE} or {@code exhausted}. */
+    public static final String FAILURE_REASON_PROPERTY = "_failureReason";
+    public static final String PERMANENT_FAILURE = "permanent";
+    public static final String FAILURE_EXCEPTION_PROPERTY = "_failureException";
+    public static final String FAILURE_MESSAGE_PROPERTY = "_failureMessage";
+    public static final String ORIGINAL_DESTINATION_PROPERTY = "_originalDestination";
+
+    private static final int MAX_FAILURE_MESSAGE_LENGTH = 512;
+
+    private final RetryProperties properties;
+    private final FailureClassifier classifier;
+    private final DoubleSupplier random;
+    private final Counter scheduled;
+    private final Counter exhausted;
+    private final Counter rejected;
+
+    @Autowired
+    public RetryScheduler(RetryProperties properties, FailureClassifier classifier, MeterRegistry meterRegistry) {
+        this(properties, classifier, meterRegistry, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    RetryScheduler(RetryProperties properties, FailureClassifier classifier, MeterRegistry meterRegistry,
+                   DoubleSupplier random) {
+        this.properties = properties;
+        this.classifier = classifier;
+        this.random = random;
+        this.scheduled = Counter.builder("ops.jms.retry.scheduled")
+                .description("Failed messages re-published with a broker-scheduled delay")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("ops.jms.retry.exhausted")
+                .description("Messages sent to the dead letter queue after their last attempt")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("ops.jms.retry.rejected")
+                .description("Messages sent to the dead letter queue on a permanent failure, without retrying")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Schedules a retry of {@code failed}, or dead-letters it after the last attempt or on a
+     * permanent failure, by sending a copy on {@code session}. The caller then acknowledges the
+     * original (in the same local transaction when the session is transacted).
+     *
+     * With {@code keep-group-order}, a message of a group ({@value OrderGrouping#GROUP_ID_PROPERTY})
+     * is not retried by a scheduled copy, which later messages of the group would overtake. Its
+     * transient failures are left to the in-session redelivery, which holds the group's consumer
+     * until the message succeeds or the broker dead-letters it.
+     *
+     * @return {@code false} if the message cannot be copied, or the failure is transient and
+     *         either scheduled retries are disabled or the message belongs to a group that is
+     *         kept in order, in which case the caller should fall back to a regular redelivery
+     */
+    public boolean handleFailure(Session session, Message failed, Throwable cause) throws JMSException {
+        boolean permanent = classifier.classify(cause) == FailureClassifier.FailureType.PERMANENT;
+        if (!(permanent || properties.isEnabled()) || !(failed instanceof ActiveMQMessage original)) {
+            return false;
+        }
+        if (!permanent && properties.isKeepGroupOrder()
+                && failed.getStringProperty(OrderGrouping.GROUP_ID_PROPERTY) != null) {
+            log.warn("Message {} of group {} failed, redelivering it in-session to keep the group in order: {}",
+                    failed.getJMSMessageID(), failed.getStringProperty(OrderGrouping.GROUP_ID_PROPERTY),
+                    NestedExceptionUtils.getMostSpecificCause(cause).toString());
+            return false;
+        }
+        int attempt = attemptOf(failed);
+        ActiveMQMessage copy = (ActiveMQMessage) original.copy();
+        copy.setReadOnlyProperties(false);
+        removeProperty(copy, ScheduledMessage.AMQ_SCHEDULED_DELAY);
+        Throwable rootCause = NestedExceptionUtils.getMostSpecificCause(cause);
+
+        if (permanent || attempt >= properties.getMaxAttempts()) {
+            copy.setIntProperty(ATTEMPT_PROPERTY, attempt);
+            copy.setStringProperty(FAILURE_REASON_PROPERTY, permanent ? PERMANENT_FAILURE : "exhausted");
+            copy.setStringProperty(FAILURE_EXCEPTION_PROPERTY, rootCause.getClass().getName());
+            if (rootCause.getMessage() != null) {
+                copy.setStringProperty(FAILURE_MESSAGE_PROPERTY, abbreviate(rootCause.getMessage()));
+            }
+            copy.setStringProperty(ORIGINAL_DESTINATION_PROPERTY, String.valueOf(failed.getJMSDestination()));
+            send(session, session.createQueue(properties.getDeadLetterQueue()), failed, copy);
+            if (permanent) {
+                rejected.increment();
+                log.error("Message {} cannot be processed, moved to {} without retrying: {}",
+                        failed.getJMSMessageID(), properties.getDeadLetterQueue(), rootCause.toString());
+            } else {
+                exhausted.increment();
+                log.error("Message {} failed on its last attempt ({}), moved to {}: {}",
+                        failed.getJMSMessageID(), attempt, properties.getDeadLetterQueue(), rootCause.toString());
+            }
+            return true;
+        }
+
+        long delay = delayMillis(attempt);
+        copy.setIntProperty(ATTEMPT_PROPERTY, attempt + 1);
+        copy.setLongProperty(ScheduledMessage.AMQ_SCHEDULED_DELAY, delay);
+        send(session, failed.getJMSDestination(), failed, copy);
+        scheduled.increment();
+        log.warn("Message {} failed (attempt {}/{}), retrying in {}ms: {}",
+                failed.getJMSMessageID(), attempt, properties.getMaxAttempts(), delay, rootCause.toString());
+        return true;
+    }
+
+    /** Delay before the retry following {@code attempt} (1 = the first delivery failed). */
+    long delayMillis(int attempt) {
+        double base = properties.getInitialDelay().toMillis() * Math.pow(properties.getMultiplier(), attempt - 1);
+        double capped = Math.min(base, properties.getMaxDelay().toMillis());
+        double spread = properties.getJitter() * (2 * random.getAsDouble() - 1);
+        return Math.max(0, Math.round(capped * (1 + spread)));
+    }
+
+    static int attemptOf(Message message) throws JMSException {
+        return message.propertyExists(ATTEMPT_PROPERTY) ? message.getIntProperty(ATTEMPT_PROPERTY) : 1;
+    }
+
+    private static String abbreviate(String message) {
+        if (message.length() <= MAX_FAILURE_MESSAGE_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_FAILURE_MESSAGE_LENGTH - 3) + "...";
+    }
+
+    private static void send(Session session, Destination destination, Message original, Message copy)
+            throws JMSException {
+        jakarta.jms.MessageProducer producer = session.createProducer(destination);
+        try {
+            producer.send(copy, original.getJMSDeliveryMode(), original.getJMSPriority(), Message.DEFAULT_TIME_TO_LIVE);
+        } finally {
+            JmsUtils.closeMessageProducer(producer);
+        }
+    }
+
+    private static void removeProperty(ActiveMQMessage message, String name) throws JMSException {
+        try {
+            message.removeProperty(name);
+        } catch (IOException e) {
+            throw JMSExceptionSupport.create(e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.platform.ops.jms;
+
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import org.springframework.jms.config.DefaultJmsListenerContainerFactory;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+
+/**
+ * Listener container factory whose containers hand listener failures to the
+ * {@link RetryScheduler} instead of rolling the session back. The session is not blocked
+ * by an in-session redelivery delay, so healthy messages behind a failing one keep flowing.
+ * Containers use transacted sessions, so re-publishing the copy and acknowledging the
+ * original commit together.
+ */
+public class RetryingListenerContainerFactory extends DefaultJmsListenerContainerFactory {
+
+    private final RetryScheduler retryScheduler;
+
+    public RetryingListenerContainerFactory(RetryScheduler retryScheduler) {
+        this.retryScheduler = retryScheduler;
+        setSessionTransacted(true);
+    }
+
+    @Override
+    protected DefaultMessageListenerContainer createContainerInstance() {
+        return new RetryingContainer(retryScheduler);
+    }
+
+    static class RetryingContainer extends DefaultMessageListenerContainer {
+
+        private final RetryScheduler retryScheduler;
+
+        RetryingContainer(RetryScheduler retryScheduler) {
+            this.retryScheduler = retryScheduler;
+        }
+
+        @Override
+        protected void invokeListener(Session session, Message message) throws JMSException {
+            try {
+                super.invokeListener(session, message);
+            } catch (RuntimeException ex) {
+                // If the copy cannot be sent, the rollback falls back to broker redelivery
+                if (!retryScheduler.handleFailure(session, message, ex)) {
+                    throw ex;
+                }
+            }
+        }
+    }
+}
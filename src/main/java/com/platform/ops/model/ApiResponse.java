@@ -1,12 +1,19 @@
 package com.platform.ops.model;
 
+import com.platform.ops.tracing.RequestIds;
 import lombok.Getter;
 
 import java.time.Instant;
-import java.util.UUID;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 
 @Getter
 public class ApiResponse<T> {
+
+    private static final DateTimeFormatter SECONDS = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss")
+            .withZone(ZoneOffset.UTC);
+    private static final ThreadLocal<FormattedSecond> LAST_SECOND = ThreadLocal.withInitial(FormattedSecond::new);
+
     private final boolean success;
     private final T data;
     private final ErrorResponse error;
@@ -17,16 +24,44 @@ public class ApiResponse<T> {
         this.success = true;
         this.data = data;
         this.error = null;
-        this.timestamp = Instant.now().toString();
-        this.requestId = UUID.randomUUID().toString();
+        this.timestamp = timestamp();
+        this.requestId = RequestIds.current();
     }
 
     public ApiResponse(ErrorResponse error) {
         this.success = false;
         this.data = null;
         this.error = error;
-        this.timestamp = Instant.now().toString();
-        this.requestId = UUID.randomUUID().toString();
+        this.timestamp = timestamp();
+        this.requestId = RequestIds.current();
+    }
+
+    private static final class FormattedSecond {
+        long epochSecond = Long.MIN_VALUE;
+        String text;
+    }
+
+    /**
+     * ISO-8601 UTC with millisecond precision. The date and time up to the second are
+     * formatted once per second and thread, only the milliseconds are appended per call.
+     */
+    static String timestamp() {
+        long millis = System.currentTimeMillis();
+        long epochSecond = Math.floorDiv(millis, 1000);
+        FormattedSecond second = LAST_SECOND.get();
+        if (second.epochSecond != epochSecond) {
+            second.epochSecond = epochSecond;
+            second.text = SECONDS.format(Instant.ofEpochSecond(epochSecond));
+        }
+        int fraction = (int) Math.floorMod(millis, 1000);
+        return new StringBuilder(24)
+                .append(second.text)
+                .append('.')
+                .append((char) ('0' + fraction / 100))
+                .append((char) ('0' + fraction / 10 % 10))
+                .append((char) ('0' + fraction % 10))
+                .append('Z')
+                .toString();
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package com.platform.ops.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class BatchOrderResponse {
+    private int received;
+    private int queued;
+    private int rejected;
+    private List<OrderResult> results;
+}
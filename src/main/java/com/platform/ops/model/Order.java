@@ -13,13 +13,18 @@ import lombok.ToString;
 @ToString
 public class Order {
 
+    // Upper bounds match the varchar(255) columns of OrderEntity
+
     @NotBlank(message = "Order ID must not be blank")
+    @Size(max = 255, message = "Order ID must be at most 255 characters")
     private String orderId;
     @NotBlank(message = "Customer name must not be blank")
+    @Size(max = 255, message = "Customer name must be at most 255 characters")
     private String customerName;
 
     @NotBlank(message = "Product name must not be blank")
     @Size(min = 3, message = "Product name must be at least 3 characters")
+    @Size(max = 255, message = "Product name must be at most 255 characters")
     private String product;
 
     @Min(value = 1, message = "Quantity must be at least 1")
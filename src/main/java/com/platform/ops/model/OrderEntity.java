@@ -0,0 +1,59 @@
+package com.platform.ops.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * A consumed order as persisted by the write-behind pipeline. The ID comes from a pooled
+ * sequence rather than an identity column, so Hibernate can batch the inserts.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@Entity
+@Table(name = "consumed_orders", indexes = @Index(name = "idx_consumed_orders_order_id", columnList = "orderId"))
+public class OrderEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "consumed_orders_seq")
+    @SequenceGenerator(name = "consumed_orders_seq", sequenceName = "consumed_orders_seq", allocationSize = 100)
+    private Long id;
+
+    @Column(nullable = false)
+    private String orderId;
+
+    private String customerName;
+
+    private String product;
+
+    private Integer quantity;
+
+    private double price;
+
+    @Column(nullable = false)
+    private Instant consumedAt;
+
+    public static OrderEntity from(Order order) {
+        OrderEntity entity = new OrderEntity();
+        entity.setOrderId(order.getOrderId());
+        entity.setCustomerName(order.getCustomerName());
+        entity.setProduct(order.getProduct());
+        entity.setQuantity(order.getQuantity());
+        entity.setPrice(order.getPrice());
+        entity.setConsumedAt(Instant.now());
+        return entity;
+    }
+}
@@ -0,0 +1,23 @@
+package com.platform.ops.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OrderResult {
+
+    public enum Status { QUEUED, REJECTED }
+
+    private String orderId;
+    private Status status;
+    private String message;
+
+    public static OrderResult queued(String orderId) {
+        return new OrderResult(orderId, Status.QUEUED, null);
+    }
+
+    public static OrderResult rejected(String orderId, String reason) {
+        return new OrderResult(orderId, Status.REJECTED, reason);
+    }
+}
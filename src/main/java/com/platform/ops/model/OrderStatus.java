@@ -0,0 +1,12 @@
+package com.platform.ops.model;
+
+/**
+ * Lifecycle of an accepted order. Declared in lifecycle order: a recorded status is never
+ * replaced by an earlier one, so a late send acknowledgement cannot hide a consumption.
+ */
+public enum OrderStatus {
+    QUEUED,
+    RETRIED,
+    CONSUMED,
+    DEAD_LETTERED
+}
@@ -0,0 +1,17 @@
+package com.platform.ops.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class OrderStatusEntry {
+
+    private final String orderId;
+    private final OrderStatus status;
+    /** Deliveries seen by the consumer so far, 0 while the order is only queued. */
+    private final int deliveryCount;
+    private final Instant updatedAt;
+}
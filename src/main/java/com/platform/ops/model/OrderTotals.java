@@ -0,0 +1,15 @@
+package com.platform.ops.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+@AllArgsConstructor
+public class OrderTotals {
+    private long orders;
+    private long units;
+    /** Sum of {@code price * quantity}, to the cent. */
+    private BigDecimal revenue;
+}
@@ -0,0 +1,34 @@
+package com.platform.ops.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Selects the dead-lettered messages to replay. All filters are optional and combined with
+ * AND; an empty request replays everything.
+ */
+@Getter
+@Setter
+public class ReplayRequest {
+
+    /** Message properties that must match exactly, e.g. {@code {"_failureReason": "exhausted"}}. */
+    private Map<String, String> headers;
+
+    /** Class name of the failure, e.g. {@code org.springframework.dao.DataAccessResourceFailureException}. */
+    private String errorClass;
+
+    /** Only messages dead-lettered at or after this instant. */
+    private Instant from;
+
+    /** Only messages dead-lettered before this instant. */
+    private Instant to;
+
+    /** Stop after this many messages. */
+    private Long limit;
+
+    /** Overrides {@code ops.jms.replay.messages-per-second}. */
+    private Double messagesPerSecond;
+}
@@ -0,0 +1,13 @@
+package com.platform.ops.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UploadLineResult {
+    private long line;
+    private String orderId;
+    private OrderResult.Status status;
+    private String message;
+}
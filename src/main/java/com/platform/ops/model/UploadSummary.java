@@ -0,0 +1,14 @@
+package com.platform.ops.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UploadSummary {
+    private long lines;
+    private long queued;
+    private long rejected;
+    /** Why the upload stopped early, or {@code null} when every line was read. */
+    private String error;
+}
@@ -0,0 +1,25 @@
+package com.platform.ops.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class WindowStats {
+
+    public enum Type { SLIDING, TUMBLING }
+
+    private Duration window;
+    private Type type;
+    private Instant from;
+    private Instant to;
+    private OrderTotals total;
+    /** Top products by revenue, highest first. */
+    private Map<String, OrderTotals> products;
+    /** Top customers by revenue, highest first. */
+    private Map<String, OrderTotals> customers;
+}
@@ -0,0 +1,14 @@
+package com.platform.ops.repository;
+
+import com.platform.ops.importer.OrderImportRunner;
+import com.platform.ops.model.OrderEntity;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+@Profile("!" + OrderImportRunner.PROFILE)
+public interface OrderRepository extends JpaRepository<OrderEntity, Long> {
+
+    List<OrderEntity> findByOrderId(String orderId);
+}
@@ -0,0 +1,91 @@
+package com.platform.ops.service;
+
+import com.platform.ops.model.Order;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Orders as CSV records, one per line. Columns are found by their header name, so files may
+ * order them freely. Records spanning several lines are not supported.
+ */
+public final class CsvOrders {
+
+    /** Columns a CSV header must name, in any order and case. */
+    public static final List<String> COLUMNS = List.of("orderId", "customerName", "product", "quantity", "price");
+
+    private CsvOrders() {
+    }
+
+    /** Indexes of {@link #COLUMNS} in the header, or {@code null} if one is missing. */
+    public static int[] header(String line) {
+        // Spreadsheet exports often start with a byte order mark
+        List<String> names = fields(line.charAt(0) == '\uFEFF' ? line.substring(1) : line);
+        int[] columns = new int[COLUMNS.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = -1;
+            for (int j = 0; j < names.size(); j++) {
+                if (names.get(j).trim().equalsIgnoreCase(COLUMNS.get(i))) {
+                    columns[i] = j;
+                }
+            }
+            if (columns[i] < 0) {
+                return null;
+            }
+        }
+        return columns;
+    }
+
+    public static Order order(String line, int[] columns) {
+        List<String> fields = fields(line);
+        String[] values = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] >= fields.size()) {
+                throw new IllegalArgumentException("missing column " + COLUMNS.get(i));
+            }
+            String value = fields.get(columns[i]).trim();
+            values[i] = value.isEmpty() ? null : value;
+        }
+        Order order = new Order();
+        order.setOrderId(values[0]);
+        order.setCustomerName(values[1]);
+        order.setProduct(values[2]);
+        order.setQuantity(values[3] != null ? Integer.valueOf(values[3]) : null);
+        if (values[4] != null) {
+            order.setPrice(Double.parseDouble(values[4]));
+        }
+        return order;
+    }
+
+    /** Splits an RFC 4180 record that fits on one line: quoted fields, {@code ""} as an escaped quote. */
+    public static List<String> fields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -1,23 +1,67 @@
 package com.platform.ops.service;
 
+import com.platform.ops.jms.MessagingMetrics;
+import com.platform.ops.jms.OrderClassifier;
+import com.platform.ops.jms.OrderGrouping;
 import com.platform.ops.model.Order;
+import jakarta.jms.JMSException;
 import jakarta.jms.Queue;
+import org.apache.activemq.command.ActiveMQQueue;
 import org.springframework.jms.core.JmsTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 @Service
 public class OrderService {
 
     private final JmsTemplate jmsTemplate;
-    private final Queue orderQueue;
+    private final OrderStatusService orderStatusService;
+    private final MessagingMetrics metrics;
+    private final OrderGrouping grouping;
+    private final OrderClassifier classifier;
+    private final Map<OrderClassifier.Lane, Queue> laneQueues = new EnumMap<>(OrderClassifier.Lane.class);
+    private final Map<OrderClassifier.Lane, String> destinations = new EnumMap<>(OrderClassifier.Lane.class);
 
-    public OrderService(JmsTemplate jmsTemplate, Queue orderQueue) {
+    /**
+     * @param orderQueue queue of the standard lane; the other lanes use their default queue
+     */
+    public OrderService(JmsTemplate jmsTemplate, Queue orderQueue, OrderStatusService orderStatusService,
+                        MessagingMetrics metrics, OrderGrouping grouping, OrderClassifier classifier) {
         this.jmsTemplate = jmsTemplate;
-        this.orderQueue = orderQueue;
+        this.orderStatusService = orderStatusService;
+        this.metrics = metrics;
+        this.grouping = grouping;
+        this.classifier = classifier;
+        for (OrderClassifier.Lane lane : OrderClassifier.Lane.values()) {
+            Queue queue = lane == OrderClassifier.Lane.STANDARD ? orderQueue : new ActiveMQQueue(lane.queue());
+            laneQueues.put(lane, queue);
+            destinations.put(lane, queueName(queue));
+        }
     }
 
     public void sendOrder(Order order) {
-        jmsTemplate.convertAndSend(orderQueue, order);
+        OrderClassifier.Lane lane = classifier.classify(order);
+        String destination = destinations.get(lane);
+        long start = metrics.sendStarted();
+        boolean sent = false;
+        try {
+            jmsTemplate.convertAndSend(laneQueues.get(lane), order, grouping.correlateAndGroup(order));
+            sent = true;
+        } finally {
+            metrics.sendCompleted(MessagingMetrics.SendMode.SYNC, destination, start, sent);
+        }
+        orderStatusService.recordQueued(order.getOrderId());
         System.out.println("Order sent to queue: " + order);
     }
+
+    private static String queueName(Queue queue) {
+        try {
+            String name = queue.getQueueName();
+            return name != null ? name : String.valueOf(queue);
+        } catch (JMSException e) {
+            return String.valueOf(queue);
+        }
+    }
 }
@@ -0,0 +1,236 @@
+package com.platform.ops.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.platform.ops.config.OrderStatsProperties;
+import com.platform.ops.model.Order;
+import com.platform.ops.model.OrderTotals;
+import com.platform.ops.model.WindowStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Order count, units and revenue of consumed orders over the windows of {@code ops.orders.stats},
+ * in total and per product and customer, for {@code GET /api/stats}.
+ * <p>
+ * Every key keeps a ring of buckets of {@code resolution}, long enough to hold twice the longest
+ * window, so the last complete tumbling window is still there. A bucket is three
+ * {@link LongAdder}s, which spread concurrent increments over striped cells. It is created on the
+ * first order of its interval by compare-and-set on the ring slot it reuses, so recording takes
+ * no lock. Reading a window sums the buckets it covers while writers keep adding to them: a
+ * snapshot may miss increments that race with it, but never blocks the consumer.
+ * <p>
+ * Keys live in Caffeine caches like {@link com.platform.ops.admission.CustomerRateLimiter}'s
+ * buckets: bounded by {@code maximum-keys} and dropped once idle for longer than the ring.
+ */
+@Service
+public class OrderStatsService {
+
+    /** Key of orders without a product or customer name. */
+    static final String UNKNOWN = "";
+
+    private final OrderStatsProperties properties;
+    private final LongSupplier clock;
+    private final long resolutionMillis;
+    private final int ringSize;
+    private final Series total;
+    private final Cache<String, Series> products;
+    private final Cache<String, Series> customers;
+
+    @Autowired
+    public OrderStatsService(OrderStatsProperties properties) {
+        this(properties, System::currentTimeMillis);
+    }
+
+    /** @param clock epoch milliseconds; tumbling windows are aligned to multiples of their length */
+    OrderStatsService(OrderStatsProperties properties, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.resolutionMillis = properties.getResolution().toMillis();
+        if (resolutionMillis <= 0) {
+            throw new IllegalStateException("ops.orders.stats.resolution must be positive");
+        }
+        long longestMillis = resolutionMillis;
+        for (Duration window : properties.getWindows()) {
+            if (window.toMillis() <= 0 || window.toMillis() % resolutionMillis != 0) {
+                throw new IllegalStateException("Stats window " + window + " is not a multiple of the resolution "
+                        + properties.getResolution());
+            }
+            longestMillis = Math.max(longestMillis, window.toMillis());
+        }
+        this.ringSize = Math.toIntExact(2 * longestMillis / resolutionMillis + 1);
+        this.total = new Series(ringSize);
+        this.products = newKeyCache(2 * longestMillis);
+        this.customers = newKeyCache(2 * longestMillis);
+    }
+
+    private Cache<String, Series> newKeyCache(long idleMillis) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumKeys())
+                .expireAfterAccess(Duration.ofMillis(idleMillis))
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.getAsLong()))
+                .build();
+    }
+
+    /** Counts a consumed order in the current bucket of the total, its product and its customer. */
+    public void record(Order order) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long bucket = clock.getAsLong() / resolutionMillis;
+        long units = order.getQuantity() != null ? order.getQuantity() : 0;
+        long revenueCents = Math.round(order.getPrice() * units * 100);
+        total.add(bucket, units, revenueCents);
+        products.get(keyOf(order.getProduct()), key -> new Series(ringSize)).add(bucket, units, revenueCents);
+        customers.get(keyOf(order.getCustomerName()), key -> new Series(ringSize)).add(bucket, units, revenueCents);
+    }
+
+    public List<Duration> getWindows() {
+        return properties.getWindows();
+    }
+
+    public int getDefaultTop() {
+        return properties.getTop();
+    }
+
+    /**
+     * Sliding and tumbling stats for {@code window}, or for every configured window if it is
+     * {@code null}. The sliding window ends now and covers the current bucket and the ones before
+     * it; the tumbling window is the last complete one, aligned to multiples of its length.
+     *
+     * @param top products and customers listed per window, by revenue
+     */
+    public List<WindowStats> snapshot(Duration window, int top) {
+        long now = clock.getAsLong();
+        long current = now / resolutionMillis;
+        List<WindowStats> stats = new ArrayList<>();
+        for (Duration length : properties.getWindows()) {
+            if (window != null && !window.equals(length)) {
+                continue;
+            }
+            long buckets = length.toMillis() / resolutionMillis;
+            long slidingFrom = current - buckets + 1;
+            stats.add(window(length, WindowStats.Type.SLIDING, slidingFrom, current + 1,
+                    Instant.ofEpochMilli(slidingFrom * resolutionMillis), Instant.ofEpochMilli(now), top));
+            long tumblingTo = Math.floorDiv(now, length.toMillis()) * length.toMillis() / resolutionMillis;
+            long tumblingFrom = tumblingTo - buckets;
+            stats.add(window(length, WindowStats.Type.TUMBLING, tumblingFrom, tumblingTo,
+                    Instant.ofEpochMilli(tumblingFrom * resolutionMillis), Instant.ofEpochMilli(tumblingTo * resolutionMillis),
+                    top));
+        }
+        return stats;
+    }
+
+    private WindowStats window(Duration length, WindowStats.Type type, long fromBucket, long toBucket,
+                               Instant from, Instant to, int top) {
+        return new WindowStats(length, type, from, to, total.sum(fromBucket, toBucket).toTotals(),
+                top(products, fromBucket, toBucket, top), top(customers, fromBucket, toBucket, top));
+    }
+
+    private static Map<String, OrderTotals> top(Cache<String, Series> keys, long fromBucket, long toBucket, int top) {
+        // Min-heap of the best so far, so a key is compared with the weakest of them
+        PriorityQueue<Map.Entry<String, Sum>> best = new PriorityQueue<>(
+                Comparator.comparingLong((Map.Entry<String, Sum> entry) -> entry.getValue().revenueCents)
+                        .thenComparing(Map.Entry::getKey, Comparator.reverseOrder()));
+        if (top > 0) {
+            for (Map.Entry<String, Series> key : keys.asMap().entrySet()) {
+                Sum sum = key.getValue().sum(fromBucket, toBucket);
+                if (sum.orders > 0) {
+                    best.add(Map.entry(key.getKey(), sum));
+                    if (best.size() > top) {
+                        best.poll();
+                    }
+                }
+            }
+        }
+        List<Map.Entry<String, Sum>> ranked = new ArrayList<>(best);
+        ranked.sort(best.comparator().reversed());
+        Map<String, OrderTotals> totals = new LinkedHashMap<>();
+        ranked.forEach(entry -> totals.put(entry.getKey(), entry.getValue().toTotals()));
+        return totals;
+    }
+
+    private static String keyOf(String name) {
+        return name != null ? name : UNKNOWN;
+    }
+
+    /** Ring of buckets; bucket {@code i} covers {@code [i * resolution, (i + 1) * resolution)}. */
+    private static final class Series {
+
+        private final AtomicReferenceArray<Bucket> ring;
+
+        Series(int size) {
+            this.ring = new AtomicReferenceArray<>(size);
+        }
+
+        void add(long index, long units, long revenueCents) {
+            int slot = (int) Math.floorMod(index, (long) ring.length());
+            Bucket bucket = ring.get(slot);
+            while (bucket == null || bucket.index < index) {
+                Bucket fresh = new Bucket(index);
+                if (ring.compareAndSet(slot, bucket, fresh)) {
+                    bucket = fresh;
+                } else {
+                    bucket = ring.get(slot);
+                }
+            }
+            // A writer stalled for a whole ring would land in a newer interval; its order is long out of every window
+            if (bucket.index == index) {
+                bucket.orders.increment();
+                bucket.units.add(units);
+                bucket.revenueCents.add(revenueCents);
+            }
+        }
+
+        /** Sums the buckets {@code [from, to)} that are still in the ring. */
+        Sum sum(long from, long to) {
+            Sum sum = new Sum();
+            for (long index = Math.max(from, to - ring.length()); index < to; index++) {
+                Bucket bucket = ring.get((int) Math.floorMod(index, (long) ring.length()));
+                if (bucket != null && bucket.index == index) {
+                    sum.orders += bucket.orders.sum();
+                    sum.units += bucket.units.sum();
+                    sum.revenueCents += bucket.revenueCents.sum();
+                }
+            }
+            return sum;
+        }
+    }
+
+    private static final class Bucket {
+
+        final long index;
+        final LongAdder orders = new LongAdder();
+        final LongAdder units = new LongAdder();
+        final LongAdder revenueCents = new LongAdder();
+
+        Bucket(long index) {
+            this.index = index;
+        }
+    }
+
+    private static final class Sum {
+
+        long orders;
+        long units;
+        long revenueCents;
+
+        OrderTotals toTotals() {
+            return new OrderTotals(orders, units, BigDecimal.valueOf(revenueCents, 2));
+        }
+    }
+}
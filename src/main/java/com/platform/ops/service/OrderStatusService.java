@@ -0,0 +1,89 @@
+package com.platform.ops.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.platform.ops.config.OrderStatusProperties;
+import com.platform.ops.model.OrderStatus;
+import com.platform.ops.model.OrderStatusEntry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Last known status of recently accepted orders, kept in a size- and TTL-bounded Caffeine
+ * cache. Producers and consumers record transitions; lookups never reach the broker or the
+ * database. Hit, miss and eviction counts are exported as {@code cache.*} metrics with
+ * {@code cache=orderStatus}.
+ */
+@Service
+public class OrderStatusService {
+
+    static final String CACHE_NAME = "orderStatus";
+
+    private final Cache<String, OrderStatusEntry> cache;
+
+    public OrderStatusService(OrderStatusProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public void recordQueued(String orderId) {
+        record(orderId, OrderStatus.QUEUED, 0);
+    }
+
+    public void recordRetried(String orderId, int deliveryCount) {
+        record(orderId, OrderStatus.RETRIED, deliveryCount);
+    }
+
+    public void recordConsumed(String orderId, int deliveryCount) {
+        record(orderId, OrderStatus.CONSUMED, deliveryCount);
+    }
+
+    public void recordDeadLettered(String orderId) {
+        record(orderId, OrderStatus.DEAD_LETTERED, 0);
+    }
+
+    /**
+     * Puts a dead-lettered order back to {@link OrderStatus#QUEUED} when it is replayed. This is
+     * the only transition back to an earlier status.
+     */
+    public void recordReplayed(String orderId) {
+        if (orderId != null) {
+            cache.put(orderId, new OrderStatusEntry(orderId, OrderStatus.QUEUED, 0, Instant.now()));
+        }
+    }
+
+    public Optional<OrderStatusEntry> find(String orderId) {
+        return Optional.ofNullable(cache.getIfPresent(orderId));
+    }
+
+    /** Known statuses among {@code orderIds}, in request order; unknown IDs are left out. */
+    public List<OrderStatusEntry> findAll(Collection<String> orderIds) {
+        Map<String, OrderStatusEntry> found = cache.getAllPresent(orderIds);
+        return orderIds.stream().distinct().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    private void record(String orderId, OrderStatus status, int deliveryCount) {
+        if (orderId == null) {
+            return;
+        }
+        cache.asMap().compute(orderId, (id, current) -> {
+            if (current != null && current.getStatus().compareTo(status) > 0) {
+                return current;
+            }
+            int deliveries = Math.max(deliveryCount, current != null ? current.getDeliveryCount() : 0);
+            return new OrderStatusEntry(id, status, deliveries, Instant.now());
+        });
+    }
+}
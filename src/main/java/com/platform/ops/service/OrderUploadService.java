@@ -0,0 +1,330 @@
+package com.platform.ops.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.platform.ops.admission.CustomerRateLimiter;
+import com.platform.ops.config.UploadProperties;
+import com.platform.ops.exception.RateLimitExceededException;
+import com.platform.ops.jms.MessageProducer;
+import com.platform.ops.model.Order;
+import com.platform.ops.model.OrderResult;
+import com.platform.ops.model.UploadLineResult;
+import com.platform.ops.model.UploadSummary;
+import com.platform.ops.tracing.RequestIds;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Bulk order uploads, one order per line as NDJSON or CSV. The body is read line by line and
+ * each line is parsed and validated on its own, so a bad line is reported and skipped without
+ * failing the upload. Each order takes a token from its customer's
+ * {@link CustomerRateLimiter} bucket, and an order over the rate is rejected like a bad line.
+ * Valid orders are published in transacted batches of
+ * {@code ops.upload.batch-size} through {@link MessageProducer#sendOrders}. Batches are
+ * published one after another on a sender thread while the next batch is parsed, so orders
+ * reach the queue in upload order, and at most {@code max-in-flight-batches} wait to be
+ * published. An upload therefore holds a few batches in memory, however large it is.
+ * <p>
+ * The result of every line is passed to the caller's consumer on the calling thread, in the
+ * order lines are decided: rejected lines at once, queued lines when their batch is committed.
+ * When a batch cannot be published, reading stops and its orders, as well as those of the
+ * batches behind it, are reported as rejected.
+ * If the body breaks off or a result cannot be written back, because the client went away,
+ * the upload is aborted and its batches that are not published yet are cancelled.
+ */
+@Service
+public class OrderUploadService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderUploadService.class);
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    public static final String CSV_MEDIA_TYPE = "text/csv";
+
+    private final MessageProducer messageProducer;
+    private final Validator validator;
+    private final CustomerRateLimiter rateLimiter;
+    private final ObjectReader orderReader;
+    private final UploadProperties properties;
+    private final ExecutorService senders;
+
+    public OrderUploadService(MessageProducer messageProducer, Validator validator, CustomerRateLimiter rateLimiter,
+                              ObjectMapper objectMapper, UploadProperties properties) {
+        this.messageProducer = messageProducer;
+        this.validator = validator;
+        this.rateLimiter = rateLimiter;
+        this.orderReader = objectMapper.readerFor(Order.class);
+        this.properties = properties;
+        AtomicInteger threads = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(properties.getSenderThreads(), task -> {
+            Thread thread = new Thread(task, "order-upload-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public UploadSummary upload(InputStream body, Format format, Consumer<UploadLineResult> results) throws IOException {
+        Upload upload = new Upload(results, RequestIds.current());
+        LineReader reader = new LineReader(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)),
+                properties.getMaxLineLength());
+        try {
+            int[] csvColumns = null;
+            String line;
+            while (upload.error == null && (line = reader.readLine()) != null) {
+                long lineNumber = reader.lineNumber;
+                if (reader.tooLong) {
+                    upload.reject(lineNumber, null, "Line longer than " + properties.getMaxLineLength() + " characters");
+                    continue;
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && csvColumns == null) {
+                    csvColumns = CsvOrders.header(line);
+                    if (csvColumns == null) {
+                        upload.error = "CSV header must name the columns " + String.join(",", CsvOrders.COLUMNS);
+                    }
+                    continue;
+                }
+
+                Order order;
+                try {
+                    order = format == Format.CSV ? CsvOrders.order(line, csvColumns) : orderReader.readValue(line);
+                } catch (JsonProcessingException e) {
+                    upload.reject(lineNumber, null, "Unreadable order: " + e.getOriginalMessage());
+                    continue;
+                } catch (IllegalArgumentException e) {
+                    upload.reject(lineNumber, null, "Unreadable order: " + e.getMessage());
+                    continue;
+                }
+                if (order == null) {
+                    upload.reject(lineNumber, null, "Unreadable order: not an object");
+                    continue;
+                }
+                Set<ConstraintViolation<Order>> violations = validator.validate(order);
+                if (!violations.isEmpty()) {
+                    upload.reject(lineNumber, order.getOrderId(), describe(violations));
+                    continue;
+                }
+                // As in a batch request, each order takes a token, so an upload cannot bypass its customer's rate
+                try {
+                    rateLimiter.acquire(order.getCustomerName());
+                } catch (RateLimitExceededException e) {
+                    upload.reject(lineNumber, order.getOrderId(), "Too Many Requests: " + e.getMessage()
+                            + ", retry after " + Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000) + "s");
+                    continue;
+                }
+                upload.add(lineNumber, order);
+            }
+            upload.finish();
+        } catch (IOException | RuntimeException e) {
+            // The client is gone or the body broke off: batches not yet sent are dropped
+            int cancelled = upload.cancel();
+            log.warn("Upload aborted after {} lines, {} pending batches cancelled: {}", reader.lineNumber, cancelled,
+                    e.getMessage());
+            throw e;
+        }
+
+        UploadSummary summary = new UploadSummary(reader.lineNumber, upload.queued, upload.rejected, upload.error);
+        log.info("Upload of {} lines finished: {} queued, {} rejected{}", summary.getLines(), summary.getQueued(),
+                summary.getRejected(), upload.error != null ? ", stopped: " + upload.error : "");
+        return summary;
+    }
+
+    @Override
+    public void destroy() {
+        senders.shutdown();
+    }
+
+    private void send(List<Order> orders, String requestId) {
+        // Sender threads have no request of their own; messages carry the upload's request ID
+        try (MDC.MDCCloseable ignored = MDC.putCloseable(RequestIds.MDC_KEY, requestId)) {
+            messageProducer.sendOrders(orders);
+        }
+    }
+
+    private static String describe(Set<ConstraintViolation<Order>> violations) {
+        StringBuilder errors = new StringBuilder();
+        for (ConstraintViolation<Order> violation : violations) {
+            errors.append(violation.getPropertyPath())
+                    .append(": ")
+                    .append(violation.getMessage())
+                    .append("; ");
+        }
+        return errors.toString();
+    }
+
+    private record Batch(List<Order> orders, long[] lines, CompletableFuture<Void> sent) {
+    }
+
+    /** State of one upload. Only touched by the uploading thread. */
+    private final class Upload {
+
+        private final Consumer<UploadLineResult> results;
+        private final String requestId;
+        private final Deque<Batch> pending = new ArrayDeque<>();
+        private CompletableFuture<Void> last = CompletableFuture.completedFuture(null);
+        private List<Order> orders = new ArrayList<>(properties.getBatchSize());
+        private long[] lines = new long[properties.getBatchSize()];
+        private long queued;
+        private long rejected;
+        private String error;
+
+        Upload(Consumer<UploadLineResult> results, String requestId) {
+            this.results = results;
+            this.requestId = requestId;
+        }
+
+        void reject(long line, String orderId, String reason) {
+            rejected++;
+            results.accept(new UploadLineResult(line, orderId, OrderResult.Status.REJECTED, reason));
+        }
+
+        void add(long line, Order order) {
+            lines[orders.size()] = line;
+            orders.add(order);
+            if (orders.size() == properties.getBatchSize()) {
+                submit();
+            }
+        }
+
+        void finish() {
+            if (error == null) {
+                submit();
+            } else {
+                for (int i = 0; i < orders.size(); i++) {
+                    reject(lines[i], orders.get(i).getOrderId(), "Not queued: " + error);
+                }
+            }
+            while (!pending.isEmpty()) {
+                complete(pending.poll());
+            }
+        }
+
+        /**
+         * Cancels the batches that are not published yet, so their sends are skipped. The newest
+         * goes first: cancelling a batch also completes the ones chained behind it.
+         */
+        int cancel() {
+            int cancelled = 0;
+            for (Iterator<Batch> batches = pending.descendingIterator(); batches.hasNext(); ) {
+                if (batches.next().sent().cancel(false)) {
+                    cancelled++;
+                }
+            }
+            pending.clear();
+            return cancelled;
+        }
+
+        private void submit() {
+            if (orders.isEmpty()) {
+                return;
+            }
+            while (pending.size() >= Math.max(1, properties.getMaxInFlightBatches())) {
+                complete(pending.poll());
+            }
+            List<Order> batch = orders;
+            // Chained, so a batch is only published once the previous one is committed
+            last = last.thenRunAsync(() -> send(batch, requestId), senders);
+            pending.add(new Batch(batch, lines, last));
+            orders = new ArrayList<>(properties.getBatchSize());
+            lines = new long[properties.getBatchSize()];
+            // Report batches that are already committed without waiting for the others
+            while (!pending.isEmpty() && pending.peek().sent().isDone()) {
+                complete(pending.poll());
+            }
+        }
+
+        private void complete(Batch batch) {
+            String failure = null;
+            try {
+                batch.sent().join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                failure = "Not queued: " + cause.getMessage();
+                if (error == null) {
+                    // Batches behind it fail with the same cause, so it is only logged once
+                    log.error("Failed to publish upload batch of {} orders", batch.orders().size(), cause);
+                    error = failure;
+                }
+            }
+            for (int i = 0; i < batch.orders().size(); i++) {
+                String orderId = batch.orders().get(i).getOrderId();
+                if (failure == null) {
+                    queued++;
+                    results.accept(new UploadLineResult(batch.lines()[i], orderId, OrderResult.Status.QUEUED, null));
+                } else {
+                    reject(batch.lines()[i], orderId, failure);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads {@code \n} or {@code \r\n} terminated lines. Characters beyond {@code maxLength}
+     * are skipped and flag the line as too long, so one huge line cannot exhaust the heap.
+     */
+    private static final class LineReader {
+
+        private final Reader in;
+        private final int maxLength;
+        private final StringBuilder line = new StringBuilder();
+        private long lineNumber;
+        private boolean tooLong;
+
+        LineReader(Reader in, int maxLength) {
+            this.in = in;
+            this.maxLength = maxLength;
+        }
+
+        String readLine() throws IOException {
+            line.setLength(0);
+            tooLong = false;
+            int c = in.read();
+            if (c == -1) {
+                return null;
+            }
+            while (c != -1 && c != '\n') {
+                if (line.length() < maxLength) {
+                    line.append((char) c);
+                } else {
+                    tooLong = true;
+                }
+                c = in.read();
+            }
+            lineNumber++;
+            int length = line.length();
+            if (length > 0 && line.charAt(length - 1) == '\r') {
+                line.setLength(length - 1);
+            }
+            return line.toString();
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.platform.ops.service;
+
+import com.platform.ops.config.PersistenceProperties;
+import com.platform.ops.importer.OrderImportRunner;
+import com.platform.ops.model.Order;
+import com.platform.ops.model.OrderEntity;
+import com.platform.ops.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind persistence of consumed orders. Listeners hand orders to a bounded buffer and
+ * return; a single writer thread drains it into batches of {@code batchSize} (or whatever
+ * arrived within {@code flushInterval}) and stores each batch with one {@code saveAll}, which
+ * Hibernate turns into JDBC batch inserts. When the buffer is full the listener blocks for up
+ * to {@code offerTimeout} and then fails the message, so a slow database slows consumption
+ * instead of exhausting memory.
+ * <p>
+ * A batch failing with a transient error (lost connection, lock timeout) is retried every
+ * {@code retryBackoff}, up to {@code maxAttempts} times. A batch rejected by the database
+ * ({@link NonTransientDataAccessException}, e.g. a constraint violation) is written again
+ * row by row, so only the offending orders are discarded. Since their messages have
+ * already been acknowledged, orders that cannot be written are logged and counted in
+ * {@code ops.orders.persistence.dropped} by reason: {@code invalid}, {@code exhausted}, or
+ * {@code shutdown} for a write failing while the service stops.
+ * <p>
+ * Not created by the {@code import} profile, which only publishes and has no database.
+ */
+@Service
+@Profile("!" + OrderImportRunner.PROFILE)
+public class OrderWriteBehindService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderWriteBehindService.class);
+
+    private final OrderRepository repository;
+    private final PersistenceProperties properties;
+    private final BlockingQueue<OrderEntity> buffer;
+    private final Timer flushTimer;
+    private final Counter persisted;
+    private final Counter rejected;
+    private final Counter droppedInvalid;
+    private final Counter droppedExhausted;
+    private final Counter droppedAtShutdown;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public OrderWriteBehindService(OrderRepository repository, PersistenceProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.buffer = new ArrayBlockingQueue<>(properties.getBufferCapacity());
+
+        Gauge.builder("ops.orders.persistence.buffer.size", buffer, BlockingQueue::size)
+                .description("Consumed orders waiting to be written")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("ops.orders.persistence.flush")
+                .description("Time to write one batch of consumed orders")
+                .register(meterRegistry);
+        this.persisted = Counter.builder("ops.orders.persistence.persisted")
+                .description("Consumed orders written to the database")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("ops.orders.persistence.rejected")
+                .description("Orders failed back to the broker because the buffer stayed full")
+                .register(meterRegistry);
+        this.droppedInvalid = droppedCounter(meterRegistry, "invalid");
+        this.droppedExhausted = droppedCounter(meterRegistry, "exhausted");
+        this.droppedAtShutdown = droppedCounter(meterRegistry, "shutdown");
+    }
+
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("ops.orders.persistence.dropped")
+                .tag("reason", reason)
+                .description("Acknowledged orders that could not be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Buffers the order for writing, blocking while the buffer is full.
+     *
+     * @throws IllegalStateException if no space became available within {@code offerTimeout}
+     */
+    public void enqueue(Order order) {
+        try {
+            if (!buffer.offer(OrderEntity.from(order), properties.getOfferTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new IllegalStateException("Persistence buffer still full after "
+                        + properties.getOfferTimeout() + ", order " + order.getOrderId() + " not buffered");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for persistence buffer space", e);
+        }
+    }
+
+    public int getBuffered() {
+        return buffer.size();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drain, "order-writer");
+        writer.start();
+        log.info("Order write-behind started: bufferCapacity={}, batchSize={}, flushInterval={}",
+                properties.getBufferCapacity(), properties.getBatchSize(), properties.getFlushInterval());
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join(properties.getFlushInterval().toMillis() + properties.getRetryBackoff().toMillis() + 30_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writer = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Starts before and stops after the JMS listener containers, so every buffered order is written. */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 1;
+    }
+
+    private void drain() {
+        List<OrderEntity> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !buffer.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                // This thread is ours: treat an interrupt as a stop request and keep draining
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<OrderEntity> batch) throws InterruptedException {
+        OrderEntity first = buffer.poll(properties.getFlushInterval().toNanos(), TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + properties.getFlushInterval().toNanos();
+        while (batch.size() < properties.getBatchSize()) {
+            buffer.drainTo(batch, properties.getBatchSize() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= properties.getBatchSize() || remaining <= 0) {
+                return;
+            }
+            OrderEntity next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void write(List<OrderEntity> batch) {
+        RuntimeException failure = save(batch, () -> repository.saveAll(batch));
+        if (failure == null) {
+            persisted.increment(batch.size());
+            log.debug("Persisted batch of {} orders", batch.size());
+            return;
+        }
+        if (!isPermanent(failure)) {
+            drop(batch.size(), failure);
+            return;
+        }
+        log.warn("Batch of {} orders rejected, writing them one by one: {}", batch.size(), failure.getMessage());
+        for (OrderEntity entity : batch) {
+            RuntimeException rowFailure = save(List.of(entity), () -> repository.save(entity));
+            if (rowFailure == null) {
+                persisted.increment();
+            } else if (isPermanent(rowFailure)) {
+                log.error("Discarding order {}, rejected by the database: {}", entity.getOrderId(), rowFailure.getMessage());
+                droppedInvalid.increment();
+            } else {
+                drop(1, rowFailure);
+            }
+        }
+    }
+
+    /**
+     * Runs {@code write}, retrying transient failures while the service is running.
+     *
+     * @return {@code null} once written, otherwise the last failure
+     */
+    private RuntimeException save(List<OrderEntity> entities, Runnable write) {
+        for (int attempt = 1; ; attempt++) {
+            long start = System.nanoTime();
+            try {
+                write.run();
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return null;
+            } catch (RuntimeException e) {
+                // IDs assigned by the rolled back attempt must not turn the retry into merges
+                entities.forEach(entity -> entity.setId(null));
+                if (isPermanent(e) || !running || attempt >= properties.getMaxAttempts()) {
+                    return e;
+                }
+                log.warn("Writing {} orders failed (attempt {} of {}), retrying in {}: {}", entities.size(),
+                        attempt, properties.getMaxAttempts(), properties.getRetryBackoff(), e.getMessage());
+                sleep(properties.getRetryBackoff().toMillis());
+            }
+        }
+    }
+
+    private void drop(int orders, RuntimeException failure) {
+        if (running) {
+            log.error("Dropping {} consumed orders after {} failed attempts: {}",
+                    orders, properties.getMaxAttempts(), failure.getMessage());
+            droppedExhausted.increment(orders);
+        } else {
+            log.error("Dropping {} consumed orders, write failed during shutdown: {}", orders, failure.getMessage());
+            droppedAtShutdown.increment(orders);
+        }
+    }
+
+    /** Rejected for what the rows contain, so writing them again cannot succeed. */
+    private static boolean isPermanent(RuntimeException e) {
+        return e instanceof NonTransientDataAccessException || e instanceof ConstraintViolationException;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
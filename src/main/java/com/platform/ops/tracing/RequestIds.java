@@ -0,0 +1,106 @@
+package com.platform.ops.tracing;
+
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import org.slf4j.MDC;
+import org.springframework.jms.core.MessagePostProcessor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Request IDs in the ULID layout: 26 Crockford base32 characters, 48 bits of epoch
+ * milliseconds followed by 80 random bits, so IDs sort by creation time. Randomness comes
+ * from {@link ThreadLocalRandom} and IDs created by one thread within the same millisecond
+ * increment the previous one, so generation never contends between threads (unlike
+ * {@code UUID.randomUUID()}, which shares one {@code SecureRandom}). Not suitable where IDs
+ * must be unguessable.
+ *
+ * <p>The ID of the current HTTP request or JMS message lives in the {@value #MDC_KEY} MDC
+ * entry, travels as {@value #HEADER} over HTTP and as {@code JMSCorrelationID} over JMS.
+ */
+public final class RequestIds {
+
+    public static final String MDC_KEY = "requestId";
+    public static final String HEADER = "X-Request-Id";
+
+    /** Stamps the current request ID as {@code JMSCorrelationID}. */
+    public static final MessagePostProcessor CORRELATE = message -> {
+        correlate(message);
+        return message;
+    };
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int LENGTH = 26;
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private RequestIds() {
+    }
+
+    private static final class State {
+        long millis = -1;
+        long high; // upper 16 random bits
+        long low;  // lower 64 random bits
+    }
+
+    public static String next() {
+        State state = STATE.get();
+        long now = System.currentTimeMillis();
+        if (now > state.millis) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            state.millis = now;
+            state.high = random.nextInt() & 0xFFFFL;
+            state.low = random.nextLong();
+        } else if (++state.low == 0) {
+            // Same millisecond (or the clock stepped back): stay monotonic by incrementing
+            state.high = (state.high + 1) & 0xFFFFL;
+        }
+        return encode(state.millis, state.high, state.low);
+    }
+
+    /** ID of the request being handled on this thread, or a fresh one outside of a request. */
+    public static String current() {
+        String id = MDC.get(MDC_KEY);
+        return id != null ? id : next();
+    }
+
+    public static void correlate(Message message) throws JMSException {
+        message.setJMSCorrelationID(current());
+    }
+
+    /** Millisecond timestamp encoded in a generated ID. */
+    static long timestampOf(String id) {
+        long millis = 0;
+        for (int i = 0; i < 10; i++) {
+            millis = (millis << 5) | decode(id.charAt(i));
+        }
+        return millis;
+    }
+
+    private static String encode(long millis, long high, long low) {
+        char[] chars = new char[LENGTH];
+        for (int i = 9; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (millis & 31)];
+            millis >>>= 5;
+        }
+        for (int i = LENGTH - 1; i >= 14; i--) {
+            chars[i] = ALPHABET[(int) (low & 31)];
+            low >>>= 5;
+        }
+        // The remaining 4 bits of low and the 16 bits of high make the 4 characters in between
+        long middle = (high << 4) | low;
+        for (int i = 13; i >= 10; i--) {
+            chars[i] = ALPHABET[(int) (middle & 31)];
+            middle >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    private static int decode(char c) {
+        for (int i = 0; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == c) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Not a request ID character: " + c);
+    }
+}
@@ -1,11 +1,13 @@
 package com.platform.ops;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 
 @SpringBootTest(
 		classes = OrderProcessingSystemApplication.class
 )
+@AutoConfigureTestDatabase
 class OrderProcessingSystemApplicationTests {
 
 	@Test
@@ -0,0 +1,124 @@
+package com.platform.ops.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.ops.config.AdmissionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Admission Filter Tests")
+class AdmissionFilterTest {
+
+    private AdmissionProperties properties;
+    private AdmissionLimiter limiter;
+    private AdmissionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissionProperties();
+        properties.setInitialLimit(1);
+        properties.setMinLimit(1);
+        properties.setRetryAfter(Duration.ofMillis(1500));
+        limiter = new AdmissionLimiter(properties, () -> Double.NaN, new SimpleMeterRegistry());
+        filter = new AdmissionFilter(limiter, properties, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After once the limit is reached")
+    void shouldAnswer429WithRetryAfterOnceLimitIsReached() throws Exception {
+        // Given - the only permit is taken by a request in progress
+        assertEquals(AdmissionLimiter.Decision.ADMITTED, limiter.tryAcquire());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/messages/orders"), response, chain);
+
+        // Then
+        assertEquals(429, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("Too many concurrent order requests"));
+        assertNull(chain.getRequest(), "rejected request must not reach the controller");
+    }
+
+    @Test
+    @DisplayName("Should release the permit once the request completes")
+    void shouldReleasePermitOnceRequestCompletes() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        int[] inFlightDuringRequest = new int[1];
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/orders"), response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                inFlightDuringRequest[0] = limiter.getInFlight();
+            }
+        }));
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals(1, inFlightDuringRequest[0]);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should hold the permit of an async request until it completes")
+    void shouldHoldPermitOfAsyncRequestUntilItCompletes() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/messages/orders/nonblocking");
+        request.setAsyncSupported(true);
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                req.startAsync();
+            }
+        }));
+
+        // Then
+        assertEquals(1, limiter.getInFlight());
+        request.getAsyncContext().complete();
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should admit uploads through the limit")
+    void shouldAdmitUploadsThroughLimit() throws Exception {
+        // Given
+        limiter.tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/messages/orders/upload"), response, new MockFilterChain());
+
+        // Then
+        assertEquals(429, response.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should leave other endpoints alone")
+    void shouldLeaveOtherEndpointsAlone() throws Exception {
+        // Given
+        limiter.tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/orders/ORD-1"), response, new MockFilterChain());
+
+        // Then
+        assertEquals(200, response.getStatus());
+    }
+}
@@ -0,0 +1,137 @@
+package com.platform.ops.admission;
+
+import com.platform.ops.config.AdmissionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Admission Limiter Tests")
+class AdmissionLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private AdmissionProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private double queueDepth;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissionProperties();
+        properties.setInitialLimit(10);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(100);
+        meterRegistry = new SimpleMeterRegistry();
+        queueDepth = Double.NaN;
+    }
+
+    @Test
+    @DisplayName("Should reject requests beyond the current limit")
+    void shouldRejectRequestsBeyondCurrentLimit() {
+        // Given
+        AdmissionLimiter limiter = newLimiter();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(AdmissionLimiter.Decision.ADMITTED, limiter.tryAcquire());
+        }
+
+        // When & Then
+        assertEquals(AdmissionLimiter.Decision.OVER_LIMIT, limiter.tryAcquire());
+        limiter.release();
+        assertEquals(AdmissionLimiter.Decision.ADMITTED, limiter.tryAcquire());
+        assertEquals(1.0, meterRegistry.get("ops.admission.rejected").tag("reason", "limit").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit when requests slow down")
+    void shouldShrinkLimitWhenRequestsSlowDown() {
+        // Given
+        AdmissionLimiter limiter = newLimiter();
+        limiter.tryAcquire();
+        limiter.release(FAST, true);
+
+        // When
+        limiter.tryAcquire();
+        limiter.release(SLOW, true);
+
+        // Then
+        assertEquals(9, limiter.getLimit());
+        assertEquals(9.0, meterRegistry.get("ops.admission.limit").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit on failures but not below the minimum")
+    void shouldShrinkLimitOnFailuresButNotBelowMinimum() throws InterruptedException {
+        // Given
+        AdmissionLimiter limiter = newLimiter();
+
+        // When - at most one decrease per baseline latency
+        for (int i = 0; i < 40; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST, false);
+            Thread.sleep(2);
+        }
+
+        // Then
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should grow the limit while it is in use and requests stay fast")
+    void shouldGrowLimitWhileInUseAndRequestsStayFast() {
+        // Given - half of the limit held by long-running requests
+        AdmissionLimiter limiter = newLimiter();
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+        }
+
+        // When
+        for (int i = 0; i < 30; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST, true);
+        }
+
+        // Then
+        assertTrue(limiter.getLimit() > 10, "limit should have grown, was " + limiter.getLimit());
+        assertEquals(5, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should not grow the limit while it is mostly unused")
+    void shouldNotGrowLimitWhileMostlyUnused() {
+        // Given
+        AdmissionLimiter limiter = newLimiter();
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST, true);
+        }
+
+        // Then
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should shed requests while the orders queue is too deep")
+    void shouldShedRequestsWhileOrdersQueueIsTooDeep() {
+        // Given
+        properties.setMaxQueueDepth(1000);
+        AdmissionLimiter limiter = newLimiter();
+
+        // When & Then
+        queueDepth = 5000;
+        assertEquals(AdmissionLimiter.Decision.BACKLOG, limiter.tryAcquire());
+        queueDepth = 10;
+        assertEquals(AdmissionLimiter.Decision.ADMITTED, limiter.tryAcquire());
+        assertEquals(1.0, meterRegistry.get("ops.admission.rejected").tag("reason", "backlog").counter().count());
+    }
+
+    private AdmissionLimiter newLimiter() {
+        return new AdmissionLimiter(properties, () -> queueDepth, meterRegistry);
+    }
+}
@@ -0,0 +1,118 @@
+package com.platform.ops.admission;
+
+import com.platform.ops.config.RateLimitProperties;
+import com.platform.ops.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Customer Rate Limiter Tests")
+class CustomerRateLimiterTest {
+
+    private RateLimitProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setTiers(Map.of(
+                "standard", new RateLimitProperties.Tier(10, 5),
+                "premium", new RateLimitProperties.Tier(100, 50)));
+        properties.setCustomers(Map.of("Big Customer", "premium"));
+        properties.setIdleTimeout(Duration.ofMinutes(1));
+        meterRegistry = new SimpleMeterRegistry();
+        now = TimeUnit.HOURS.toNanos(1);
+    }
+
+    @Test
+    @DisplayName("Should allow the burst and then reject until a token is refilled")
+    void shouldAllowBurstAndThenRejectUntilTokenIsRefilled() {
+        // Given
+        CustomerRateLimiter limiter = newLimiter();
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("Noisy Customer");
+        }
+
+        // When
+        RateLimitExceededException ex = assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire("Noisy Customer"));
+
+        // Then - 10 per second refills one token every 100ms
+        assertEquals(Duration.ofMillis(100), ex.getRetryAfter());
+        assertEquals(1.0, meterRegistry.get("ops.ratelimit.rejected").tag("tier", "standard").counter().count());
+        now += TimeUnit.MILLISECONDS.toNanos(100);
+        assertDoesNotThrow(() -> limiter.acquire("Noisy Customer"));
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire("Noisy Customer"));
+    }
+
+    @Test
+    @DisplayName("Should keep customers independent and apply their tier")
+    void shouldKeepCustomersIndependentAndApplyTheirTier() {
+        // Given
+        CustomerRateLimiter limiter = newLimiter();
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("Noisy Customer");
+        }
+
+        // When & Then
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire("Noisy Customer"));
+        assertDoesNotThrow(() -> limiter.acquire("Quiet Customer"));
+        for (int i = 0; i < 50; i++) {
+            limiter.acquire("Big Customer");
+        }
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire("Big Customer"));
+        assertEquals(1.0, meterRegistry.get("ops.ratelimit.rejected").tag("tier", "premium").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should evict idle customers")
+    void shouldEvictIdleCustomers() {
+        // Given
+        CustomerRateLimiter limiter = newLimiter();
+        limiter.acquire("Customer A");
+        limiter.acquire("Customer B");
+        assertEquals(2, limiter.trackedCustomers());
+
+        // When
+        now += TimeUnit.MINUTES.toNanos(2);
+
+        // Then
+        assertEquals(0, limiter.trackedCustomers());
+    }
+
+    @Test
+    @DisplayName("Should not throttle when disabled")
+    void shouldNotThrottleWhenDisabled() {
+        // Given
+        properties.setEnabled(false);
+        CustomerRateLimiter limiter = newLimiter();
+
+        // When & Then
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire("Noisy Customer");
+        }
+        assertEquals(0, limiter.trackedCustomers());
+    }
+
+    @Test
+    @DisplayName("Should fail fast when the default tier is missing")
+    void shouldFailFastWhenDefaultTierIsMissing() {
+        // Given
+        properties.setDefaultTier("gold");
+
+        // When & Then
+        assertThrows(IllegalStateException.class, this::newLimiter);
+    }
+
+    private CustomerRateLimiter newLimiter() {
+        return new CustomerRateLimiter(properties, () -> now, meterRegistry);
+    }
+}
@@ -0,0 +1,59 @@
+package com.platform.ops.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.ops.model.ApiResponse;
+import com.platform.ops.model.ErrorResponse;
+import com.platform.ops.model.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building an {@link ApiResponse} (request ID and timestamp) for every REST call,
+ * alone and including its JSON serialization.
+ */
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Order order;
+    private ErrorResponse error;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        order = new Order();
+        order.setOrderId("ORD-2024-000123");
+        order.setCustomerName("Jane Customer");
+        order.setProduct("Wireless Keyboard");
+        order.setQuantity(3);
+        order.setPrice(49.99);
+        error = new ErrorResponse("Queue Error", "Queue not found: orders.queue");
+    }
+
+    @Benchmark
+    public ApiResponse<Order> success() {
+        return new ApiResponse<>(order);
+    }
+
+    @Benchmark
+    public ApiResponse<Object> failure() {
+        return new ApiResponse<>(error);
+    }
+
+    @Benchmark
+    public byte[] successSerialized() throws Exception {
+        return objectMapper.writeValueAsBytes(new ApiResponse<>(order));
+    }
+}
@@ -0,0 +1,35 @@
+package com.platform.ops.benchmark;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the {@code benchmark} Maven profile. Accepts the usual JMH command line
+ * (e.g. a benchmark name regex, {@code -f}, {@code -wi}) and adds the GC profiler, so every
+ * run reports allocation rate per operation. Unless {@code -bm} is given, every benchmark
+ * is measured for throughput and sampled latency (p50/p90/p99). Results are written to
+ * {@code target/jmh-result.json} for comparison between runs.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .result("target/jmh-result.json")
+                .resultFormat(ResultFormatType.JSON);
+        if (commandLine.getBenchModes().isEmpty()) {
+            options.mode(Mode.Throughput).mode(Mode.SampleTime);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,99 @@
+package com.platform.ops.benchmark;
+
+import com.platform.ops.jms.OrderGrouping;
+import jakarta.jms.Connection;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.Message;
+import jakarta.jms.MessageListener;
+import jakarta.jms.Session;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Consumption throughput of a grouped queue by number of listener consumers. Orders of
+ * {@value #GROUPS} customers arrive interleaved, each stamped with its customer as
+ * {@code JMSXGroupID}, and every order takes {@value #WORK_MICROS}µs to process, as when
+ * waiting on the database. One operation is one consumed order, so the score shows how
+ * far the listener scales out while each customer's orders stay in sequence.
+ */
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConsumerScalingBenchmark {
+
+    private static final int GROUPS = 64;
+    private static final int ORDERS = 1024;
+    private static final long WORK_MICROS = 200;
+
+    @Param({"1", "2", "4", "8"})
+    public int consumers;
+
+    private Connection connection;
+    private Session session;
+    private jakarta.jms.MessageProducer producer;
+    private DefaultMessageListenerContainer container;
+    private final Semaphore consumed = new Semaphore(0);
+    private long sequence;
+
+    @Setup
+    public void setUp() throws Exception {
+        ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory(
+                "vm://consumer-scaling-benchmark?broker.persistent=false&broker.useJmx=false"
+                        + "&jms.prefetchPolicy.queuePrefetch=10");
+        connectionFactory.setWatchTopicAdvisories(false);
+
+        // Keeps the vm:// broker alive and publishes the orders
+        connection = connectionFactory.createConnection();
+        session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        producer = session.createProducer(session.createQueue("grouped.orders"));
+        producer.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
+
+        container = new DefaultMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setDestinationName("grouped.orders");
+        container.setConcurrency(Integer.toString(consumers));
+        container.setMessageListener((MessageListener) message -> {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(WORK_MICROS));
+            consumed.release();
+        });
+        container.afterPropertiesSet();
+        container.start();
+        while (container.getActiveConsumerCount() < consumers) {
+            Thread.sleep(10);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        container.shutdown();
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void consumeGroupedOrders() throws Exception {
+        for (int i = 0; i < ORDERS; i++) {
+            Message message = session.createTextMessage("order-" + sequence++);
+            message.setStringProperty(OrderGrouping.GROUP_ID_PROPERTY, "customer-" + (i % GROUPS));
+            producer.send(message);
+        }
+        consumed.acquire(ORDERS);
+    }
+}
@@ -0,0 +1,108 @@
+package com.platform.ops.benchmark;
+
+import com.platform.ops.config.AsyncSendProperties;
+import com.platform.ops.config.CompressionProperties;
+import com.platform.ops.config.LaneProperties;
+import com.platform.ops.config.MessagingConfig;
+import com.platform.ops.config.OrderGroupingProperties;
+import com.platform.ops.config.OrderStatusProperties;
+import com.platform.ops.jms.AsyncOrderSender;
+import com.platform.ops.jms.DefaultOrderClassifier;
+import com.platform.ops.jms.MessageProducer;
+import com.platform.ops.jms.MessagingMetrics;
+import com.platform.ops.jms.OrderGrouping;
+import com.platform.ops.jms.OrderMessageConverter;
+import com.platform.ops.model.Order;
+import com.platform.ops.service.OrderStatusService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.Session;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.jms.activemq.ActiveMQProperties;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.converter.MessageConverter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MessageProducer#sendOrder} against an embedded non-persistent {@code vm://} broker,
+ * through the producer pool and through the raw ActiveMQ factory (a connection per send).
+ * A consumer drains {@code orders.queue} so producer flow control never kicks in.
+ */
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageProducerBenchmark {
+
+    @Param({"pooled", "raw"})
+    public String connectionFactory;
+
+    private Connection drainConnection;
+    private JmsPoolConnectionFactory pool;
+    private AsyncOrderSender asyncOrderSender;
+    private MessageProducer messageProducer;
+    private Order order;
+
+    @Setup
+    public void setUp() throws Exception {
+        ActiveMQConnectionFactory activeMQ = new ActiveMQConnectionFactory(
+                "vm://producer-benchmark?broker.persistent=false&broker.useJmx=false");
+        activeMQ.setWatchTopicAdvisories(false);
+
+        // Keeps the vm:// broker alive and the queue empty
+        drainConnection = activeMQ.createConnection();
+        Session session = drainConnection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        session.createConsumer(session.createQueue("orders.queue")).setMessageListener(message -> { });
+        drainConnection.start();
+
+        MessagingConfig config = new MessagingConfig();
+        MessageConverter converter = config.orderMessageConverter(
+                OrderMessageConverter.Format.JSON, new CompressionProperties(), new SimpleMeterRegistry());
+        ConnectionFactory factory = activeMQ;
+        if ("pooled".equals(connectionFactory)) {
+            pool = config.pooledConnectionFactory(activeMQ, new ActiveMQProperties(), 16);
+            factory = pool;
+        }
+        JmsTemplate jmsTemplate = config.jmsTemplate(factory, converter);
+        asyncOrderSender = new AsyncOrderSender(activeMQ, jmsTemplate, new AsyncSendProperties());
+        messageProducer = new MessageProducer(jmsTemplate, config.batchJmsTemplate(factory, converter),
+                asyncOrderSender, new OrderStatusService(new OrderStatusProperties(), new SimpleMeterRegistry()),
+                new MessagingMetrics(new SimpleMeterRegistry()), new OrderGrouping(new OrderGroupingProperties()),
+                new DefaultOrderClassifier(new LaneProperties()));
+
+        order = new Order();
+        order.setOrderId("ORD-2024-000123");
+        order.setCustomerName("Jane Customer");
+        order.setProduct("Wireless Keyboard");
+        order.setQuantity(3);
+        order.setPrice(49.99);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        asyncOrderSender.destroy();
+        if (pool != null) {
+            pool.stop();
+        }
+        drainConnection.close();
+    }
+
+    @Benchmark
+    public void sendOrder() {
+        messageProducer.sendOrder(order);
+    }
+}
@@ -0,0 +1,101 @@
+package com.platform.ops.benchmark;
+
+import com.platform.ops.config.MessagingConfig;
+import com.platform.ops.jms.OrderMessageConverter;
+import com.platform.ops.model.Order;
+import jakarta.jms.BytesMessage;
+import jakarta.jms.Connection;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jms.support.converter.MessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the current Jackson TEXT converter with the binary order codec.
+ * Payload sizes are printed at setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderCodecBenchmark {
+
+    private Connection connection;
+    private Session session;
+    private Order order;
+    private MessageConverter jsonConverter;
+    private MessageConverter binaryConverter;
+    private TextMessage jsonMessage;
+    private BytesMessage binaryMessage;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Messages are only created, never sent; the broker just backs the session
+        connection = new ActiveMQConnectionFactory("vm://codec-benchmark?broker.persistent=false&broker.useJmx=false")
+                .createConnection();
+        session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+
+        order = new Order();
+        order.setOrderId("ORD-2024-000123");
+        order.setCustomerName("Jane Customer");
+        order.setProduct("Wireless Keyboard");
+        order.setQuantity(3);
+        order.setPrice(49.99);
+
+        MessageConverter jackson = new MessagingConfig().jacksonJmsMessageConverter();
+        jsonConverter = jackson;
+        binaryConverter = new OrderMessageConverter(jackson, OrderMessageConverter.Format.BINARY);
+
+        jsonMessage = (TextMessage) jsonConverter.toMessage(order, session);
+        binaryMessage = (BytesMessage) binaryConverter.toMessage(order, session);
+        binaryMessage.reset();
+
+        System.out.printf("%npayload bytes: json=%d (+ _type=%s), binary=%d%n",
+                jsonMessage.getText().getBytes(StandardCharsets.UTF_8).length,
+                jsonMessage.getStringProperty("_type"),
+                binaryMessage.getBodyLength());
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        connection.close();
+    }
+
+    @Benchmark
+    public Message encodeJson() throws Exception {
+        return jsonConverter.toMessage(order, session);
+    }
+
+    @Benchmark
+    public Message encodeBinary() throws Exception {
+        return binaryConverter.toMessage(order, session);
+    }
+
+    @Benchmark
+    public Object decodeJson() throws Exception {
+        return jsonConverter.fromMessage(jsonMessage);
+    }
+
+    @Benchmark
+    public Object decodeBinary() throws Exception {
+        binaryMessage.reset(); // rewind the body for the next read
+        return binaryConverter.fromMessage(binaryMessage);
+    }
+}
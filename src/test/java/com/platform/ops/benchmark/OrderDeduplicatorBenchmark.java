@@ -0,0 +1,74 @@
+package com.platform.ops.benchmark;
+
+import com.platform.ops.config.DeduplicationProperties;
+import com.platform.ops.jms.OrderDeduplicator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Claim throughput of the orderId dedup table from four listener threads. {@code claimNew}
+ * keeps inserting distinct IDs, so the table fills and rotates throughout the run;
+ * {@code claimDuplicate} hits IDs that are already present.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class OrderDeduplicatorBenchmark {
+
+    @Param({"500000", "4000000"})
+    public int capacity;
+
+    private OrderDeduplicator deduplicator;
+    private String[] knownIds;
+
+    @Setup
+    public void setUp() {
+        DeduplicationProperties properties = new DeduplicationProperties();
+        properties.setCapacity(capacity);
+        properties.setWindow(Duration.ofHours(1));
+        deduplicator = new OrderDeduplicator(properties, new SimpleMeterRegistry());
+
+        knownIds = new String[1024];
+        for (int i = 0; i < knownIds.length; i++) {
+            knownIds[i] = "ORD-KNOWN-" + i;
+            deduplicator.tryClaim(knownIds[i]);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadIds {
+        private static final AtomicInteger THREADS = new AtomicInteger();
+        private final String prefix = "ORD-" + THREADS.incrementAndGet() + "-";
+        private long next;
+        private int known;
+    }
+
+    @Benchmark
+    public boolean claimNew(ThreadIds ids) {
+        return deduplicator.tryClaim(ids.prefix + ids.next++);
+    }
+
+    @Benchmark
+    public boolean claimDuplicate(ThreadIds ids) {
+        return deduplicator.tryClaim(knownIds[ids.known++ & (knownIds.length - 1)]);
+    }
+}
@@ -0,0 +1,119 @@
+package com.platform.ops.benchmark;
+
+import com.platform.ops.model.Order;
+import com.platform.ops.model.OrderEntity;
+import com.platform.ops.repository.OrderRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput per order: one {@code save} per row (what a listener persisting inline
+ * would do) against one {@code saveAll} per batch with JDBC batching, as done by
+ * {@code OrderWriteBehindService}. Runs against in-memory H2, so the gap on a networked
+ * Postgres, where every statement costs a round trip, is larger.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderPersistenceBenchmark {
+
+    private static final int ORDERS = 500;
+
+    @Param({"50", "500"})
+    public int jdbcBatchSize;
+
+    private ConfigurableApplicationContext context;
+    private OrderRepository repository;
+    private List<Order> orders;
+
+    // A test configuration, so @SpringBootTest component scanning skips it
+    @TestConfiguration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = OrderEntity.class)
+    @EnableJpaRepositories(basePackageClasses = OrderRepository.class)
+    static class PersistenceContext {
+    }
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(PersistenceContext.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:persistence-benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                        "--spring.jpa.properties.hibernate.order_inserts=true",
+                        "--logging.level.root=WARN");
+        repository = context.getBean(OrderRepository.class);
+
+        orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setOrderId("BENCH-" + i);
+            order.setCustomerName("Benchmark Customer");
+            order.setProduct("Benchmark Product");
+            order.setQuantity(1);
+            order.setPrice(10.0);
+            orders.add(order);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        repository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void perRowSave() {
+        for (Order order : orders) {
+            repository.save(OrderEntity.from(order));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void batchedSaveAll() {
+        List<OrderEntity> batch = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            batch.add(OrderEntity.from(order));
+        }
+        repository.saveAll(batch);
+    }
+}
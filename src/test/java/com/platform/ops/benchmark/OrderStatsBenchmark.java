@@ -0,0 +1,77 @@
+package com.platform.ops.benchmark;
+
+import com.platform.ops.config.OrderStatsProperties;
+import com.platform.ops.model.Order;
+import com.platform.ops.model.WindowStats;
+import com.platform.ops.service.OrderStatsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cost of counting a consumed order in the rolling stats, from four listener threads spread
+ * over {@code customers} customers, while one reader takes snapshots of every window.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Group)
+public class OrderStatsBenchmark {
+
+    @Param({"100", "10000"})
+    public int customers;
+
+    private OrderStatsService statsService;
+    private Order[] orders;
+
+    @Setup
+    public void setUp() {
+        statsService = new OrderStatsService(new OrderStatsProperties());
+        orders = new Order[1024];
+        for (int i = 0; i < orders.length; i++) {
+            Order order = new Order();
+            order.setOrderId("ORD-" + i);
+            order.setCustomerName("Customer " + (i * 7919 % customers));
+            order.setProduct("Product " + (i % 16));
+            order.setQuantity(1 + i % 5);
+            order.setPrice(9.99);
+            orders[i] = order;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadOrders {
+        private static final AtomicInteger THREADS = new AtomicInteger();
+        private int next = THREADS.incrementAndGet() * 131;
+    }
+
+    @Benchmark
+    @Group("consume")
+    @GroupThreads(4)
+    public void record(ThreadOrders cursor) {
+        statsService.record(orders[cursor.next++ & (orders.length - 1)]);
+    }
+
+    @Benchmark
+    @Group("consume")
+    @GroupThreads(1)
+    public List<WindowStats> snapshot() {
+        return statsService.snapshot(null, 20);
+    }
+}
@@ -0,0 +1,70 @@
+package com.platform.ops.benchmark;
+
+import com.platform.ops.model.Order;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean validation of an {@link Order}, as done for every order of a batch request.
+ * Invalid orders also pay for building the constraint violation messages.
+ */
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private Order validOrder;
+    private Order invalidOrder;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        validOrder = new Order();
+        validOrder.setOrderId("ORD-2024-000123");
+        validOrder.setCustomerName("Jane Customer");
+        validOrder.setProduct("Wireless Keyboard");
+        validOrder.setQuantity(3);
+        validOrder.setPrice(49.99);
+
+        invalidOrder = new Order();
+        invalidOrder.setOrderId("");
+        invalidOrder.setProduct("KB");
+        invalidOrder.setQuantity(0);
+        invalidOrder.setPrice(0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Order>> validOrder() {
+        return validator.validate(validOrder);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Order>> invalidOrder() {
+        return validator.validate(invalidOrder);
+    }
+}
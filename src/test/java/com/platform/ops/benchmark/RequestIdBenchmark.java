@@ -0,0 +1,47 @@
+package com.platform.ops.benchmark;
+
+import com.platform.ops.tracing.RequestIds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one request ID: {@code UUID.randomUUID()} (one shared {@code SecureRandom}) against
+ * {@link RequestIds#next()} (per-thread state), on one thread and on eight threads calling
+ * concurrently the way request threads do. See {@link ApiResponseBenchmark} for the cost of
+ * a whole response including its timestamp.
+ */
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestIdBenchmark {
+
+    @Benchmark
+    public String uuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String requestId() {
+        return RequestIds.next();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String uuidContended() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String requestIdContended() {
+        return RequestIds.next();
+    }
+}
@@ -1,8 +1,11 @@
 package com.platform.ops.config;
 
+import org.apache.activemq.ActiveMQConnectionFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
+import org.springframework.boot.autoconfigure.jms.activemq.ActiveMQProperties;
 import org.springframework.jms.support.converter.MessageConverter;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -76,4 +79,26 @@ class MessagingConfigTest {
         // Each call should create a new instance (not singleton)
         assertNotSame(converter1, converter2);
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should create producer pool from ActiveMQ pool properties")
+    void shouldCreateProducerPoolFromActiveMqPoolProperties() {
+        // Given
+        ActiveMQProperties properties = new ActiveMQProperties();
+        properties.getPool().setMaxConnections(3);
+        properties.getPool().setMaxSessionsPerConnection(50);
+        ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory("vm://pool-test?broker.persistent=false");
+
+        // When
+        JmsPoolConnectionFactory pool = messagingConfig.pooledConnectionFactory(connectionFactory, properties, 16);
+
+        // Then
+        try {
+            assertEquals(3, pool.getMaxConnections());
+            assertEquals(50, pool.getMaxSessionsPerConnection());
+            assertEquals(0, pool.getNumConnections());
+        } finally {
+            pool.stop();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.platform.ops.controller;
+
+import com.platform.ops.jms.DeadLetterReplayer;
+import com.platform.ops.model.ReplayRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(DeadLetterController.class)
+@DisplayName("Dead Letter Controller Tests")
+class DeadLetterControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DeadLetterReplayer replayer;
+
+    @Test
+    @DisplayName("Should answer 409 while another replay is running")
+    void shouldAnswer409WhileAnotherReplayIsRunning() throws Exception {
+        // Given
+        when(replayer.start(any(ReplayRequest.class))).thenThrow(new IllegalStateException("Replay R-1 is still running"));
+
+        // When & Then
+        mockMvc.perform(post("/api/dlq/replays")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"errorClass\":\"java.lang.IllegalStateException\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.content").value("Replay R-1 is still running"));
+    }
+
+    @Test
+    @DisplayName("Should answer 400 for an invalid replay filter")
+    void shouldAnswer400ForInvalidReplayFilter() throws Exception {
+        // Given
+        when(replayer.start(any(ReplayRequest.class))).thenThrow(new IllegalArgumentException("Invalid header name: 1=1"));
+
+        // When & Then
+        mockMvc.perform(post("/api/dlq/replays")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"headers\":{\"1=1\":\"x\"}}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should answer 404 when cancelling an unknown replay")
+    void shouldAnswer404WhenCancellingUnknownReplay() throws Exception {
+        // Given
+        when(replayer.cancel("missing")).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(delete("/api/dlq/replays/missing"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.destination").value("Replay Not Found"));
+    }
+}
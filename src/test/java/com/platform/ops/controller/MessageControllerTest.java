@@ -0,0 +1,312 @@
+package com.platform.ops.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.ops.admission.CustomerRateLimiter;
+import com.platform.ops.exception.MessageSendFailureException;
+import com.platform.ops.exception.RateLimitExceededException;
+import com.platform.ops.jms.MessageProducer;
+import com.platform.ops.model.Order;
+import com.platform.ops.model.OrderResult;
+import com.platform.ops.model.UploadLineResult;
+import com.platform.ops.model.UploadSummary;
+import com.platform.ops.service.OrderUploadService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(MessageController.class)
+@DisplayName("Message Controller Tests")
+class MessageControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private MessageProducer messageProducer;
+
+    @MockBean
+    private CustomerRateLimiter rateLimiter;
+
+    @MockBean
+    private OrderUploadService uploadService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should accept async order with 202 and tracking id")
+    void shouldAcceptAsyncOrderWith202AndTrackingId() throws Exception {
+        // Given
+        when(messageProducer.sendOrderAsync(any(Order.class), anyString()))
+                .thenReturn(new CompletableFuture<>());
+
+        // When & Then
+        mockMvc.perform(post("/api/messages/orders/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createValidOrder("ASYNC-001"))))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data").isNotEmpty());
+
+        verify(messageProducer).sendOrderAsync(argThat(order -> order.getOrderId().equals("ASYNC-001")), anyString());
+    }
+
+    @Test
+    @DisplayName("Should return 503 when async send is rejected")
+    void shouldReturn503WhenAsyncSendIsRejected() throws Exception {
+        // Given
+        when(messageProducer.sendOrderAsync(any(Order.class), anyString()))
+                .thenThrow(new MessageSendFailureException("orders.queue", new IllegalStateException("Too many in-flight sends")));
+
+        // When & Then
+        mockMvc.perform(post("/api/messages/orders/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createValidOrder("ASYNC-002"))))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @DisplayName("Should answer a non-blocking order once the broker accepts it")
+    void shouldAnswerNonBlockingOrderOnceBrokerAcceptsIt() throws Exception {
+        // Given
+        CompletableFuture<String> acknowledged = new CompletableFuture<>();
+        when(messageProducer.trySendOrderAsync(any(Order.class), anyString())).thenReturn(acknowledged);
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/messages/orders/nonblocking")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createValidOrder("NB-001"))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        acknowledged.complete("TRACK-1");
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value("Order queued successfully: NB-001"));
+    }
+
+    @Test
+    @DisplayName("Should refuse a non-blocking order with 503 when too many sends are in flight")
+    void shouldRefuseNonBlockingOrderWith503WhenTooManySendsAreInFlight() throws Exception {
+        // Given
+        when(messageProducer.trySendOrderAsync(any(Order.class), anyString()))
+                .thenThrow(new MessageSendFailureException("orders.queue", new IllegalStateException("Too many in-flight sends")));
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/messages/orders/nonblocking")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createValidOrder("NB-002"))))
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error.destination").value("Queue Busy"));
+    }
+
+    @Test
+    @DisplayName("Should queue every order of a valid batch in one send")
+    void shouldQueueEveryOrderOfValidBatchInOneSend() throws Exception {
+        // Given
+        Order order1 = createValidOrder("BATCH-001");
+        Order order2 = createValidOrder("BATCH-002");
+
+        // When & Then
+        mockMvc.perform(post("/api/messages/orders/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(order1, order2))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.received").value(2))
+                .andExpect(jsonPath("$.data.queued").value(2))
+                .andExpect(jsonPath("$.data.rejected").value(0))
+                .andExpect(jsonPath("$.data.results[0].orderId").value("BATCH-001"))
+                .andExpect(jsonPath("$.data.results[1].status").value("QUEUED"));
+
+        verify(messageProducer, times(1)).sendOrders(argThat(orders -> orders.size() == 2));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid orders and publish only the valid ones")
+    void shouldRejectInvalidOrdersAndPublishOnlyValidOnes() throws Exception {
+        // Given
+        Order valid = createValidOrder("BATCH-001");
+        Order invalid = createValidOrder("BATCH-002");
+        invalid.setQuantity(0);
+
+        // When & Then
+        mockMvc.perform(post("/api/messages/orders/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(valid, invalid))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.queued").value(1))
+                .andExpect(jsonPath("$.data.rejected").value(1))
+                .andExpect(jsonPath("$.data.results[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.data.results[1].message").value("quantity: Quantity must be at least 1; "));
+
+        verify(messageProducer).sendOrders(argThat(orders ->
+                orders.size() == 1 && orders.get(0).getOrderId().equals("BATCH-001")));
+    }
+
+    @Test
+    @DisplayName("Should not publish when every order is invalid")
+    void shouldNotPublishWhenEveryOrderIsInvalid() throws Exception {
+        // Given
+        Order invalid = createValidOrder("");
+
+        // When & Then
+        mockMvc.perform(post("/api/messages/orders/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(invalid))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.queued").value(0))
+                .andExpect(jsonPath("$.data.rejected").value(1));
+
+        verify(messageProducer, never()).sendOrders(anyList());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an empty batch")
+    void shouldReturn400ForEmptyBatch() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/messages/orders/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+
+        verify(messageProducer, never()).sendOrders(anyList());
+    }
+
+    @Test
+    @DisplayName("Should answer 503 with Retry-After when the batch commit fails")
+    void shouldAnswer503WithRetryAfterWhenBatchCommitFails() throws Exception {
+        // Given
+        doThrow(new MessageSendFailureException("orders.queue", new RuntimeException("broker down")))
+                .when(messageProducer).sendOrders(anyList());
+
+        // When & Then
+        mockMvc.perform(post("/api/messages/orders/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(createValidOrder("BATCH-001")))))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error.destination").value("Queue Error"));
+    }
+
+    @Test
+    @DisplayName("Should reject null entries of a batch and publish the others")
+    void shouldRejectNullEntriesOfBatchAndPublishOthers() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/messages/orders/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[null, " + objectMapper.writeValueAsString(createValidOrder("BATCH-001")) + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.queued").value(1))
+                .andExpect(jsonPath("$.data.rejected").value(1))
+                .andExpect(jsonPath("$.data.results[0].status").value("REJECTED"))
+                .andExpect(jsonPath("$.data.results[0].message").value("Order must not be null"));
+
+        verify(messageProducer).sendOrders(argThat(orders -> orders.size() == 1));
+    }
+
+    @Test
+    @DisplayName("Should return 429 with Retry-After when the customer exceeds its rate")
+    void shouldReturn429WithRetryAfterWhenCustomerExceedsItsRate() throws Exception {
+        // Given
+        doThrow(new RateLimitExceededException("Test Customer", "standard", Duration.ofMillis(1500)))
+                .when(rateLimiter).acquire("Test Customer");
+
+        // When & Then
+        mockMvc.perform(post("/api/messages/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createValidOrder("RATE-001"))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.destination").value("Rate Limit Exceeded"));
+
+        verify(messageProducer, never()).sendOrder(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("Should reject only the batch orders over the customer's rate")
+    void shouldRejectOnlyBatchOrdersOverCustomersRate() throws Exception {
+        // Given
+        Order allowed = createValidOrder("BATCH-001");
+        Order throttled = createValidOrder("BATCH-002");
+        throttled.setCustomerName("Noisy Customer");
+        doThrow(new RateLimitExceededException("Noisy Customer", "standard", Duration.ofSeconds(1)))
+                .when(rateLimiter).acquire("Noisy Customer");
+
+        // When & Then
+        mockMvc.perform(post("/api/messages/orders/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(allowed, throttled))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.queued").value(1))
+                .andExpect(jsonPath("$.data.rejected").value(1))
+                .andExpect(jsonPath("$.data.results[1].status").value("REJECTED"));
+
+        verify(messageProducer).sendOrders(argThat(orders ->
+                orders.size() == 1 && orders.get(0).getOrderId().equals("BATCH-001")));
+    }
+
+    @Test
+    @DisplayName("Should stream one result per uploaded line followed by the summary")
+    void shouldStreamOneResultPerUploadedLineFollowedBySummary() throws Exception {
+        // Given
+        when(uploadService.upload(any(), eq(OrderUploadService.Format.CSV), any())).thenAnswer(invocation -> {
+            Consumer<UploadLineResult> results = invocation.getArgument(2);
+            results.accept(new UploadLineResult(3, null, OrderResult.Status.REJECTED, "Unreadable order"));
+            results.accept(new UploadLineResult(2, "CSV-001", OrderResult.Status.QUEUED, null));
+            return new UploadSummary(3, 1, 1, null);
+        });
+
+        // When
+        String body = mockMvc.perform(post("/api/messages/orders/upload")
+                .contentType(OrderUploadService.CSV_MEDIA_TYPE)
+                .content("orderId,customerName,product,quantity,price\nCSV-001,Jane,Widget,1,9.99\nbroken\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("REJECTED", objectMapper.readTree(lines[0]).get("status").asText());
+        assertEquals("CSV-001", objectMapper.readTree(lines[1]).get("orderId").asText());
+        JsonNode summary = objectMapper.readTree(lines[2]);
+        assertEquals(1, summary.get("queued").asInt());
+        assertEquals(1, summary.get("rejected").asInt());
+    }
+
+    private Order createValidOrder(String orderId) {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setCustomerName("Test Customer");
+        order.setProduct("Test Product");
+        order.setQuantity(2);
+        order.setPrice(99.99);
+        return order;
+    }
+}
@@ -1,8 +1,12 @@
 package com.platform.ops.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.ops.admission.CustomerRateLimiter;
 import com.platform.ops.model.Order;
+import com.platform.ops.model.OrderStatus;
+import com.platform.ops.model.OrderStatusEntry;
 import com.platform.ops.service.OrderService;
+import com.platform.ops.service.OrderStatusService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,8 +15,15 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -26,6 +37,12 @@ class OrderControllerTest {
     @MockBean
     private OrderService orderService;
 
+    @MockBean
+    private OrderStatusService orderStatusService;
+
+    @MockBean
+    private CustomerRateLimiter rateLimiter;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -137,6 +154,61 @@ class OrderControllerTest {
         verify(orderService).sendOrder(any(Order.class));
     }
 
+    @Test
+    @DisplayName("Should return the status of a known order")
+    void shouldReturnStatusOfKnownOrder() throws Exception {
+        // Given
+        when(orderStatusService.find("TEST-001")).thenReturn(Optional.of(
+                new OrderStatusEntry("TEST-001", OrderStatus.RETRIED, 2, Instant.now())));
+
+        // When & Then
+        mockMvc.perform(get("/api/orders/TEST-001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderId").value("TEST-001"))
+                .andExpect(jsonPath("$.status").value("RETRIED"))
+                .andExpect(jsonPath("$.deliveryCount").value(2));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown order")
+    void shouldReturn404ForUnknownOrder() throws Exception {
+        // Given
+        when(orderStatusService.find("UNKNOWN")).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/orders/UNKNOWN"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.destination").value("Order Not Found"));
+    }
+
+    @Test
+    @DisplayName("Should return known statuses for a multi-id lookup")
+    void shouldReturnKnownStatusesForMultiIdLookup() throws Exception {
+        // Given
+        when(orderStatusService.findAll(List.of("ORD-1", "ORD-2"))).thenReturn(List.of(
+                new OrderStatusEntry("ORD-2", OrderStatus.CONSUMED, 1, Instant.now())));
+
+        // When & Then
+        mockMvc.perform(get("/api/orders").param("ids", "ORD-1,ORD-2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].orderId").value("ORD-2"))
+                .andExpect(jsonPath("$[0].status").value("CONSUMED"));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when too many ids are requested")
+    void shouldReturn400WhenTooManyIdsAreRequested() throws Exception {
+        // Given
+        String ids = String.join(",", Collections.nCopies(OrderController.MAX_LOOKUP_IDS + 1, "ORD"));
+
+        // When & Then
+        mockMvc.perform(get("/api/orders").param("ids", ids))
+                .andExpect(status().isBadRequest());
+
+        verify(orderStatusService, never()).findAll(anyList());
+    }
+
     private Order createValidOrder() {
         Order order = new Order();
         order.setOrderId("TEST-001");
@@ -0,0 +1,83 @@
+package com.platform.ops.controller;
+
+import com.platform.ops.model.OrderTotals;
+import com.platform.ops.model.WindowStats;
+import com.platform.ops.service.OrderStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(StatsController.class)
+@DisplayName("Stats Controller Tests")
+class StatsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private OrderStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        when(statsService.getWindows()).thenReturn(List.of(Duration.ofMinutes(1), Duration.ofMinutes(5)));
+        when(statsService.getDefaultTop()).thenReturn(20);
+    }
+
+    @Test
+    @DisplayName("Should return the requested window with the requested number of keys")
+    void shouldReturnRequestedWindowWithRequestedNumberOfKeys() throws Exception {
+        // Given
+        OrderTotals widgets = new OrderTotals(3, 7, new BigDecimal("69.93"));
+        when(statsService.snapshot(Duration.ofMinutes(5), 1)).thenReturn(List.of(new WindowStats(
+                Duration.ofMinutes(5), WindowStats.Type.SLIDING, Instant.parse("2026-10-18T08:00:00Z"),
+                Instant.parse("2026-10-18T08:05:00Z"), widgets, Map.of("Widget", widgets), Map.of("Jane", widgets))));
+
+        // When & Then
+        mockMvc.perform(get("/api/stats").param("window", "5m").param("top", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("SLIDING"))
+                .andExpect(jsonPath("$[0].total.orders").value(3))
+                .andExpect(jsonPath("$[0].products.Widget.revenue").value(69.93))
+                .andExpect(jsonPath("$[0].customers.Jane.units").value(7));
+    }
+
+    @Test
+    @DisplayName("Should return every window with the default number of keys")
+    void shouldReturnEveryWindowWithDefaultNumberOfKeys() throws Exception {
+        // Given
+        when(statsService.snapshot(null, 20)).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/api/stats"))
+                .andExpect(status().isOk());
+        verify(statsService).snapshot(null, 20);
+    }
+
+    @Test
+    @DisplayName("Should answer 400 for a window that is not configured")
+    void shouldAnswer400ForWindowThatIsNotConfigured() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/stats").param("window", "2m"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.destination").value("Unknown Window"));
+        mockMvc.perform(get("/api/stats").param("window", "soon"))
+                .andExpect(status().isBadRequest());
+        verify(statsService, never()).snapshot(eq(Duration.ofMinutes(2)), anyInt());
+    }
+}
@@ -0,0 +1,69 @@
+package com.platform.ops.importer;
+
+import com.platform.ops.OrderProcessingSystemApplication;
+import com.platform.ops.jms.MessageConsumer;
+import com.platform.ops.jms.MessageProducer;
+import com.platform.ops.model.Order;
+import com.platform.ops.repository.OrderRepository;
+import com.platform.ops.service.OrderWriteBehindService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = OrderProcessingSystemApplication.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles(OrderImportRunner.PROFILE)
+@DisplayName("Order Import Profile Tests")
+class OrderImportProfileTest {
+
+    @TempDir
+    static Path directory;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private OrderImportRunner runner;
+
+    @Autowired
+    private JmsTemplate jmsTemplate;
+
+    @DynamicPropertySource
+    static void importProperties(DynamicPropertyRegistry registry) throws IOException {
+        Path archive = Files.writeString(directory.resolve("orders.ndjson"),
+                "{\"orderId\":\"IMP-1\",\"customerName\":\"Jane\",\"product\":\"Widget\",\"quantity\":1,\"price\":9.99}\n");
+        registry.add("ops.import.file", archive::toString);
+        registry.add("spring.activemq.broker-url", () -> "vm://import-profile-test?broker.persistent=false");
+        // Nothing listens on this port: the import must not need the database
+        registry.add("spring.datasource.url", () -> "jdbc:postgresql://localhost:1/orders");
+    }
+
+    @Test
+    @DisplayName("Should import without a datasource, persistence or order listeners")
+    void shouldImportWithoutDatasourcePersistenceOrListeners() {
+        // Then - the context started and the import ran on startup
+        assertTrue(context.getBeansOfType(DataSource.class).isEmpty());
+        assertTrue(context.getBeansOfType(OrderRepository.class).isEmpty());
+        assertTrue(context.getBeansOfType(OrderWriteBehindService.class).isEmpty());
+        assertTrue(context.getBeansOfType(MessageConsumer.class).isEmpty());
+        assertEquals(0, runner.getExitCode());
+
+        jmsTemplate.setReceiveTimeout(5000);
+        Object published = jmsTemplate.receiveAndConvert(MessageProducer.ORDERS_QUEUE);
+        assertInstanceOf(Order.class, published);
+        assertEquals("IMP-1", ((Order) published).getOrderId());
+    }
+}
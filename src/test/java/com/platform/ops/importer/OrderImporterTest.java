@@ -0,0 +1,168 @@
+package com.platform.ops.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.ops.config.ImportProperties;
+import com.platform.ops.exception.MessageSendFailureException;
+import com.platform.ops.jms.MessageProducer;
+import com.platform.ops.model.Order;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Order Importer Tests")
+class OrderImporterTest {
+
+    @Mock
+    private MessageProducer messageProducer;
+
+    @TempDir
+    private Path directory;
+
+    private ImportProperties properties;
+    private OrderImporter importer;
+    private final List<String> published = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        properties = new ImportProperties();
+        properties.setChunkSize(DataSize.ofBytes(400));
+        properties.setParallelism(2);
+        properties.setBatchSize(2);
+        importer = new OrderImporter(messageProducer, Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper(), properties);
+    }
+
+    @Test
+    @DisplayName("Should publish every valid order of every chunk once and skip invalid lines")
+    void shouldPublishEveryValidOrderOnceAndSkipInvalidLines() throws Exception {
+        // Given - an archive spanning several chunks, with malformed and invalid lines
+        recordPublishedOrders();
+        StringBuilder archive = new StringBuilder();
+        for (int i = 1; i <= 20; i++) {
+            archive.append(json("ORD-" + i)).append(i % 2 == 0 ? "\r\n" : "\n");
+            if (i == 5) {
+                archive.append("{\"orderId\":\"ORD-BROKEN\",\n\n");
+            }
+            if (i == 12) {
+                archive.append("{\"orderId\":\"ORD-ZERO\",\"customerName\":\"Jane\",\"product\":\"Widget\",\"quantity\":0,\"price\":9.99}\n");
+            }
+        }
+        Path file = write("orders.ndjson", archive.toString());
+
+        // When
+        OrderImporter.Result result = importer.importFile(file);
+
+        // Then
+        assertTrue(result.complete());
+        assertEquals(20, result.imported());
+        assertEquals(2, result.invalid());
+        assertEquals(20, published.size());
+        for (int i = 1; i <= 20; i++) {
+            assertTrue(published.contains("ORD-" + i), "ORD-" + i + " should be published");
+        }
+        assertTrue(Files.exists(directory.resolve("orders.ndjson.checkpoint")));
+    }
+
+    @Test
+    @DisplayName("Should read CSV archives by their header")
+    void shouldReadCsvArchivesByHeader() throws Exception {
+        // Given
+        recordPublishedOrders();
+        Path file = write("orders.csv", "\uFEFFprice,quantity,product,customerName,orderId\r\n"
+                + "19.5,3,\"Widget, large\",Jane,CSV-1\r\n"
+                + "abc,1,Widget,Jane,CSV-2\r\n"
+                + "1.5,1,Widget,Jane,CSV-3");
+
+        // When
+        OrderImporter.Result result = importer.importFile(file);
+
+        // Then
+        assertTrue(result.complete());
+        assertEquals(1, result.invalid());
+        assertEquals(List.of("CSV-1", "CSV-3"), published);
+    }
+
+    @Test
+    @DisplayName("Should resume from the checkpoint after a failed batch without republishing committed ones")
+    void shouldResumeFromCheckpointWithoutRepublishingCommittedBatches() throws Exception {
+        // Given - the broker fails on the third batch of a single-worker import
+        properties.setParallelism(1);
+        AtomicInteger sends = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (sends.incrementAndGet() == 3) {
+                throw new MessageSendFailureException("orders.queue", new IllegalStateException("broker down"));
+            }
+            List<Order> batch = invocation.getArgument(0);
+            batch.forEach(order -> published.add(order.getOrderId()));
+            return null;
+        }).when(messageProducer).sendOrders(anyList());
+        StringBuilder archive = new StringBuilder();
+        for (int i = 1; i <= 10; i++) {
+            archive.append(json("ORD-" + i)).append('\n');
+        }
+        Path file = write("orders.ndjson", archive.toString());
+
+        // When
+        OrderImporter.Result failed = importer.importFile(file);
+        OrderImporter.Result resumed = importer.importFile(file);
+        OrderImporter.Result rerun = importer.importFile(file);
+
+        // Then
+        assertFalse(failed.complete());
+        assertEquals(4, failed.imported());
+        assertTrue(resumed.complete());
+        assertEquals(6, resumed.imported());
+        assertEquals(0, rerun.imported());
+        assertEquals(10, published.size());
+        assertEquals(10, published.stream().distinct().count());
+    }
+
+    @Test
+    @DisplayName("Should refuse a checkpoint written for another archive")
+    void shouldRefuseCheckpointWrittenForAnotherArchive() throws Exception {
+        // Given
+        Path file = write("orders.ndjson", json("ORD-1") + "\n");
+        importer.importFile(file);
+        Files.writeString(file, json("ORD-1") + "\n" + json("ORD-2") + "\n");
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> importer.importFile(file));
+        verify(messageProducer, times(1)).sendOrders(anyList());
+    }
+
+    private void recordPublishedOrders() {
+        doAnswer(invocation -> {
+            List<Order> batch = invocation.getArgument(0);
+            assertTrue(batch.size() <= properties.getBatchSize());
+            batch.forEach(order -> published.add(order.getOrderId()));
+            return null;
+        }).when(messageProducer).sendOrders(anyList());
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(directory.resolve(name), content);
+    }
+
+    private static String json(String orderId) {
+        return "{\"orderId\":\"" + orderId + "\",\"customerName\":\"Jane\",\"product\":\"Widget\",\"quantity\":1,\"price\":9.99}";
+    }
+}
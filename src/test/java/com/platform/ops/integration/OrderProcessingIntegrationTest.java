@@ -22,6 +22,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest
 @AutoConfigureWebMvc
 @AutoConfigureMockMvc
+@AutoConfigureTestDatabase
 @TestPropertySource(properties = {
     "spring.activemq.broker-url=vm://embedded-broker?broker.persistent=false",
     "spring.activemq.in-memory=true",
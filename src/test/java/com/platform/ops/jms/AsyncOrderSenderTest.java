@@ -0,0 +1,110 @@
+package com.platform.ops.jms;
+
+import com.platform.ops.config.AsyncSendProperties;
+import com.platform.ops.config.MessagingConfig;
+import com.platform.ops.exception.MessageSendFailureException;
+import com.platform.ops.model.Order;
+import jakarta.jms.Message;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.core.JmsTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Async Order Sender Tests")
+class AsyncOrderSenderTest {
+
+    private static final String BROKER_URL = "vm://async-sender-test?broker.persistent=false&broker.useJmx=false";
+
+    private ActiveMQConnectionFactory connectionFactory;
+    private JmsTemplate jmsTemplate;
+    private AsyncOrderSender sender;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new ActiveMQConnectionFactory(BROKER_URL);
+        jmsTemplate = new JmsTemplate(connectionFactory);
+        jmsTemplate.setMessageConverter(new MessagingConfig().jacksonJmsMessageConverter());
+        jmsTemplate.setReceiveTimeout(5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (sender != null) {
+            sender.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should complete future with tracking id once the broker accepts the order")
+    void shouldCompleteFutureWithTrackingIdOnceBrokerAcceptsOrder() throws Exception {
+        // Given
+        sender = new AsyncOrderSender(connectionFactory, jmsTemplate, properties(10));
+
+        // When
+        String trackingId = sender.send("async.test.queue", createTestOrder(), "TRACK-001", "Test Customer")
+                .get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals("TRACK-001", trackingId);
+        assertEquals(0, sender.getInFlight());
+        Message received = jmsTemplate.receive("async.test.queue");
+        assertNotNull(received);
+        assertEquals("TRACK-001", received.getStringProperty(AsyncOrderSender.TRACKING_ID_PROPERTY));
+        assertEquals("Test Customer", received.getStringProperty(OrderGrouping.GROUP_ID_PROPERTY));
+        Order order = (Order) jmsTemplate.getMessageConverter().fromMessage(received);
+        assertEquals("TEST-001", order.getOrderId());
+    }
+
+    @Test
+    @DisplayName("Should reject send when no in-flight slot is available")
+    void shouldRejectSendWhenNoInFlightSlotIsAvailable() {
+        // Given
+        sender = new AsyncOrderSender(connectionFactory, jmsTemplate, properties(0));
+
+        // When & Then
+        assertThrows(MessageSendFailureException.class,
+                () -> sender.send("async.test.queue", createTestOrder(), "TRACK-002"));
+        assertEquals(0, sender.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should fail trySend at once instead of waiting for a slot")
+    void shouldFailTrySendAtOnceInsteadOfWaitingForSlot() {
+        // Given
+        AsyncSendProperties properties = properties(0);
+        properties.setAcquireTimeout(Duration.ofSeconds(5));
+        sender = new AsyncOrderSender(connectionFactory, jmsTemplate, properties);
+
+        // When
+        long start = System.nanoTime();
+        assertThrows(MessageSendFailureException.class,
+                () -> sender.trySend("async.test.queue", createTestOrder(), "TRACK-003", "Test Customer"));
+
+        // Then
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private AsyncSendProperties properties(int maxInFlight) {
+        AsyncSendProperties properties = new AsyncSendProperties();
+        properties.setMaxInFlight(maxInFlight);
+        properties.setAcquireTimeout(Duration.ofMillis(10));
+        return properties;
+    }
+
+    private Order createTestOrder() {
+        Order order = new Order();
+        order.setOrderId("TEST-001");
+        order.setCustomerName("Test Customer");
+        order.setProduct("Test Product");
+        order.setQuantity(2);
+        order.setPrice(99.99);
+        return order;
+    }
+}
@@ -0,0 +1,245 @@
+package com.platform.ops.jms;
+
+import com.platform.ops.config.BatchConsumerProperties;
+import com.platform.ops.config.MessagingConfig;
+import com.platform.ops.config.RetryProperties;
+import com.platform.ops.model.Order;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.jms.Connection;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import jakarta.validation.ConstraintViolationException;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.RedeliveryPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.core.JmsTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Batch Order Listener Tests")
+class BatchOrderListenerTest {
+
+    private ActiveMQConnectionFactory connectionFactory;
+    private Connection brokerKeepAlive;
+    private JmsTemplate jmsTemplate;
+    private BatchConsumerProperties properties;
+    private RetryScheduler retryScheduler;
+    private BatchOrderListener listener;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // A fresh non-persistent broker per test so no messages leak between tests
+        connectionFactory = new ActiveMQConnectionFactory(
+                "vm://batch-listener-test-" + System.nanoTime() + "?broker.persistent=false&broker.useJmx=false");
+        RedeliveryPolicy redeliveryPolicy = new RedeliveryPolicy();
+        redeliveryPolicy.setMaximumRedeliveries(2);
+        redeliveryPolicy.setInitialRedeliveryDelay(0);
+        redeliveryPolicy.setRedeliveryDelay(0);
+        connectionFactory.setRedeliveryPolicy(redeliveryPolicy);
+        // The embedded vm:// broker stops once its last connection closes
+        brokerKeepAlive = connectionFactory.createConnection();
+
+        jmsTemplate = new JmsTemplate(connectionFactory);
+        jmsTemplate.setMessageConverter(new MessagingConfig().jacksonJmsMessageConverter());
+        jmsTemplate.setReceiveTimeout(5000);
+
+        properties = new BatchConsumerProperties();
+        properties.setBatchSize(5);
+        properties.setMaxWait(Duration.ofMillis(500));
+        properties.setPollTimeout(Duration.ofMillis(100));
+
+        RetryProperties retryProperties = new RetryProperties();
+        retryScheduler = new RetryScheduler(retryProperties, new DefaultFailureClassifier(retryProperties),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (listener != null) {
+            listener.stop();
+        }
+        brokerKeepAlive.close();
+    }
+
+    @Test
+    @DisplayName("Should deliver a full batch once batch size is reached")
+    void shouldDeliverFullBatchOnceBatchSizeIsReached() throws Exception {
+        // Given
+        List<List<Order>> batches = new CopyOnWriteArrayList<>();
+        sendOrders(5);
+
+        // When
+        listener = new BatchOrderListener(connectionFactory, jmsTemplate, recordingInto(batches), retryScheduler, properties);
+        listener.start();
+
+        // Then
+        awaitCondition(() -> !batches.isEmpty());
+        assertEquals(5, batches.get(0).size());
+        assertEquals("BATCH-0", batches.get(0).get(0).getOrderId());
+    }
+
+    @Test
+    @DisplayName("Should deliver a partial batch once max wait has passed")
+    void shouldDeliverPartialBatchOnceMaxWaitHasPassed() throws Exception {
+        // Given
+        List<List<Order>> batches = new CopyOnWriteArrayList<>();
+        sendOrders(2);
+
+        // When
+        listener = new BatchOrderListener(connectionFactory, jmsTemplate, recordingInto(batches), retryScheduler, properties);
+        listener.start();
+
+        // Then
+        awaitCondition(() -> !batches.isEmpty());
+        assertEquals(2, batches.get(0).size());
+    }
+
+    @Test
+    @DisplayName("Should redeliver the whole batch after a failure")
+    void shouldRedeliverWholeBatchAfterFailure() throws Exception {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        List<List<Order>> delivered = new CopyOnWriteArrayList<>();
+        sendOrders(3);
+
+        // When
+        listener = new BatchOrderListener(connectionFactory, jmsTemplate, orders -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("downstream unavailable");
+            }
+            delivered.add(orders);
+            return List.of();
+        }, retryScheduler, properties);
+        listener.start();
+
+        // Then
+        awaitCondition(() -> !delivered.isEmpty());
+        assertEquals(3, delivered.get(0).size());
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Should dead-letter the batch once redeliveries are exhausted")
+    void shouldDeadLetterBatchOnceRedeliveriesAreExhausted() throws Exception {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        sendOrders(1);
+
+        // When
+        listener = new BatchOrderListener(connectionFactory, jmsTemplate, orders -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("always failing");
+        }, retryScheduler, properties);
+        listener.start();
+
+        // Then - 1 delivery + 2 redeliveries, then the broker moves it to its DLQ
+        Object deadLettered = jmsTemplate.receiveAndConvert("ActiveMQ.DLQ");
+        assertInstanceOf(Order.class, deadLettered);
+        assertEquals("BATCH-0", ((Order) deadLettered).getOrderId());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Should dead-letter poison messages and invalid orders alone and acknowledge the rest")
+    void shouldDeadLetterPoisonMessagesAndInvalidOrdersAlone() throws Exception {
+        // Given - a message that is not an order and an invalid order between valid ones
+        List<List<Order>> batches = new CopyOnWriteArrayList<>();
+        sendOrders(2);
+        jmsTemplate.convertAndSend("orders.queue", "not an order");
+        Order invalid = new Order();
+        invalid.setOrderId("BATCH-INVALID");
+        jmsTemplate.convertAndSend("orders.queue", invalid);
+
+        // When
+        listener = new BatchOrderListener(connectionFactory, jmsTemplate, orders -> {
+            batches.add(orders);
+            return orders.stream()
+                    .filter(order -> order.getCustomerName() == null)
+                    .map(order -> new OrderBatchHandler.Rejection(order,
+                            new ConstraintViolationException("Invalid order", Set.of())))
+                    .toList();
+        }, retryScheduler, properties);
+        listener.start();
+
+        // Then - only the two bad messages reach orders.DLQ, nothing is redelivered
+        assertEquals("not an order", jmsTemplate.receiveAndConvert("orders.DLQ"));
+        Object deadLettered = jmsTemplate.receiveAndConvert("orders.DLQ");
+        assertInstanceOf(Order.class, deadLettered);
+        assertEquals("BATCH-INVALID", ((Order) deadLettered).getOrderId());
+        listener.stop();
+        assertEquals(1, batches.size());
+        assertEquals(3, batches.get(0).size());
+        jmsTemplate.setReceiveTimeout(500);
+        assertNull(jmsTemplate.receive("orders.queue"));
+    }
+
+    @Test
+    @DisplayName("Should keep consuming after an unchecked exception on the dead-letter path")
+    void shouldKeepConsumingAfterUncheckedExceptionOnDeadLetterPath() throws Exception {
+        // Given - dead-lettering the poison message fails once
+        properties.setRecoveryInterval(Duration.ofMillis(100));
+        AtomicInteger deadLetterAttempts = new AtomicInteger();
+        RetryProperties retryProperties = new RetryProperties();
+        RetryScheduler failingOnce = new RetryScheduler(retryProperties, new DefaultFailureClassifier(retryProperties),
+                new SimpleMeterRegistry()) {
+            @Override
+            public boolean handleFailure(Session session, Message failed, Throwable cause) throws JMSException {
+                if (deadLetterAttempts.incrementAndGet() == 1) {
+                    throw new IllegalStateException("DLQ copy failed");
+                }
+                return super.handleFailure(session, failed, cause);
+            }
+        };
+        List<List<Order>> batches = new CopyOnWriteArrayList<>();
+        jmsTemplate.convertAndSend("orders.queue", "not an order");
+        sendOrders(1);
+
+        // When
+        listener = new BatchOrderListener(connectionFactory, jmsTemplate, recordingInto(batches), failingOnce, properties);
+        listener.start();
+
+        // Then - the worker reconnected and the redelivered batch went through
+        awaitCondition(() -> !batches.isEmpty());
+        assertEquals("BATCH-0", batches.get(0).get(0).getOrderId());
+        assertEquals("not an order", jmsTemplate.receiveAndConvert("orders.DLQ"));
+        assertEquals(2, deadLetterAttempts.get());
+        assertTrue(listener.isRunning());
+    }
+
+    private static OrderBatchHandler recordingInto(List<List<Order>> batches) {
+        return orders -> {
+            batches.add(orders);
+            return List.of();
+        };
+    }
+
+    private void sendOrders(int count) {
+        for (int i = 0; i < count; i++) {
+            Order order = new Order();
+            order.setOrderId("BATCH-" + i);
+            order.setCustomerName("Batch Customer");
+            order.setProduct("Batch Product");
+            order.setQuantity(1);
+            order.setPrice(10.0);
+            jmsTemplate.convertAndSend("orders.queue", order);
+        }
+    }
+
+    private static void awaitCondition(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met within 10s");
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.platform.ops.jms;
+
+import com.platform.ops.config.CompressionProperties;
+import com.platform.ops.config.MessagingConfig;
+import com.platform.ops.model.Order;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.jms.BytesMessage;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import org.apache.activemq.command.ActiveMQBytesMessage;
+import org.apache.activemq.command.ActiveMQTextMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.jms.support.converter.MessageConversionException;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.util.unit.DataSize;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Compressing Message Converter Tests")
+class CompressingMessageConverterTest {
+
+    private Session session;
+    private MessageConverter jackson;
+    private CompressionProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        session = mock(Session.class);
+        when(session.createBytesMessage()).thenAnswer(invocation -> new ActiveMQBytesMessage());
+        when(session.createTextMessage(anyString())).thenAnswer(invocation -> {
+            ActiveMQTextMessage message = new ActiveMQTextMessage();
+            message.setText(invocation.getArgument(0));
+            return message;
+        });
+        jackson = new MessagingConfig().jacksonJmsMessageConverter();
+        properties = new CompressionProperties();
+        properties.setEnabled(true);
+        properties.setThreshold(DataSize.ofBytes(256));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @ParameterizedTest
+    @EnumSource(CompressionCodec.class)
+    @DisplayName("Should compress large JSON orders and restore them on receipt")
+    void shouldCompressLargeJsonOrdersAndRestoreThemOnReceipt(CompressionCodec codec) throws Exception {
+        // Given
+        properties.setCodec(codec);
+        CompressingMessageConverter converter = new CompressingMessageConverter(jackson, properties, meterRegistry);
+
+        // When
+        Message message = converter.toMessage(createOrder(2000), session);
+        ((BytesMessage) message).reset();
+        Order decoded = (Order) converter.fromMessage(message);
+
+        // Then
+        assertEquals(codec.name(), message.getStringProperty(CompressingMessageConverter.COMPRESSION_PROPERTY));
+        assertEquals(Order.class.getName(), message.getStringProperty("_type"));
+        assertTrue(((BytesMessage) message).getBodyLength() < message.getIntProperty(CompressingMessageConverter.ORIGINAL_LENGTH_PROPERTY));
+        assertEquals("ORD-001", decoded.getOrderId());
+        assertEquals(2000, decoded.getProduct().length());
+        assertTrue(meterRegistry.get("ops.jms.compression.ratio").summary().mean() > 1.0);
+        assertEquals(1, meterRegistry.get("ops.jms.compression.time").tag("operation", "decompress")
+                .tag("codec", codec.name().toLowerCase()).timer().count());
+    }
+
+    @Test
+    @DisplayName("Should compress binary orders and restore them on receipt")
+    void shouldCompressBinaryOrdersAndRestoreThemOnReceipt() throws Exception {
+        // Given
+        CompressingMessageConverter converter = new CompressingMessageConverter(
+                new OrderMessageConverter(jackson, OrderMessageConverter.Format.BINARY), properties, meterRegistry);
+
+        // When
+        Message message = converter.toMessage(createOrder(2000), session);
+        ((BytesMessage) message).reset();
+        Order decoded = (Order) converter.fromMessage(message);
+
+        // Then
+        assertTrue(message.propertyExists(CompressingMessageConverter.COMPRESSION_PROPERTY));
+        assertEquals(OrderBinaryCodec.SCHEMA_ID, message.getIntProperty(OrderMessageConverter.SCHEMA_ID_PROPERTY));
+        assertEquals(2000, decoded.getProduct().length());
+    }
+
+    @Test
+    @DisplayName("Should leave bodies below the threshold uncompressed")
+    void shouldLeaveBodiesBelowThresholdUncompressed() throws Exception {
+        // Given
+        CompressingMessageConverter converter = new CompressingMessageConverter(jackson, properties, meterRegistry);
+
+        // When
+        Message message = converter.toMessage(createOrder(10), session);
+
+        // Then
+        assertInstanceOf(TextMessage.class, message);
+        assertFalse(message.propertyExists(CompressingMessageConverter.COMPRESSION_PROPERTY));
+    }
+
+    @Test
+    @DisplayName("Should decompress incoming messages even when compression is disabled")
+    void shouldDecompressIncomingMessagesEvenWhenCompressionIsDisabled() throws Exception {
+        // Given
+        Message compressed = new CompressingMessageConverter(jackson, properties, meterRegistry)
+                .toMessage(createOrder(2000), session);
+        ((BytesMessage) compressed).reset();
+        properties.setEnabled(false);
+        CompressingMessageConverter converter = new CompressingMessageConverter(jackson, properties, new SimpleMeterRegistry());
+
+        // When
+        Order decoded = (Order) converter.fromMessage(compressed);
+
+        // Then
+        assertEquals("ORD-001", decoded.getOrderId());
+        assertInstanceOf(TextMessage.class, converter.toMessage(createOrder(2000), session));
+    }
+
+    @Test
+    @DisplayName("Should reject a corrupt compressed body")
+    void shouldRejectCorruptCompressedBody() throws Exception {
+        // Given
+        CompressingMessageConverter converter = new CompressingMessageConverter(jackson, properties, meterRegistry);
+        BytesMessage message = new ActiveMQBytesMessage();
+        message.writeBytes(new byte[]{1, 2, 3, 4});
+        message.setStringProperty(CompressingMessageConverter.COMPRESSION_PROPERTY, "LZ4");
+        message.setIntProperty(CompressingMessageConverter.ORIGINAL_LENGTH_PROPERTY, 100);
+        message.setStringProperty(CompressingMessageConverter.ORIGINAL_TYPE_PROPERTY, "TEXT");
+        message.reset();
+
+        // When & Then
+        assertThrows(MessageConversionException.class, () -> converter.fromMessage(message));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 4097, Integer.MAX_VALUE})
+    @DisplayName("Should reject an original length outside the configured body size before decompressing")
+    void shouldRejectOriginalLengthOutsideMaxBodySize(int originalLength) throws Exception {
+        // Given - a valid compressed order that claims another original length
+        properties.setMaxBodySize(DataSize.ofKilobytes(4));
+        CompressingMessageConverter converter = new CompressingMessageConverter(jackson, properties, meterRegistry);
+        BytesMessage message = (BytesMessage) converter.toMessage(createOrder(2000), session);
+        message.setIntProperty(CompressingMessageConverter.ORIGINAL_LENGTH_PROPERTY, originalLength);
+        message.reset();
+
+        // When & Then
+        MessageConversionException exception = assertThrows(MessageConversionException.class,
+                () -> converter.fromMessage(message));
+        assertTrue(exception.getMessage().contains(String.valueOf(originalLength)));
+    }
+
+    private Order createOrder(int productLength) {
+        Order order = new Order();
+        order.setOrderId("ORD-001");
+        order.setCustomerName("Jane Customer");
+        order.setProduct("Keyboard ".repeat(productLength / 9 + 1).substring(0, productLength));
+        order.setQuantity(1);
+        order.setPrice(10.0);
+        return order;
+    }
+}
@@ -0,0 +1,297 @@
+package com.platform.ops.jms;
+
+import com.platform.ops.config.ReplayProperties;
+import com.platform.ops.model.ReplayRequest;
+import com.platform.ops.service.OrderStatusService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.jms.Connection;
+import jakarta.jms.Message;
+import jakarta.jms.QueueBrowser;
+import jakarta.jms.Session;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.command.ActiveMQQueue;
+import org.apache.activemq.command.ActiveMQTextMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.core.JmsTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("Dead Letter Replayer Tests")
+class DeadLetterReplayerTest {
+
+    private ActiveMQConnectionFactory connectionFactory;
+    private Connection brokerKeepAlive;
+    private JmsTemplate jmsTemplate;
+    private ReplayProperties properties;
+    private OrderStatusService orderStatusService;
+    private DeadLetterReplayer replayer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connectionFactory = new ActiveMQConnectionFactory("vm://dlq-replay-test-" + System.nanoTime()
+                + "?broker.persistent=false&broker.useJmx=false");
+        brokerKeepAlive = connectionFactory.createConnection();
+        brokerKeepAlive.start();
+
+        jmsTemplate = new JmsTemplate(connectionFactory);
+        jmsTemplate.setReceiveTimeout(5000);
+
+        properties = new ReplayProperties();
+        properties.setBatchSize(10);
+        properties.setMessagesPerSecond(10_000);
+        properties.setMaxMessagesPerSecond(10_000);
+        properties.setReceiveTimeout(Duration.ofMillis(300));
+        orderStatusService = mock(OrderStatusService.class);
+        replayer = new DeadLetterReplayer(connectionFactory, properties, orderStatusService, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        replayer.destroy();
+        brokerKeepAlive.close();
+    }
+
+    @Test
+    @DisplayName("Should replay only matching messages in batches with their failure properties removed")
+    void shouldReplayOnlyMatchingMessagesInBatchesWithFailurePropertiesRemoved() throws Exception {
+        // Given
+        for (int i = 0; i < 25; i++) {
+            park("ORD-" + i, "org.example.DownstreamUnavailableException");
+        }
+        park("POISON-1", "com.fasterxml.jackson.core.JsonParseException");
+        ReplayRequest request = new ReplayRequest();
+        request.setErrorClass("org.example.DownstreamUnavailableException");
+
+        // When
+        ReplayJob job = replayer.start(request);
+        awaitFinished(job);
+
+        // Then
+        assertEquals(ReplayJob.State.COMPLETED, job.getState());
+        assertEquals(25, job.getReplayed());
+        assertTrue(job.getBatches() >= 3);
+        assertEquals(1, countParked());
+
+        Message replayed = jmsTemplate.receive("orders.queue");
+        assertNotNull(replayed);
+        assertEquals("ORD-0", replayed.getStringProperty(DeadLetterReplayer.ORDER_ID_PROPERTY));
+        assertFalse(replayed.propertyExists(RetryScheduler.ATTEMPT_PROPERTY));
+        assertFalse(replayed.propertyExists(RetryScheduler.FAILURE_EXCEPTION_PROPERTY));
+        assertFalse(replayed.propertyExists(DeadLetterReplayer.DEAD_LETTERED_AT_PROPERTY));
+        verify(orderStatusService).recordReplayed("ORD-24");
+    }
+
+    @Test
+    @DisplayName("Should replay each message to the queue it was dead-lettered from")
+    void shouldReplayEachMessageToItsOriginalQueue() throws Exception {
+        // Given - a priority order dead-lettered by RetryScheduler and one without a recorded queue
+        park("ORD-STANDARD", "org.example.DownstreamUnavailableException");
+        jmsTemplate.send(DeadLetterReplayer.PARKING_QUEUE, session -> {
+            Message message = session.createTextMessage("{\"orderId\":\"ORD-PRIORITY\"}");
+            message.setStringProperty(RetryScheduler.ORIGINAL_DESTINATION_PROPERTY, "queue://" + MessageProducer.PRIORITY_QUEUE);
+            message.setStringProperty(DeadLetterReplayer.ORDER_ID_PROPERTY, "ORD-PRIORITY");
+            return message;
+        });
+
+        // When
+        ReplayJob job = replayer.start(new ReplayRequest());
+        awaitFinished(job);
+
+        // Then
+        assertEquals(2, job.getReplayed());
+        Message priority = jmsTemplate.receive(MessageProducer.PRIORITY_QUEUE);
+        assertNotNull(priority);
+        assertEquals("ORD-PRIORITY", priority.getStringProperty(DeadLetterReplayer.ORDER_ID_PROPERTY));
+        assertFalse(priority.propertyExists(RetryScheduler.ORIGINAL_DESTINATION_PROPERTY));
+        assertEquals("ORD-STANDARD", jmsTemplate.receive(properties.getTargetQueue())
+                .getStringProperty(DeadLetterReplayer.ORDER_ID_PROPERTY));
+    }
+
+    @Test
+    @DisplayName("Should record the broker's original destination when parking")
+    void shouldRecordBrokersOriginalDestinationWhenParking() throws Exception {
+        // Given - as the broker dead-letters a message after its redeliveries
+        ActiveMQTextMessage deadLettered = new ActiveMQTextMessage();
+        deadLettered.setOriginalDestination(new ActiveMQQueue(MessageProducer.PRIORITY_QUEUE));
+
+        // When
+        Message parked = DeadLetterReplayer.parkingCopy(deadLettered, "ORD-1");
+
+        // Then
+        assertEquals("queue://" + MessageProducer.PRIORITY_QUEUE,
+                parked.getStringProperty(RetryScheduler.ORIGINAL_DESTINATION_PROPERTY));
+        assertEquals(new ActiveMQQueue(MessageProducer.PRIORITY_QUEUE),
+                DeadLetterReplayer.targetOf(parked, new ActiveMQQueue("orders.queue")));
+    }
+
+    @Test
+    @DisplayName("Should stop at the requested limit")
+    void shouldStopAtRequestedLimit() throws Exception {
+        // Given
+        for (int i = 0; i < 15; i++) {
+            park("ORD-" + i, "java.lang.IllegalStateException");
+        }
+        ReplayRequest request = new ReplayRequest();
+        request.setLimit(12L);
+
+        // When
+        ReplayJob job = replayer.start(request);
+        awaitFinished(job);
+
+        // Then
+        assertEquals(ReplayJob.State.COMPLETED, job.getState());
+        assertEquals(12, job.getReplayed());
+        assertEquals(3, countParked());
+    }
+
+    @Test
+    @DisplayName("Should leave the remaining messages parked when cancelled")
+    void shouldLeaveRemainingMessagesParkedWhenCancelled() throws Exception {
+        // Given - 5 messages per second, one batch per second
+        for (int i = 0; i < 20; i++) {
+            park("ORD-" + i, "java.lang.IllegalStateException");
+        }
+        ReplayRequest request = new ReplayRequest();
+        request.setMessagesPerSecond(5.0);
+
+        // When
+        ReplayJob job = replayer.start(request);
+        awaitCondition(() -> job.getReplayed() > 0);
+        replayer.cancel(job.getId());
+        awaitFinished(job);
+
+        // Then
+        assertEquals(ReplayJob.State.CANCELLED, job.getState());
+        assertTrue(job.getReplayed() < 20);
+        assertEquals(20 - job.getReplayed(), countParked());
+    }
+
+    @Test
+    @DisplayName("Should refuse a second replay while one is running")
+    void shouldRefuseSecondReplayWhileOneIsRunning() throws Exception {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            park("ORD-" + i, "java.lang.IllegalStateException");
+        }
+        ReplayRequest slow = new ReplayRequest();
+        slow.setMessagesPerSecond(2.0);
+        ReplayJob job = replayer.start(slow);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> replayer.start(new ReplayRequest()));
+        replayer.cancel(job.getId());
+        awaitFinished(job);
+    }
+
+    @Test
+    @DisplayName("Should build a quoted selector from the request filters")
+    void shouldBuildQuotedSelectorFromRequestFilters() {
+        // Given
+        ReplayRequest request = new ReplayRequest();
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("region", "O'Hare");
+        request.setHeaders(headers);
+        request.setErrorClass("com.example.Some_Error");
+        request.setFrom(Instant.ofEpochMilli(1000));
+        request.setTo(Instant.ofEpochMilli(2000));
+
+        // When
+        String selector = DeadLetterReplayer.selectorFor(request);
+
+        // Then
+        assertEquals("(_failureReason IS NULL OR _failureReason <> 'permanent')"
+                + " AND region = 'O''Hare'"
+                + " AND (_failureException = 'com.example.Some_Error'"
+                + " OR dlqDeliveryFailureCause LIKE '%com.example.Some\\_Error%' ESCAPE '\\')"
+                + " AND _deadLetteredAt >= 1000 AND _deadLetteredAt < 2000", selector);
+        assertEquals("(_failureReason IS NULL OR _failureReason <> 'permanent')",
+                DeadLetterReplayer.selectorFor(new ReplayRequest()));
+    }
+
+    @Test
+    @DisplayName("Should keep permanent failures parked unless the request selects them")
+    void shouldKeepPermanentFailuresParkedUnlessSelected() throws Exception {
+        // Given
+        park("ORD-1", "org.example.DownstreamUnavailableException");
+        jmsTemplate.send(DeadLetterReplayer.PARKING_QUEUE, session -> {
+            Message message = session.createTextMessage("not an order");
+            message.setStringProperty(RetryScheduler.FAILURE_REASON_PROPERTY, RetryScheduler.PERMANENT_FAILURE);
+            message.setStringProperty(RetryScheduler.FAILURE_EXCEPTION_PROPERTY,
+                    "org.springframework.jms.support.converter.MessageConversionException");
+            return message;
+        });
+
+        // When
+        ReplayJob all = replayer.start(new ReplayRequest());
+        awaitFinished(all);
+
+        // Then
+        assertEquals(1, all.getReplayed());
+        assertEquals(1, countParked());
+
+        // When - the operator asks for the permanent failures
+        ReplayRequest permanent = new ReplayRequest();
+        permanent.setHeaders(Map.of(RetryScheduler.FAILURE_REASON_PROPERTY, RetryScheduler.PERMANENT_FAILURE));
+        ReplayJob selected = replayer.start(permanent);
+        awaitFinished(selected);
+
+        // Then
+        assertEquals(1, selected.getReplayed());
+        assertEquals(0, countParked());
+    }
+
+    @Test
+    @DisplayName("Should reject header names that are not identifiers")
+    void shouldRejectHeaderNamesThatAreNotIdentifiers() {
+        // Given
+        ReplayRequest request = new ReplayRequest();
+        request.setHeaders(Map.of("1=1 OR x", "y"));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> replayer.start(request));
+    }
+
+    private void park(String orderId, String errorClass) {
+        jmsTemplate.send(DeadLetterReplayer.PARKING_QUEUE, session -> {
+            Message message = session.createTextMessage("{\"orderId\":\"" + orderId + "\"}");
+            message.setIntProperty(RetryScheduler.ATTEMPT_PROPERTY, 5);
+            message.setStringProperty(RetryScheduler.FAILURE_EXCEPTION_PROPERTY, errorClass);
+            message.setStringProperty(DeadLetterReplayer.ORDER_ID_PROPERTY, orderId);
+            message.setLongProperty(DeadLetterReplayer.DEAD_LETTERED_AT_PROPERTY, System.currentTimeMillis());
+            return message;
+        });
+    }
+
+    private int countParked() throws Exception {
+        Session session = brokerKeepAlive.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        try {
+            QueueBrowser browser = session.createBrowser(session.createQueue(DeadLetterReplayer.PARKING_QUEUE));
+            return Collections.list(browser.getEnumeration()).size();
+        } finally {
+            session.close();
+        }
+    }
+
+    private static void awaitFinished(ReplayJob job) throws InterruptedException {
+        awaitCondition(job::isFinished);
+    }
+
+    private static void awaitCondition(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met within 10s");
+            Thread.sleep(20);
+        }
+    }
+}
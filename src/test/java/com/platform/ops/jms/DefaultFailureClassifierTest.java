@@ -0,0 +1,64 @@
+package com.platform.ops.jms;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.platform.ops.config.RetryProperties;
+import com.platform.ops.jms.FailureClassifier.FailureType;
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jms.listener.adapter.ListenerExecutionFailedException;
+import org.springframework.jms.support.converter.MessageConversionException;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Default Failure Classifier Tests")
+class DefaultFailureClassifierTest {
+
+    private final DefaultFailureClassifier classifier = new DefaultFailureClassifier(new RetryProperties());
+
+    @Test
+    @DisplayName("Should classify conversion and validation errors as permanent")
+    void shouldClassifyConversionAndValidationErrorsAsPermanent() {
+        // When & Then
+        assertEquals(FailureType.PERMANENT, classifier.classify(new MessageConversionException("unknown _type")));
+        assertEquals(FailureType.PERMANENT, classifier.classify(new JsonParseException(null, "unexpected end of input")));
+        assertEquals(FailureType.PERMANENT, classifier.classify(new ConstraintViolationException("invalid order", Set.of())));
+    }
+
+    @Test
+    @DisplayName("Should find a permanent cause anywhere in the chain")
+    void shouldFindPermanentCauseAnywhereInChain() {
+        // Given - how listener adapters wrap the converter failure
+        Throwable failure = new ListenerExecutionFailedException("Listener method could not be invoked",
+                new IllegalStateException(new MessageConversionException("Failed to resolve type id")));
+
+        // When & Then
+        assertEquals(FailureType.PERMANENT, classifier.classify(failure));
+    }
+
+    @Test
+    @DisplayName("Should classify other failures as transient")
+    void shouldClassifyOtherFailuresAsTransient() {
+        // When & Then
+        assertEquals(FailureType.TRANSIENT, classifier.classify(new IllegalStateException("downstream unavailable")));
+        assertEquals(FailureType.TRANSIENT, classifier.classify(new ListenerExecutionFailedException("failed",
+                new DataAccessResourceFailureException("connection refused"))));
+    }
+
+    @Test
+    @DisplayName("Should add configured exception types to the permanent ones")
+    void shouldAddConfiguredExceptionTypesToPermanentOnes() {
+        // Given
+        RetryProperties properties = new RetryProperties();
+        properties.setPermanentExceptions(List.of(IllegalArgumentException.class));
+        DefaultFailureClassifier configured = new DefaultFailureClassifier(properties);
+
+        // When & Then
+        assertEquals(FailureType.PERMANENT, configured.classify(new NumberFormatException("not a number")));
+        assertEquals(FailureType.TRANSIENT, classifier.classify(new NumberFormatException("not a number")));
+    }
+}
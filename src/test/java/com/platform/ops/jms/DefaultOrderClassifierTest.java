@@ -0,0 +1,63 @@
+package com.platform.ops.jms;
+
+import com.platform.ops.config.LaneProperties;
+import com.platform.ops.jms.OrderClassifier.Lane;
+import com.platform.ops.model.Order;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Default Order Classifier Tests")
+class DefaultOrderClassifierTest {
+
+    private final LaneProperties properties = new LaneProperties();
+    private final DefaultOrderClassifier classifier = new DefaultOrderClassifier(properties);
+
+    @Test
+    @DisplayName("Should route orders by value against the threshold")
+    void shouldRouteOrdersByValueAgainstThreshold() {
+        // Given
+        properties.setEnabled(true);
+
+        // When & Then - default threshold is 1000
+        assertEquals(Lane.STANDARD, classifier.classify(order(9, 100.0)));
+        assertEquals(Lane.PRIORITY, classifier.classify(order(10, 100.0)));
+        assertEquals(Lane.PRIORITY, classifier.classify(order(1, 2500.0)));
+    }
+
+    @Test
+    @DisplayName("Should keep every order in the standard lane when lanes are disabled, as by default")
+    void shouldKeepEveryOrderInStandardLaneWhenLanesAreDisabled() {
+        // When & Then
+        assertEquals(Lane.STANDARD, classifier.classify(order(10, 2500.0)));
+    }
+
+    @Test
+    @DisplayName("Should keep orders without quantity in the standard lane")
+    void shouldKeepOrdersWithoutQuantityInStandardLane() {
+        // Given
+        properties.setEnabled(true);
+
+        // When & Then
+        assertEquals(Lane.STANDARD, classifier.classify(order(null, 2500.0)));
+    }
+
+    @Test
+    @DisplayName("Should map each lane to its queue")
+    void shouldMapEachLaneToItsQueue() {
+        // When & Then
+        assertEquals("orders.queue", Lane.STANDARD.queue());
+        assertEquals("orders.queue.priority", Lane.PRIORITY.queue());
+    }
+
+    private static Order order(Integer quantity, double price) {
+        Order order = new Order();
+        order.setOrderId("ORD-1");
+        order.setCustomerName("Jane Customer");
+        order.setProduct("Test Product");
+        order.setQuantity(quantity);
+        order.setPrice(price);
+        return order;
+    }
+}
@@ -0,0 +1,125 @@
+package com.platform.ops.jms;
+
+import com.platform.ops.config.ListenerAutoscaleProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jms.config.JmsListenerEndpointRegistry;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Listener Concurrency Controller Tests")
+class ListenerConcurrencyControllerTest {
+
+    @Mock
+    private JmsListenerEndpointRegistry registry;
+
+    @Mock
+    private BrokerStatisticsClient statisticsClient;
+
+    private ConsumerLoadTracker loadTracker;
+    private ListenerAutoscaleProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private DefaultMessageListenerContainer container;
+    private ListenerConcurrencyController controller;
+
+    @BeforeEach
+    void setUp() {
+        loadTracker = new ConsumerLoadTracker();
+        properties = new ListenerAutoscaleProperties();
+        properties.setMinConsumers(1);
+        properties.setMaxConsumers(8);
+        properties.setMaxStep(2);
+        properties.setTargetDrainTime(Duration.ofSeconds(1));
+        properties.setScaleDownCooldown(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+        container = new DefaultMessageListenerContainer();
+        container.setConcurrency("1-1");
+        lenient().when(registry.getListenerContainer(ListenerConcurrencyController.ORDERS_LISTENER_ID)).thenReturn(container);
+        controller = new ListenerConcurrencyController(registry, statisticsClient, loadTracker, properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should scale up by at most max step when backlog grows")
+    void shouldScaleUpByAtMostMaxStepWhenBacklogGrows() {
+        // Given - 10ms per order and 5000 queued orders need 50 consumers to drain in 1s
+        loadTracker.record(10_000_000L);
+        when(statisticsClient.queueStatistics("orders.queue")).thenReturn(Optional.of(stats(5000)));
+
+        // When
+        controller.adjust();
+
+        // Then
+        assertEquals(3, container.getConcurrentConsumers());
+        assertEquals(3, container.getMaxConcurrentConsumers());
+        assertEquals(1.0, meterRegistry.get("ops.jms.autoscale.decisions").tag("direction", "up").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should never exceed the configured maximum")
+    void shouldNeverExceedConfiguredMaximum() {
+        // Given
+        loadTracker.record(10_000_000L);
+        when(statisticsClient.queueStatistics("orders.queue")).thenReturn(Optional.of(stats(100_000)));
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            controller.adjust();
+        }
+
+        // Then
+        assertEquals(8, container.getConcurrentConsumers());
+    }
+
+    @Test
+    @DisplayName("Should scale down one consumer at a time when queue drains")
+    void shouldScaleDownOneConsumerAtATimeWhenQueueDrains() {
+        // Given
+        container.setConcurrency("4-4");
+        loadTracker.record(10_000_000L);
+        when(statisticsClient.queueStatistics("orders.queue")).thenReturn(Optional.of(stats(0)));
+
+        // When
+        controller.adjust();
+
+        // Then
+        assertEquals(3, container.getConcurrentConsumers());
+        assertEquals(3, container.getMaxConcurrentConsumers());
+        assertEquals(1.0, meterRegistry.get("ops.jms.autoscale.decisions").tag("direction", "down").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep concurrency when broker statistics are unavailable")
+    void shouldKeepConcurrencyWhenBrokerStatisticsAreUnavailable() {
+        // Given
+        when(statisticsClient.queueStatistics("orders.queue")).thenReturn(Optional.empty());
+
+        // When
+        controller.adjust();
+
+        // Then
+        assertEquals(1, container.getConcurrentConsumers());
+    }
+
+    @Test
+    @DisplayName("Should clamp target consumers to configured bounds")
+    void shouldClampTargetConsumersToConfiguredBounds() {
+        assertEquals(1, controller.targetConsumers(0, 5.0));
+        assertEquals(5, controller.targetConsumers(1000, 5.0));
+        assertEquals(8, controller.targetConsumers(1_000_000, 5.0));
+    }
+
+    private QueueStatistics stats(long size) {
+        return new QueueStatistics(size, size, 0, 1, 0.0);
+    }
+}
@@ -1,29 +1,67 @@
 package com.platform.ops.jms;
 
+import com.platform.ops.config.DeduplicationProperties;
+import com.platform.ops.config.MessagingConfig;
 import com.platform.ops.model.Order;
+import com.platform.ops.service.OrderStatsService;
+import com.platform.ops.service.OrderStatusService;
+import com.platform.ops.service.OrderWriteBehindService;
+import com.platform.ops.tracing.RequestIds;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import org.apache.activemq.command.ActiveMQQueue;
+import org.apache.activemq.command.ActiveMQTextMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
+import org.slf4j.MDC;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Message Consumer Tests")
 class MessageConsumerTest {
 
+    @Mock
+    private OrderWriteBehindService orderWriter;
+
+    @Mock
+    private OrderStatusService orderStatusService;
+
+    @Mock
+    private OrderStatsService orderStats;
+
     private MessageConsumer messageConsumer;
+    private SimpleMeterRegistry meterRegistry;
     private ByteArrayOutputStream outputStream;
     private PrintStream originalOut;
 
     @BeforeEach
     void setUp() {
-        messageConsumer = new MessageConsumer();
+        DeduplicationProperties dedup = new DeduplicationProperties();
+        dedup.setCapacity(1000);
+        meterRegistry = new SimpleMeterRegistry();
+        messageConsumer = new MessageConsumer(new ConsumerLoadTracker(), new OrderDeduplicator(dedup, meterRegistry), orderWriter, orderStatusService,
+                orderStats, new MessagingMetrics(meterRegistry), Validation.buildDefaultValidatorFactory().getValidator(),
+                new MessagingConfig().jacksonJmsMessageConverter());
         
         // Capture System.out for testing log output
         outputStream = new ByteArrayOutputStream();
@@ -38,7 +76,7 @@ class MessageConsumerTest {
         Order order = createTestOrder();
 
         // When
-        assertDoesNotThrow(() -> messageConsumer.receiveOrder(order));
+        assertDoesNotThrow(() -> messageConsumer.receiveOrder(order, null, null, null, null));
 
         // Then - No exception should be thrown for normal processing
         // Note: In the current implementation, forced failure is disabled
@@ -57,7 +95,7 @@ class MessageConsumerTest {
         order.setPrice(1299.99);
 
         // When
-        assertDoesNotThrow(() -> messageConsumer.receiveOrder(order));
+        assertDoesNotThrow(() -> messageConsumer.receiveOrder(order, null, null, null, null));
 
         // Then
         assertTrue(true, "Order with all fields should be processed successfully");
@@ -75,7 +113,7 @@ class MessageConsumerTest {
         order.setPrice(0.01);
 
         // When
-        assertDoesNotThrow(() -> messageConsumer.receiveOrder(order));
+        assertDoesNotThrow(() -> messageConsumer.receiveOrder(order, null, null, null, null));
 
         // Then
         assertTrue(true, "Order with minimum values should be processed successfully");
@@ -83,13 +121,13 @@ class MessageConsumerTest {
 
     @Test
     @DisplayName("Should process DLQ message successfully")
-    void shouldProcessDlqMessageSuccessfully() {
+    void shouldProcessDlqMessageSuccessfully() throws Exception {
         // Given
-        Order order = createTestOrder();
-        order.setOrderId("DLQ-TEST-001");
+        Message deadLetter = orderMessage("DLQ-TEST-001");
+        Session session = parkingSession();
 
         // When
-        assertDoesNotThrow(() -> messageConsumer.receiveFromDLQ(order));
+        assertDoesNotThrow(() -> messageConsumer.receiveFromDLQ(deadLetter, session, null));
 
         // Then
         assertTrue(true, "DLQ message should be processed without exceptions");
@@ -97,9 +135,15 @@ class MessageConsumerTest {
 
     @Test
     @DisplayName("Should handle null order gracefully in DLQ listener")
-    void shouldHandleNullOrderGracefullyInDlqListener() {
+    void shouldHandleNullOrderGracefullyInDlqListener() throws Exception {
+        // Given - a typed message whose body converts to null
+        ActiveMQTextMessage deadLetter = new ActiveMQTextMessage();
+        deadLetter.setText("null");
+        deadLetter.setStringProperty("_type", Order.class.getName());
+        Session session = parkingSession();
+
         // When & Then
-        assertDoesNotThrow(() -> messageConsumer.receiveFromDLQ(null));
+        assertDoesNotThrow(() -> messageConsumer.receiveFromDLQ(deadLetter, session, null));
     }
 
     @Test
@@ -119,9 +163,9 @@ class MessageConsumerTest {
 
         // When & Then
         assertDoesNotThrow(() -> {
-            messageConsumer.receiveOrder(order1);
-            messageConsumer.receiveOrder(order2);
-            messageConsumer.receiveOrder(order3);
+            messageConsumer.receiveOrder(order1, null, null, null, null);
+            messageConsumer.receiveOrder(order2, null, null, null, null);
+            messageConsumer.receiveOrder(order3, null, null, null, null);
         });
     }
 
@@ -137,7 +181,7 @@ class MessageConsumerTest {
         order.setPrice(29.99);
 
         // When & Then
-        assertDoesNotThrow(() -> messageConsumer.receiveOrder(order));
+        assertDoesNotThrow(() -> messageConsumer.receiveOrder(order, null, null, null, null));
     }
 
     @Test
@@ -152,7 +196,305 @@ class MessageConsumerTest {
         order.setPrice(Double.MAX_VALUE);
 
         // When & Then
-        assertDoesNotThrow(() -> messageConsumer.receiveOrder(order));
+        assertDoesNotThrow(() -> messageConsumer.receiveOrder(order, null, null, null, null));
+    }
+
+    @Test
+    @DisplayName("Should drop an order whose orderId was already processed")
+    void shouldDropOrderWhoseOrderIdWasAlreadyProcessed() {
+        // Given
+        Order order = createTestOrder();
+        messageConsumer.receiveOrder(order, null, null, null, null);
+
+        // When
+        messageConsumer.receiveOrder(createTestOrder(), null, null, null, null);
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("ops.orders.duplicates").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should drop duplicates within and across batches")
+    void shouldDropDuplicatesWithinAndAcrossBatches() {
+        // Given
+        Order first = createTestOrder();
+        Order second = createTestOrder();
+        second.setOrderId("TEST-002");
+        messageConsumer.receiveOrder(first, null, null, null, null);
+
+        // When
+        messageConsumer.handleBatch(List.of(first, second, second));
+
+        // Then
+        assertEquals(2.0, meterRegistry.get("ops.orders.duplicates").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid orders of a batch and process the others")
+    void shouldRejectInvalidOrdersOfBatchAndProcessOthers() {
+        // Given
+        Order valid = createTestOrder();
+        Order invalid = createTestOrder();
+        invalid.setOrderId("TEST-002");
+        invalid.setCustomerName(null);
+
+        // When
+        List<OrderBatchHandler.Rejection> rejections = messageConsumer.handleBatch(List.of(valid, invalid));
+
+        // Then
+        assertEquals(1, rejections.size());
+        assertSame(invalid, rejections.get(0).order());
+        assertInstanceOf(ConstraintViolationException.class, rejections.get(0).cause());
+        verify(orderWriter).enqueue(valid);
+        verify(orderWriter, never()).enqueue(invalid);
+    }
+
+    @Test
+    @DisplayName("Should count each consumed order in the stats once")
+    void shouldCountEachConsumedOrderInStatsOnce() {
+        // Given
+        Order first = createTestOrder();
+        Order second = createTestOrder();
+        second.setOrderId("TEST-002");
+
+        // When
+        messageConsumer.receiveOrder(first, null, null, null, null);
+        messageConsumer.receiveOrder(first, null, null, null, null);
+        messageConsumer.handleBatch(List.of(first, second));
+
+        // Then
+        verify(orderStats).record(first);
+        verify(orderStats).record(second);
+        verifyNoMoreInteractions(orderStats);
+    }
+
+    @Test
+    @DisplayName("Should hand consumed orders to the write-behind buffer")
+    void shouldHandConsumedOrdersToWriteBehindBuffer() {
+        // Given
+        Order order = createTestOrder();
+
+        // When
+        messageConsumer.receiveOrder(order, null, null, null, null);
+
+        // Then
+        verify(orderWriter).enqueue(order);
+    }
+
+    @Test
+    @DisplayName("Should fail the order and release its id when the buffer stays full")
+    void shouldFailOrderAndReleaseItsIdWhenBufferStaysFull() {
+        // Given
+        Order order = createTestOrder();
+        doThrow(new IllegalStateException("buffer full")).doNothing().when(orderWriter).enqueue(any(Order.class));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> messageConsumer.receiveOrder(order, null, null, null, null));
+        messageConsumer.receiveOrder(order, null, null, null, null);
+
+        // Then - the redelivery is processed, not dropped as a duplicate
+        verify(orderWriter, times(2)).enqueue(order);
+        assertEquals(0.0, meterRegistry.get("ops.orders.duplicates").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should record retried and consumed status transitions")
+    void shouldRecordRetriedAndConsumedStatusTransitions() {
+        // Given
+        Order order = createTestOrder();
+
+        // When
+        messageConsumer.receiveOrder(order, 2, null, null, null);
+
+        // Then
+        verify(orderStatusService).recordRetried("TEST-001", 2);
+        verify(orderStatusService).recordConsumed("TEST-001", 2);
+    }
+
+    @Test
+    @DisplayName("Should count scheduled retries as further deliveries")
+    void shouldCountScheduledRetriesAsFurtherDeliveries() {
+        // Given
+        Order order = createTestOrder();
+
+        // When - third attempt, first delivery of the retry copy
+        messageConsumer.receiveOrder(order, null, 3, null, null);
+
+        // Then
+        verify(orderStatusService).recordRetried("TEST-001", 3);
+        verify(orderStatusService).recordConsumed("TEST-001", 3);
+    }
+
+    @Test
+    @DisplayName("Should record dead-lettered orders")
+    void shouldRecordDeadLetteredOrders() throws Exception {
+        // When
+        messageConsumer.receiveFromDLQ(orderMessage("TEST-001"), parkingSession(), null);
+
+        // Then
+        verify(orderStatusService).recordDeadLettered("TEST-001");
+    }
+
+    @Test
+    @DisplayName("Should time processing by lane and outcome and count redeliveries per lane")
+    void shouldTimeProcessingByLaneAndOutcomeAndCountRedeliveries() {
+        // Given
+        Order order = createTestOrder();
+        Order failing = createTestOrder();
+        failing.setOrderId("TEST-002");
+        Order priority = createTestOrder();
+        priority.setOrderId("TEST-003");
+        doThrow(new IllegalStateException("buffer full")).when(orderWriter).enqueue(failing);
+
+        // When
+        messageConsumer.receiveOrder(order, 2, null, null, null);
+        assertThrows(IllegalStateException.class, () -> messageConsumer.receiveOrder(failing, null, null, null, null));
+        messageConsumer.receivePriorityOrder(priority, 3, null, null, null);
+
+        // Then
+        assertEquals(1, meterRegistry.get("ops.jms.consume.time")
+                .tags("lane", "standard", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("ops.jms.consume.time")
+                .tags("lane", "standard", "outcome", "failure").timer().count());
+        assertEquals(1, meterRegistry.get("ops.jms.consume.time")
+                .tags("lane", "priority", "queue", MessageProducer.PRIORITY_QUEUE, "outcome", "success").timer().count());
+        assertEquals(1.0, meterRegistry.get("ops.jms.redeliveries").tag("lane", "standard").counter().count());
+        assertEquals(1.0, meterRegistry.get("ops.jms.redeliveries").tag("lane", "priority").counter().count());
+        assertEquals(0.0, meterRegistry.get("ops.jms.consume.in.flight").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should count DLQ arrivals by message type")
+    void shouldCountDlqArrivalsByMessageType() throws Exception {
+        // Given
+        ActiveMQTextMessage notAnOrder = new ActiveMQTextMessage();
+        notAnOrder.setText("not an order");
+        Session session = parkingSession();
+
+        // When
+        messageConsumer.receiveFromDLQ(orderMessage("TEST-001"), session, null);
+        messageConsumer.receiveFromDLQ(notAnOrder, session, null);
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("ops.jms.dlq.arrivals").tag("type", "order").counter().count());
+        assertEquals(1.0, meterRegistry.get("ops.jms.dlq.arrivals").tag("type", "other").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid order without claiming or persisting it")
+    void shouldRejectInvalidOrderWithoutClaimingOrPersistingIt() {
+        // Given
+        Order invalid = createTestOrder();
+        invalid.setQuantity(0);
+
+        // When & Then
+        assertThrows(ConstraintViolationException.class, () -> messageConsumer.receiveOrder(invalid, null, null, null, null));
+        verify(orderWriter, never()).enqueue(any());
+        verify(orderStatusService, never()).recordConsumed(any(), anyInt());
+
+        invalid.setQuantity(1);
+        messageConsumer.receiveOrder(invalid, null, null, null, null);
+        verify(orderWriter).enqueue(invalid);
+    }
+
+    @Test
+    @DisplayName("Should accept unreadable messages in the DLQ listener")
+    void shouldAcceptUnreadableMessagesInDlqListener() throws Exception {
+        // Given
+        ActiveMQTextMessage poison = new ActiveMQTextMessage();
+        poison.setText("{not json");
+        poison.setStringProperty(RetryScheduler.FAILURE_EXCEPTION_PROPERTY, "com.fasterxml.jackson.core.JsonParseException");
+        Session session = parkingSession();
+
+        // When & Then
+        assertDoesNotThrow(() -> messageConsumer.receiveFromDLQ(poison, session, null));
+        assertEquals(1.0, meterRegistry.get("ops.jms.dlq.arrivals").tag("type", "other").counter().count());
+        verify(orderStatusService, never()).recordDeadLettered(any());
+    }
+
+    @Test
+    @DisplayName("Should park dead letters for replay with their order ID")
+    void shouldParkDeadLettersForReplayWithTheirOrderId() throws Exception {
+        // Given
+        Message deadLetter = orderMessage("DLQ-PARK-001");
+        Session session = mock(Session.class);
+        jakarta.jms.MessageProducer producer = mock(jakarta.jms.MessageProducer.class);
+        ActiveMQQueue parkingQueue = new ActiveMQQueue(DeadLetterReplayer.PARKING_QUEUE);
+        when(session.createQueue(DeadLetterReplayer.PARKING_QUEUE)).thenReturn(parkingQueue);
+        when(session.createProducer(parkingQueue)).thenReturn(producer);
+
+        // When
+        messageConsumer.receiveFromDLQ(deadLetter, session, null);
+
+        // Then
+        ArgumentCaptor<Message> parked = ArgumentCaptor.forClass(Message.class);
+        verify(producer).send(parked.capture(), anyInt(), anyInt(), anyLong());
+        assertEquals("DLQ-PARK-001", parked.getValue().getStringProperty(DeadLetterReplayer.ORDER_ID_PROPERTY));
+        assertTrue(parked.getValue().propertyExists(DeadLetterReplayer.DEAD_LETTERED_AT_PROPERTY));
+        verify(orderStatusService).recordDeadLettered("DLQ-PARK-001");
+    }
+
+    @Test
+    @DisplayName("Should log under the producer's request ID and clear it afterwards")
+    void shouldLogUnderProducersRequestIdAndClearItAfterwards() {
+        // Given
+        Order order = createTestOrder();
+        AtomicReference<String> seen = new AtomicReference<>();
+        doAnswer(invocation -> {
+            seen.set(MDC.get(RequestIds.MDC_KEY));
+            return null;
+        }).when(orderWriter).enqueue(order);
+
+        // When
+        messageConsumer.receiveOrder(order, null, null, "01JABCDEFGHJKMNPQRSTVWXYZ0", null);
+
+        // Then
+        assertEquals("01JABCDEFGHJKMNPQRSTVWXYZ0", seen.get());
+        assertNull(MDC.get(RequestIds.MDC_KEY));
+    }
+
+    @Test
+    @DisplayName("Should record queue wait per lane on first delivery only")
+    void shouldRecordQueueWaitPerLaneOnFirstDeliveryOnly() {
+        // Given
+        Order standard = createTestOrder();
+        Order priority = createTestOrder();
+        priority.setOrderId("TEST-002");
+        Order retried = createTestOrder();
+        retried.setOrderId("TEST-003");
+        long sentAt = System.currentTimeMillis() - 250;
+
+        // When
+        messageConsumer.receiveOrder(standard, null, null, null, sentAt);
+        messageConsumer.receivePriorityOrder(priority, null, null, null, sentAt);
+        messageConsumer.receivePriorityOrder(retried, null, 2, null, sentAt);
+
+        // Then
+        Timer standardWait = meterRegistry.get("ops.jms.queue.wait").tag("lane", "standard").timer();
+        Timer priorityWait = meterRegistry.get("ops.jms.queue.wait").tag("lane", "priority").timer();
+        assertEquals(1, standardWait.count());
+        assertEquals(1, priorityWait.count());
+        assertTrue(priorityWait.totalTime(TimeUnit.MILLISECONDS) >= 250);
+        verify(orderWriter).enqueue(retried);
+    }
+
+    /** A dead letter as the Jackson converter writes it. */
+    private static Message orderMessage(String orderId) throws JMSException {
+        ActiveMQTextMessage message = new ActiveMQTextMessage();
+        message.setText("{\"orderId\":\"" + orderId + "\",\"customerName\":\"Test Customer\","
+                + "\"product\":\"Test Product\",\"quantity\":1,\"price\":10.0}");
+        message.setStringProperty("_type", Order.class.getName());
+        return message;
+    }
+
+    /** A listener session whose producer parks dead letters on a mock. */
+    private static Session parkingSession() throws JMSException {
+        Session session = mock(Session.class);
+        jakarta.jms.MessageProducer producer = mock(jakarta.jms.MessageProducer.class);
+        ActiveMQQueue parkingQueue = new ActiveMQQueue(DeadLetterReplayer.PARKING_QUEUE);
+        when(session.createQueue(DeadLetterReplayer.PARKING_QUEUE)).thenReturn(parkingQueue);
+        when(session.createProducer(parkingQueue)).thenReturn(producer);
+        return session;
     }
 
     private Order createTestOrder() {
@@ -0,0 +1,55 @@
+package com.platform.ops.jms;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Messaging Metrics Tests")
+class MessagingMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MessagingMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new MessagingMetrics(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should tag sends to unknown destinations as other")
+    void shouldTagSendsToUnknownDestinationsAsOther() {
+        // When - caller-chosen destinations, as sent through POST /api/messages
+        for (int i = 0; i < 50; i++) {
+            metrics.sendCompleted(MessagingMetrics.SendMode.SYNC, "client.queue." + i, metrics.sendStarted(), true);
+        }
+        metrics.sendCompleted(MessagingMetrics.SendMode.SYNC, MessageProducer.PRIORITY_QUEUE, metrics.sendStarted(), true);
+
+        // Then
+        assertEquals(2, meterRegistry.find("ops.jms.send.time").tag("outcome", "success").timers().size());
+        assertEquals(50, meterRegistry.get("ops.jms.send.time")
+                .tags("destination", MessagingMetrics.OTHER_DESTINATION, "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("ops.jms.send.time")
+                .tags("destination", MessageProducer.PRIORITY_QUEUE, "outcome", "success").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should tag processing and redeliveries with the lane and its queue")
+    void shouldTagProcessingAndRedeliveriesWithLane() {
+        // When
+        long start = metrics.processingStarted(1);
+        metrics.processingCompleted(OrderClassifier.Lane.PRIORITY, 1, System.nanoTime() - start, true);
+        metrics.redelivered(OrderClassifier.Lane.PRIORITY);
+
+        // Then
+        assertEquals(1, meterRegistry.get("ops.jms.consume.time")
+                .tags("lane", "priority", "queue", MessageProducer.PRIORITY_QUEUE, "outcome", "success").timer().count());
+        assertEquals(0, meterRegistry.get("ops.jms.consume.time")
+                .tags("lane", "standard", "outcome", "success").timer().count());
+        assertEquals(1.0, meterRegistry.get("ops.jms.redeliveries")
+                .tags("lane", "priority", "queue", MessageProducer.PRIORITY_QUEUE).counter().count());
+    }
+}
@@ -0,0 +1,123 @@
+package com.platform.ops.jms;
+
+import com.platform.ops.config.DeduplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Order Deduplicator Tests")
+class OrderDeduplicatorTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private DeduplicationProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DeduplicationProperties();
+        properties.setWindow(Duration.ofMinutes(10));
+        properties.setCapacity(1000);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should claim a new orderId once and count repeats as duplicates")
+    void shouldClaimNewOrderIdOnceAndCountRepeatsAsDuplicates() {
+        // Given
+        OrderDeduplicator deduplicator = create();
+
+        // When & Then
+        assertTrue(deduplicator.tryClaim("ORD-001"));
+        assertFalse(deduplicator.tryClaim("ORD-001"));
+        assertTrue(deduplicator.tryClaim("ORD-002"));
+        assertEquals(1.0, meterRegistry.get("ops.orders.duplicates").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should let an orderId through again after it was released")
+    void shouldLetOrderIdThroughAgainAfterItWasReleased() {
+        // Given
+        OrderDeduplicator deduplicator = create();
+        deduplicator.tryClaim("ORD-001");
+
+        // When
+        deduplicator.release("ORD-001");
+
+        // Then
+        assertTrue(deduplicator.tryClaim("ORD-001"));
+        assertFalse(deduplicator.tryClaim("ORD-001"));
+    }
+
+    @Test
+    @DisplayName("Should remember orderIds across one window rotation")
+    void shouldRememberOrderIdsAcrossOneWindowRotation() {
+        // Given
+        OrderDeduplicator deduplicator = create();
+        deduplicator.tryClaim("ORD-001");
+
+        // When
+        clock.addAndGet(Duration.ofMinutes(11).toNanos());
+
+        // Then
+        assertFalse(deduplicator.tryClaim("ORD-001"));
+        assertEquals(1.0, meterRegistry.get("ops.orders.dedup.rotations").tag("reason", "window").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should forget orderIds after two windows")
+    void shouldForgetOrderIdsAfterTwoWindows() {
+        // Given
+        OrderDeduplicator deduplicator = create();
+        deduplicator.tryClaim("ORD-001");
+
+        // When
+        clock.addAndGet(Duration.ofMinutes(11).toNanos());
+        deduplicator.tryClaim("ORD-002");
+        clock.addAndGet(Duration.ofMinutes(11).toNanos());
+
+        // Then
+        assertTrue(deduplicator.tryClaim("ORD-001"));
+    }
+
+    @Test
+    @DisplayName("Should rotate early when capacity is reached")
+    void shouldRotateEarlyWhenCapacityIsReached() {
+        // Given
+        properties.setCapacity(100);
+        OrderDeduplicator deduplicator = create();
+
+        // When
+        for (int i = 0; i < 250; i++) {
+            assertTrue(deduplicator.tryClaim("ORD-" + i));
+        }
+
+        // Then - the most recent window is still remembered, the oldest is gone
+        assertFalse(deduplicator.tryClaim("ORD-249"));
+        assertFalse(deduplicator.tryClaim("ORD-150"));
+        assertTrue(deduplicator.tryClaim("ORD-0"));
+        assertEquals(2.0, meterRegistry.get("ops.orders.dedup.rotations").tag("reason", "capacity").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should let everything through when disabled")
+    void shouldLetEverythingThroughWhenDisabled() {
+        // Given
+        properties.setEnabled(false);
+        OrderDeduplicator deduplicator = create();
+
+        // When & Then
+        assertTrue(deduplicator.tryClaim("ORD-001"));
+        assertTrue(deduplicator.tryClaim("ORD-001"));
+        assertTrue(deduplicator.tryClaim(null));
+    }
+
+    private OrderDeduplicator create() {
+        return new OrderDeduplicator(properties, meterRegistry, clock::get);
+    }
+}
@@ -0,0 +1,159 @@
+package com.platform.ops.jms;
+
+import com.platform.ops.config.OrderGroupingProperties;
+import com.platform.ops.model.Order;
+import jakarta.jms.Connection;
+import jakarta.jms.Message;
+import jakarta.jms.MessageListener;
+import jakarta.jms.TextMessage;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.command.ActiveMQTextMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Order Grouping Tests")
+class OrderGroupingTest {
+
+    private static final int CUSTOMERS = 8;
+    private static final int ORDERS_PER_CUSTOMER = 50;
+
+    private ActiveMQConnectionFactory connectionFactory;
+    private Connection brokerKeepAlive;
+    private DefaultMessageListenerContainer container;
+    private OrderGroupingProperties properties;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // A small prefetch, so groups are spread by consumer availability rather than buffer space
+        connectionFactory = new ActiveMQConnectionFactory("vm://grouping-test-" + System.nanoTime()
+                + "?broker.persistent=false&broker.useJmx=false&jms.prefetchPolicy.queuePrefetch=5");
+        brokerKeepAlive = connectionFactory.createConnection();
+        properties = new OrderGroupingProperties();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (container != null) {
+            container.shutdown();
+        }
+        brokerKeepAlive.close();
+    }
+
+    @Test
+    @DisplayName("Should group orders by customer name by default")
+    void shouldGroupOrdersByCustomerNameByDefault() throws Exception {
+        // Given
+        OrderGrouping grouping = new OrderGrouping(properties);
+        Message message = new ActiveMQTextMessage();
+
+        // When
+        grouping.correlateAndGroup(order("ORD-1", "Jane Customer")).postProcessMessage(message);
+
+        // Then
+        assertEquals("Jane Customer", message.getStringProperty(OrderGrouping.GROUP_ID_PROPERTY));
+        assertNotNull(message.getJMSCorrelationID());
+    }
+
+    @Test
+    @DisplayName("Should use the configured key and skip blank or disabled groups")
+    void shouldUseConfiguredKeyAndSkipBlankOrDisabledGroups() {
+        // Given
+        properties.setKey(OrderGroupingProperties.Key.PRODUCT);
+        OrderGrouping grouping = new OrderGrouping(properties);
+        Order order = order("ORD-1", "Jane Customer");
+
+        // When & Then
+        assertEquals("Test Product", grouping.groupOf(order));
+        order.setProduct(" ");
+        assertNull(grouping.groupOf(order));
+        properties.setEnabled(false);
+        order.setProduct("Test Product");
+        assertNull(grouping.groupOf(order));
+    }
+
+    @Test
+    @DisplayName("Should keep each customer's orders in sequence across concurrent consumers")
+    void shouldKeepEachCustomersOrdersInSequenceAcrossConcurrentConsumers() throws Exception {
+        // Given - four consumers, each order taking a random time to process
+        Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+        Set<String> consumerThreads = ConcurrentHashMap.newKeySet();
+        AtomicInteger count = new AtomicInteger();
+        container = new DefaultMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setDestinationName("grouped.queue");
+        container.setConcurrency("4");
+        container.setMessageListener((MessageListener) message -> {
+            try {
+                String[] parts = ((TextMessage) message).getText().split(":");
+                Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+                received.computeIfAbsent(parts[0], k -> Collections.synchronizedList(new ArrayList<>()))
+                        .add(Integer.parseInt(parts[1]));
+                consumerThreads.add(Thread.currentThread().getName());
+                count.incrementAndGet();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        container.afterPropertiesSet();
+        container.start();
+        awaitCondition(() -> container.getActiveConsumerCount() == 4);
+
+        // When - customers interleaved, as they arrive over HTTP
+        JmsTemplate jmsTemplate = new JmsTemplate(connectionFactory);
+        for (int sequence = 0; sequence < ORDERS_PER_CUSTOMER; sequence++) {
+            for (int customer = 0; customer < CUSTOMERS; customer++) {
+                String group = "customer-" + customer;
+                String body = group + ":" + sequence;
+                jmsTemplate.send("grouped.queue", session -> {
+                    Message message = session.createTextMessage(body);
+                    OrderGrouping.stamp(message, group);
+                    return message;
+                });
+            }
+        }
+        awaitCondition(() -> count.get() == CUSTOMERS * ORDERS_PER_CUSTOMER);
+
+        // Then
+        assertEquals(CUSTOMERS, received.size());
+        received.forEach((customer, sequences) -> {
+            for (int i = 0; i < ORDERS_PER_CUSTOMER; i++) {
+                assertEquals(i, sequences.get(i), "orders of " + customer + " out of order");
+            }
+        });
+        assertTrue(consumerThreads.size() > 1, "groups should spread over several consumers");
+    }
+
+    private static Order order(String orderId, String customerName) {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setCustomerName(customerName);
+        order.setProduct("Test Product");
+        order.setQuantity(1);
+        order.setPrice(10.0);
+        return order;
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met within 10s");
+            Thread.sleep(20);
+        }
+    }
+}
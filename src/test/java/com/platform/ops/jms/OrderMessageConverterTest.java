@@ -0,0 +1,177 @@
+package com.platform.ops.jms;
+
+import com.platform.ops.config.MessagingConfig;
+import com.platform.ops.model.Order;
+import jakarta.jms.BytesMessage;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import org.apache.activemq.command.ActiveMQBytesMessage;
+import org.apache.activemq.command.ActiveMQTextMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.support.converter.MessageConversionException;
+import org.springframework.jms.support.converter.MessageConverter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Order Message Converter Tests")
+class OrderMessageConverterTest {
+
+    private Session session;
+    private MessageConverter jackson;
+    private OrderMessageConverter binaryConverter;
+    private OrderMessageConverter jsonConverter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        session = mock(Session.class);
+        when(session.createBytesMessage()).thenAnswer(invocation -> new ActiveMQBytesMessage());
+        when(session.createTextMessage()).thenAnswer(invocation -> new ActiveMQTextMessage());
+        when(session.createTextMessage(anyString())).thenAnswer(invocation -> {
+            ActiveMQTextMessage message = new ActiveMQTextMessage();
+            message.setText(invocation.getArgument(0));
+            return message;
+        });
+        jackson = new MessagingConfig().jacksonJmsMessageConverter();
+        binaryConverter = new OrderMessageConverter(jackson, OrderMessageConverter.Format.BINARY);
+        jsonConverter = new OrderMessageConverter(jackson, OrderMessageConverter.Format.JSON);
+    }
+
+    @Test
+    @DisplayName("Should write orders as schema-tagged bytes in binary format")
+    void shouldWriteOrdersAsSchemaTaggedBytesInBinaryFormat() throws Exception {
+        // When
+        Message message = binaryConverter.toMessage(createTestOrder(), session);
+
+        // Then
+        assertInstanceOf(BytesMessage.class, message);
+        assertEquals(OrderBinaryCodec.SCHEMA_ID, message.getIntProperty(OrderMessageConverter.SCHEMA_ID_PROPERTY));
+    }
+
+    @Test
+    @DisplayName("Should round-trip an order through the binary format")
+    void shouldRoundTripOrderThroughBinaryFormat() throws Exception {
+        // Given
+        BytesMessage message = (BytesMessage) binaryConverter.toMessage(createTestOrder(), session);
+        message.reset();
+
+        // When
+        Order decoded = (Order) binaryConverter.fromMessage(message);
+
+        // Then
+        assertEquals("ORD-001", decoded.getOrderId());
+        assertEquals("Jane Customer", decoded.getCustomerName());
+        assertEquals("Café Crème", decoded.getProduct());
+        assertEquals(3, decoded.getQuantity());
+        assertEquals(49.99, decoded.getPrice());
+    }
+
+    @Test
+    @DisplayName("Should preserve null fields in the binary format")
+    void shouldPreserveNullFieldsInBinaryFormat() {
+        // Given
+        Order order = new Order();
+        order.setOrderId("ORD-002");
+        order.setPrice(1.0);
+
+        // When
+        Order decoded = OrderBinaryCodec.decode(OrderBinaryCodec.encode(order));
+
+        // Then
+        assertEquals("ORD-002", decoded.getOrderId());
+        assertNull(decoded.getCustomerName());
+        assertNull(decoded.getProduct());
+        assertNull(decoded.getQuantity());
+    }
+
+    @Test
+    @DisplayName("Should keep writing JSON text messages in json format")
+    void shouldKeepWritingJsonTextMessagesInJsonFormat() throws Exception {
+        // When
+        Message message = jsonConverter.toMessage(createTestOrder(), session);
+
+        // Then
+        assertInstanceOf(TextMessage.class, message);
+        assertEquals(Order.class.getName(), message.getStringProperty("_type"));
+    }
+
+    @Test
+    @DisplayName("Should decode both formats regardless of write format")
+    void shouldDecodeBothFormatsRegardlessOfWriteFormat() throws Exception {
+        // Given
+        Message json = jackson.toMessage(createTestOrder(), session);
+        BytesMessage binary = (BytesMessage) binaryConverter.toMessage(createTestOrder(), session);
+        binary.reset();
+
+        // When & Then
+        assertEquals("ORD-001", ((Order) jsonConverter.fromMessage(json)).getOrderId());
+        assertEquals("ORD-001", ((Order) jsonConverter.fromMessage(binary)).getOrderId());
+    }
+
+    @Test
+    @DisplayName("Should send non-order payloads through Jackson")
+    void shouldSendNonOrderPayloadsThroughJackson() throws Exception {
+        // When
+        Message message = binaryConverter.toMessage("plain text", session);
+
+        // Then
+        assertInstanceOf(TextMessage.class, message);
+        assertEquals("plain text", binaryConverter.fromMessage(message));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown schema ids")
+    void shouldRejectUnknownSchemaIds() throws Exception {
+        // Given
+        BytesMessage message = (BytesMessage) binaryConverter.toMessage(createTestOrder(), session);
+        message.setIntProperty(OrderMessageConverter.SCHEMA_ID_PROPERTY, 99);
+        message.reset();
+
+        // When & Then
+        assertThrows(MessageConversionException.class, () -> binaryConverter.fromMessage(message));
+    }
+
+    @Test
+    @DisplayName("Should reject truncated binary payloads")
+    void shouldRejectTruncatedBinaryPayloads() {
+        // Given
+        byte[] encoded = OrderBinaryCodec.encode(createTestOrder());
+        byte[] truncated = java.util.Arrays.copyOf(encoded, encoded.length - 3);
+
+        // When & Then
+        assertThrows(MessageConversionException.class, () -> OrderBinaryCodec.decode(truncated));
+    }
+
+    @Test
+    @DisplayName("Should reject corrupt string headers as conversion failures")
+    void shouldRejectCorruptStringHeadersAsConversionFailures() throws Exception {
+        // Given - a varint decoding to -1, and a string length past the end of the payload
+        byte[] negative = {0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+        byte[] overlong = {0, 100, 'O', 'R'};
+
+        // When & Then
+        assertThrows(MessageConversionException.class, () -> binaryConverter.fromMessage(bytesMessage(negative)));
+        assertThrows(MessageConversionException.class, () -> binaryConverter.fromMessage(bytesMessage(overlong)));
+    }
+
+    private BytesMessage bytesMessage(byte[] data) throws Exception {
+        ActiveMQBytesMessage message = new ActiveMQBytesMessage();
+        message.writeBytes(data);
+        message.setIntProperty(OrderMessageConverter.SCHEMA_ID_PROPERTY, OrderBinaryCodec.SCHEMA_ID);
+        message.reset();
+        return message;
+    }
+
+    private Order createTestOrder() {
+        Order order = new Order();
+        order.setOrderId("ORD-001");
+        order.setCustomerName("Jane Customer");
+        order.setProduct("Café Crème");
+        order.setQuantity(3);
+        order.setPrice(49.99);
+        return order;
+    }
+}
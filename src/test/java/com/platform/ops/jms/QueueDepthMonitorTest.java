@@ -0,0 +1,76 @@
+package com.platform.ops.jms;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Queue Depth Monitor Tests")
+class QueueDepthMonitorTest {
+
+    @Mock
+    private BrokerStatisticsClient statisticsClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueueDepthMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new QueueDepthMonitor(statisticsClient, meterRegistry, Duration.ofSeconds(15));
+    }
+
+    @Test
+    @DisplayName("Should report NaN before the first refresh")
+    void shouldReportNaNBeforeFirstRefresh() {
+        assertTrue(Double.isNaN(depth("orders.queue")));
+        assertTrue(Double.isNaN(depth("orders.DLQ")));
+    }
+
+    @Test
+    @DisplayName("Should export depth and consumers of both queues after a refresh")
+    void shouldExportDepthAndConsumersOfBothQueuesAfterRefresh() {
+        // Given
+        when(statisticsClient.queueStatistics("orders.queue")).thenReturn(Optional.of(new QueueStatistics(42, 100, 58, 3, 1.5)));
+        when(statisticsClient.queueStatistics("orders.DLQ")).thenReturn(Optional.of(new QueueStatistics(2, 2, 0, 1, 0.0)));
+
+        // When
+        monitor.refresh();
+
+        // Then
+        assertEquals(42.0, depth("orders.queue"));
+        assertEquals(2.0, depth("orders.DLQ"));
+        assertEquals(3.0, meterRegistry.get("ops.jms.queue.consumers").tag("queue", "orders.queue").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should fall back to NaN when the broker stops answering")
+    void shouldFallBackToNaNWhenBrokerStopsAnswering() {
+        // Given
+        when(statisticsClient.queueStatistics(anyString()))
+                .thenReturn(Optional.of(new QueueStatistics(5, 5, 0, 1, 0.0)))
+                .thenReturn(Optional.of(new QueueStatistics(5, 5, 0, 1, 0.0)))
+                .thenReturn(Optional.empty());
+        monitor.refresh();
+
+        // When
+        monitor.refresh();
+
+        // Then
+        assertTrue(Double.isNaN(depth("orders.queue")));
+    }
+
+    private double depth(String queue) {
+        return meterRegistry.get("ops.jms.queue.depth").tag("queue", queue).gauge().value();
+    }
+}
@@ -0,0 +1,294 @@
+package com.platform.ops.jms;
+
+import com.platform.ops.config.MessagingConfig;
+import com.platform.ops.config.RetryProperties;
+import com.platform.ops.model.Order;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.jms.Connection;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageListener;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.command.ActiveMQTextMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.config.SimpleJmsListenerEndpoint;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.jms.support.JmsUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Retry Scheduler Tests")
+class RetrySchedulerTest {
+
+    private ActiveMQConnectionFactory connectionFactory;
+    private Connection brokerKeepAlive;
+    private JmsTemplate jmsTemplate;
+    private RetryProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private RetryScheduler retryScheduler;
+    private DefaultMessageListenerContainer container;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // A fresh non-persistent broker per test, with the scheduler the retries rely on
+        connectionFactory = new ActiveMQConnectionFactory("vm://retry-scheduler-test-" + System.nanoTime()
+                + "?broker.persistent=false&broker.useJmx=false&broker.schedulerSupport=true");
+        brokerKeepAlive = connectionFactory.createConnection();
+
+        jmsTemplate = new JmsTemplate(connectionFactory);
+        jmsTemplate.setMessageConverter(new MessagingConfig().jacksonJmsMessageConverter());
+        jmsTemplate.setReceiveTimeout(5000);
+
+        properties = new RetryProperties();
+        properties.setMaxAttempts(3);
+        properties.setInitialDelay(Duration.ofMillis(300));
+        properties.setJitter(0.0);
+        meterRegistry = new SimpleMeterRegistry();
+        retryScheduler = new RetryScheduler(properties, new DefaultFailureClassifier(properties), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (container != null) {
+            container.shutdown();
+        }
+        brokerKeepAlive.close();
+    }
+
+    @Test
+    @DisplayName("Should retry a failed order later without holding up the orders behind it")
+    void shouldRetryFailedOrderLaterWithoutHoldingUpOrdersBehindIt() throws Exception {
+        // Given
+        AtomicInteger failingAttempts = new AtomicInteger();
+        List<String> processed = new CopyOnWriteArrayList<>();
+        startContainer(message -> {
+            Order order = toOrder(message);
+            if (order.getOrderId().equals("FAIL-1") && failingAttempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("downstream unavailable");
+            }
+            processed.add(order.getOrderId());
+        });
+
+        // When
+        sendOrders("FAIL-1", "OK-1", "OK-2", "OK-3");
+
+        // Then
+        awaitCondition(() -> processed.contains("FAIL-1"));
+        assertEquals(List.of("OK-1", "OK-2", "OK-3", "FAIL-1"), processed);
+        assertEquals(2, failingAttempts.get());
+        assertEquals(1.0, meterRegistry.get("ops.jms.retry.scheduled").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should redeliver a grouped order in-session so later orders of its group wait for it")
+    void shouldRedeliverGroupedOrderInSessionSoLaterOrdersOfGroupWait() throws Exception {
+        // Given
+        properties.setKeepGroupOrder(true);
+        connectionFactory.getRedeliveryPolicy().setInitialRedeliveryDelay(100);
+        AtomicInteger failingAttempts = new AtomicInteger();
+        List<String> processed = new CopyOnWriteArrayList<>();
+        startContainer(message -> {
+            Order order = toOrder(message);
+            if (order.getOrderId().equals("FAIL-G") && failingAttempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("downstream unavailable");
+            }
+            processed.add(order.getOrderId());
+        });
+
+        // When
+        for (String orderId : List.of("FAIL-G", "OK-G1", "OK-G2")) {
+            sendGroupedOrder(orderId, "Grouped Customer");
+        }
+
+        // Then
+        awaitCondition(() -> processed.size() == 3);
+        assertEquals(List.of("FAIL-G", "OK-G1", "OK-G2"), processed);
+        assertEquals(2, failingAttempts.get());
+        assertEquals(0.0, meterRegistry.get("ops.jms.retry.scheduled").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep consuming a healthy customer's orders while another customer's order backs off")
+    void shouldKeepConsumingHealthyCustomersOrdersWhileAnotherBacksOff() throws Exception {
+        // Given - grouping on, keep-group-order off (the defaults), and slow in-session redeliveries
+        connectionFactory.getRedeliveryPolicy().setInitialRedeliveryDelay(5000);
+        AtomicInteger failingAttempts = new AtomicInteger();
+        List<String> processed = new CopyOnWriteArrayList<>();
+        startContainer(message -> {
+            Order order = toOrder(message);
+            if (order.getOrderId().equals("FAIL-A") && failingAttempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("downstream unavailable");
+            }
+            processed.add(order.getOrderId());
+        });
+
+        // When
+        sendGroupedOrder("FAIL-A", "Failing Customer");
+        sendGroupedOrder("OK-B1", "Healthy Customer");
+        sendGroupedOrder("OK-B2", "Healthy Customer");
+
+        // Then - the healthy orders did not wait for the retry, which was scheduled
+        awaitCondition(() -> processed.size() == 2);
+        assertEquals(List.of("OK-B1", "OK-B2"), processed);
+        assertEquals(1.0, meterRegistry.get("ops.jms.retry.scheduled").counter().count());
+        awaitCondition(() -> processed.contains("FAIL-A"));
+        assertEquals(2, failingAttempts.get());
+    }
+
+    @Test
+    @DisplayName("Should dead-letter the order after its last attempt")
+    void shouldDeadLetterOrderAfterItsLastAttempt() throws Exception {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        startContainer(message -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("always failing");
+        });
+
+        // When
+        sendOrders("FAIL-2");
+
+        // Then - 1 delivery + 2 scheduled retries
+        Message deadLettered = jmsTemplate.receive("orders.DLQ");
+        assertNotNull(deadLettered);
+        assertEquals("FAIL-2", toOrder(deadLettered).getOrderId());
+        assertEquals(3, deadLettered.getIntProperty(RetryScheduler.ATTEMPT_PROPERTY));
+        assertEquals("exhausted", deadLettered.getStringProperty(RetryScheduler.FAILURE_REASON_PROPERTY));
+        assertEquals(IllegalStateException.class.getName(),
+                deadLettered.getStringProperty(RetryScheduler.FAILURE_EXCEPTION_PROPERTY));
+        assertEquals(3, attempts.get());
+        assertEquals(2.0, meterRegistry.get("ops.jms.retry.scheduled").counter().count());
+        assertEquals(1.0, meterRegistry.get("ops.jms.retry.exhausted").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should dead-letter a poison message on its first failure with the cause attached")
+    void shouldDeadLetterPoisonMessageOnFirstFailureWithCauseAttached() throws Exception {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        startContainer(message -> {
+            attempts.incrementAndGet();
+            toOrder(message);
+        });
+
+        // When - an unknown _type cannot be converted however often it is retried
+        jmsTemplate.send("orders.queue", session -> {
+            Message message = session.createTextMessage("{\"orderId\":\"POISON-1\"}");
+            message.setStringProperty("_type", "com.example.UnknownOrder");
+            return message;
+        });
+
+        // Then
+        Message deadLettered = jmsTemplate.receive("orders.DLQ");
+        assertNotNull(deadLettered);
+        assertEquals(1, attempts.get());
+        assertEquals("permanent", deadLettered.getStringProperty(RetryScheduler.FAILURE_REASON_PROPERTY));
+        assertEquals(ClassNotFoundException.class.getName(),
+                deadLettered.getStringProperty(RetryScheduler.FAILURE_EXCEPTION_PROPERTY));
+        assertTrue(deadLettered.getStringProperty(RetryScheduler.FAILURE_MESSAGE_PROPERTY).contains("UnknownOrder"));
+        assertEquals("queue://orders.queue", deadLettered.getStringProperty(RetryScheduler.ORIGINAL_DESTINATION_PROPERTY));
+        assertEquals(0.0, meterRegistry.get("ops.jms.retry.scheduled").counter().count());
+        assertEquals(1.0, meterRegistry.get("ops.jms.retry.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should leave transient failures to broker redelivery when retries are disabled")
+    void shouldLeaveTransientFailuresToBrokerRedeliveryWhenRetriesAreDisabled() throws Exception {
+        // Given
+        properties.setEnabled(false);
+        Message message = new ActiveMQTextMessage();
+
+        // When & Then
+        assertFalse(retryScheduler.handleFailure(null, message, new IllegalStateException("downstream unavailable")));
+    }
+
+    @Test
+    @DisplayName("Should grow the delay exponentially up to the maximum")
+    void shouldGrowDelayExponentiallyUpToMaximum() {
+        // Given
+        properties.setInitialDelay(Duration.ofSeconds(1));
+        properties.setMaxDelay(Duration.ofSeconds(5));
+
+        // When & Then
+        assertEquals(1000, retryScheduler.delayMillis(1));
+        assertEquals(2000, retryScheduler.delayMillis(2));
+        assertEquals(4000, retryScheduler.delayMillis(3));
+        assertEquals(5000, retryScheduler.delayMillis(4));
+    }
+
+    @Test
+    @DisplayName("Should spread delays within the configured jitter")
+    void shouldSpreadDelaysWithinConfiguredJitter() {
+        // Given
+        properties.setInitialDelay(Duration.ofSeconds(1));
+        properties.setJitter(0.2);
+        FailureClassifier classifier = new DefaultFailureClassifier(properties);
+
+        // When & Then
+        assertEquals(800, new RetryScheduler(properties, classifier, meterRegistry, () -> 0.0).delayMillis(1));
+        assertEquals(1000, new RetryScheduler(properties, classifier, meterRegistry, () -> 0.5).delayMillis(1));
+        assertEquals(1200, new RetryScheduler(properties, classifier, meterRegistry, () -> 1.0).delayMillis(1));
+    }
+
+    private void startContainer(MessageListener listener) {
+        RetryingListenerContainerFactory factory = new RetryingListenerContainerFactory(retryScheduler);
+        factory.setConnectionFactory(connectionFactory);
+        SimpleJmsListenerEndpoint endpoint = new SimpleJmsListenerEndpoint();
+        endpoint.setId("retry-test");
+        endpoint.setDestination("orders.queue");
+        endpoint.setMessageListener(listener);
+        container = factory.createListenerContainer(endpoint);
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    private Order toOrder(Message message) {
+        try {
+            return (Order) jmsTemplate.getMessageConverter().fromMessage(message);
+        } catch (JMSException e) {
+            throw JmsUtils.convertJmsAccessException(e);
+        }
+    }
+
+    private void sendOrders(String... orderIds) {
+        for (String orderId : orderIds) {
+            Order order = new Order();
+            order.setOrderId(orderId);
+            order.setCustomerName("Retry Customer");
+            order.setProduct("Retry Product");
+            order.setQuantity(1);
+            order.setPrice(10.0);
+            jmsTemplate.convertAndSend("orders.queue", order);
+        }
+    }
+
+    private void sendGroupedOrder(String orderId, String customerName) {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setCustomerName(customerName);
+        order.setProduct("Retry Product");
+        order.setQuantity(1);
+        order.setPrice(10.0);
+        jmsTemplate.convertAndSend("orders.queue", order, message -> {
+            message.setStringProperty(OrderGrouping.GROUP_ID_PROPERTY, customerName);
+            return message;
+        });
+    }
+
+    private static void awaitCondition(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met within 10s");
+            Thread.sleep(20);
+        }
+    }
+}
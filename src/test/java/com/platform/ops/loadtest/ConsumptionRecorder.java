@@ -0,0 +1,93 @@
+package com.platform.ops.loadtest;
+
+import com.platform.ops.config.OrderStatusProperties;
+import com.platform.ops.service.OrderStatusService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replaces {@link OrderStatusService} in the harness context. The status transitions that
+ * {@code MessageConsumer} records for every order are used to measure the latency from the
+ * intended HTTP send time to {@code receiveOrder}, and to count retries and dead letters.
+ * Only orders registered through {@link #expect} are measured, so warmup traffic is ignored.
+ */
+class ConsumptionRecorder extends OrderStatusService {
+
+    private final Map<String, Long> intendedStartNanos = new ConcurrentHashMap<>();
+    private final Recorder endToEnd = new Recorder(3);
+    private final LongAdder consumed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private final AtomicLong lastConsumedNanos = new AtomicLong();
+
+    ConsumptionRecorder(OrderStatusProperties properties, MeterRegistry meterRegistry) {
+        super(properties, meterRegistry);
+    }
+
+    void expect(String orderId, long intendedNanos) {
+        intendedStartNanos.put(orderId, intendedNanos);
+    }
+
+    /** The order never reached the broker, so no consumption will follow. */
+    void forget(String orderId) {
+        intendedStartNanos.remove(orderId);
+    }
+
+    @Override
+    public void recordConsumed(String orderId, int deliveryCount) {
+        super.recordConsumed(orderId, deliveryCount);
+        Long start = intendedStartNanos.remove(orderId);
+        if (start != null) {
+            long now = System.nanoTime();
+            endToEnd.recordValue(now - start);
+            consumed.increment();
+            lastConsumedNanos.accumulateAndGet(now, Math::max);
+        }
+    }
+
+    @Override
+    public void recordRetried(String orderId, int deliveryCount) {
+        super.recordRetried(orderId, deliveryCount);
+        if (intendedStartNanos.containsKey(orderId)) {
+            retried.increment();
+        }
+    }
+
+    @Override
+    public void recordDeadLettered(String orderId) {
+        super.recordDeadLettered(orderId);
+        if (intendedStartNanos.remove(orderId) != null) {
+            deadLettered.increment();
+        }
+    }
+
+    int outstanding() {
+        return intendedStartNanos.size();
+    }
+
+    long consumed() {
+        return consumed.sum();
+    }
+
+    long retried() {
+        return retried.sum();
+    }
+
+    long deadLettered() {
+        return deadLettered.sum();
+    }
+
+    long lastConsumedNanos() {
+        return lastConsumedNanos.get();
+    }
+
+    Histogram endToEndHistogram() {
+        return endToEnd.getIntervalHistogram();
+    }
+}
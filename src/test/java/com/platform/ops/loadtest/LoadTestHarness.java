@@ -0,0 +1,333 @@
+package com.platform.ops.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.ops.OrderProcessingSystemApplication;
+import com.platform.ops.config.OrderStatusProperties;
+import com.platform.ops.jms.MessageProducer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.Histogram;
+import org.apache.activemq.broker.BrokerPlugin;
+import org.apache.activemq.broker.BrokerService;
+import org.apache.activemq.broker.region.policy.IndividualDeadLetterStrategy;
+import org.apache.activemq.broker.region.policy.PolicyEntry;
+import org.apache.activemq.broker.region.policy.PolicyMap;
+import org.apache.activemq.broker.region.policy.SharedDeadLetterStrategy;
+import org.apache.activemq.command.ActiveMQQueue;
+import org.apache.activemq.plugin.StatisticsBrokerPlugin;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * End-to-end load test: boots the whole application against an embedded broker and H2,
+ * drives {@code POST /api/orders} and/or {@code POST /api/messages/orders} at a fixed
+ * open-loop rate and measures the latency from the intended send time until
+ * {@code MessageConsumer.receiveOrder} has handled the order.
+ *
+ * <p>Arguments are Spring properties ({@code --name=value}). {@code load.*} properties
+ * control the harness, everything else overrides the application configuration, so the
+ * same load can be replayed against e.g. a different prefetch or codec:
+ * <ul>
+ *     <li>{@code load.rate} - requests per second (default 200)</li>
+ *     <li>{@code load.duration} / {@code load.warmup} - measured and discarded phases (60s / 10s)</li>
+ *     <li>{@code load.endpoints} - any of {@code orders}, {@code messages}, {@code nonblocking}
+ *     (default {@code orders,messages})</li>
+ *     <li>{@code load.max-outstanding} - in-flight HTTP requests before sends are counted as errors (1000)</li>
+ *     <li>{@code load.drain-timeout} - how long to wait for consumption after the last send (30s)</li>
+ * </ul>
+ * The report is printed and written to {@code target/loadtest-report.txt}. It includes the peak
+ * number of busy Tomcat threads, to compare the blocking endpoints with {@code nonblocking}.
+ */
+public final class LoadTestHarness {
+
+    private static final String BROKER_NAME = "loadtest";
+    private static final Path REPORT_FILE = Path.of("target", "loadtest-report.txt");
+    private static final Map<String, String> ENDPOINTS = Map.of(
+            "orders", "/api/orders",
+            "messages", "/api/messages/orders",
+            "nonblocking", "/api/messages/orders/nonblocking");
+
+    private LoadTestHarness() {
+    }
+
+    // A test configuration, so @SpringBootTest component scanning skips it
+    @TestConfiguration(proxyBeanMethods = false)
+    static class HarnessConfiguration {
+
+        @Bean
+        @Primary
+        ConsumptionRecorder consumptionRecorder(OrderStatusProperties properties, MeterRegistry meterRegistry) {
+            return new ConsumptionRecorder(properties, meterRegistry);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> properties = defaultProperties();
+        List<String> overrides = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int separator = arg.indexOf('=');
+                properties.put(arg.substring(2, separator), arg.substring(separator + 1));
+                overrides.add(arg.substring(2));
+            }
+        }
+
+        BrokerService broker = startBroker();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                OrderProcessingSystemApplication.class, HarnessConfiguration.class)
+                .run(properties.entrySet().stream().map(e -> "--" + e.getKey() + "=" + e.getValue()).toArray(String[]::new));
+        int exitCode = 0;
+        try {
+            String report = run(context, overrides);
+            System.out.println(report);
+            Files.createDirectories(REPORT_FILE.getParent());
+            Files.writeString(REPORT_FILE, report);
+        } catch (Exception e) {
+            e.printStackTrace();
+            exitCode = 1;
+        } finally {
+            context.close();
+            broker.stop();
+            broker.waitUntilStopped();
+        }
+        // The HTTP client's selector thread is not a daemon
+        System.exit(exitCode);
+    }
+
+    private static Map<String, String> defaultProperties() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("load.rate", "200");
+        properties.put("load.duration", "60s");
+        properties.put("load.warmup", "10s");
+        properties.put("load.endpoints", "orders,messages");
+        properties.put("load.max-outstanding", "1000");
+        properties.put("load.drain-timeout", "30s");
+        properties.put("server.port", "0");
+        // Exposes tomcat.threads.busy
+        properties.put("server.tomcat.mbeanregistry.enabled", "true");
+        properties.put("spring.activemq.broker-url", "vm://" + BROKER_NAME + "?create=false");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        // Every request uses the same customer name
+        properties.put("ops.ratelimit.enabled", "false");
+        // Per-order INFO/DEBUG logging would dominate the measurement
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.platform.ops", "WARN");
+        properties.put("logging.file.name", "");
+        return properties;
+    }
+
+    /**
+     * Mirrors {@code activemq-dlq-simple.xml}: both order lanes dead-letter to orders.DLQ,
+     * every other queue to its own {@code .DLQ}, scheduler enabled for retries. Messages are kept in memory, so the numbers
+     * exclude store writes.
+     */
+    private static BrokerService startBroker() throws Exception {
+        PolicyEntry orders = new PolicyEntry();
+        orders.setQueue("orders.queue");
+        SharedDeadLetterStrategy ordersDeadLetter = new SharedDeadLetterStrategy();
+        ordersDeadLetter.setDeadLetterQueue(new ActiveMQQueue("orders.DLQ"));
+        ordersDeadLetter.setProcessExpired(false);
+        orders.setDeadLetterStrategy(ordersDeadLetter);
+        PolicyEntry priorityOrders = new PolicyEntry();
+        priorityOrders.setQueue(MessageProducer.PRIORITY_QUEUE);
+        priorityOrders.setDeadLetterStrategy(ordersDeadLetter);
+
+        PolicyEntry others = new PolicyEntry();
+        others.setQueue(">");
+        IndividualDeadLetterStrategy othersDeadLetter = new IndividualDeadLetterStrategy();
+        othersDeadLetter.setQueuePrefix("");
+        othersDeadLetter.setQueueSuffix(".DLQ");
+        othersDeadLetter.setUseQueueForQueueMessages(true);
+        others.setDeadLetterStrategy(othersDeadLetter);
+
+        PolicyMap policies = new PolicyMap();
+        policies.setPolicyEntries(List.of(orders, priorityOrders, others));
+
+        BrokerService broker = new BrokerService();
+        broker.setBrokerName(BROKER_NAME);
+        broker.setPersistent(false);
+        broker.setSchedulerSupport(true);
+        broker.setUseJmx(false);
+        broker.setDestinationPolicy(policies);
+        broker.setPlugins(new BrokerPlugin[]{new StatisticsBrokerPlugin()});
+        broker.start();
+        broker.waitUntilStarted();
+        return broker;
+    }
+
+    private static String run(ConfigurableApplicationContext context, List<String> overrides) throws Exception {
+        Environment env = context.getEnvironment();
+        double rate = env.getRequiredProperty("load.rate", Double.class);
+        Duration duration = env.getRequiredProperty("load.duration", Duration.class);
+        Duration warmup = env.getRequiredProperty("load.warmup", Duration.class);
+        Duration drainTimeout = env.getRequiredProperty("load.drain-timeout", Duration.class);
+        int maxOutstanding = env.getRequiredProperty("load.max-outstanding", Integer.class);
+        List<String> endpoints = List.of(env.getRequiredProperty("load.endpoints", String[].class));
+        List<String> paths = endpoints.stream()
+                .map(name -> {
+                    String path = ENDPOINTS.get(name.trim());
+                    if (path == null) {
+                        throw new IllegalArgumentException("Unknown endpoint '" + name + "', expected one of " + ENDPOINTS.keySet());
+                    }
+                    return path;
+                })
+                .toList();
+
+        ConsumptionRecorder consumption = context.getBean(ConsumptionRecorder.class);
+        URI baseUri = URI.create("http://localhost:" + env.getRequiredProperty("local.server.port"));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()))
+                .build();
+        OpenLoopDriver driver = new OpenLoopDriver(client, baseUri, paths,
+                context.getBean(ObjectMapper.class), consumption, maxOutstanding);
+
+        if (!warmup.isZero()) {
+            driver.run(rate, warmup, false, "W");
+            awaitQuiet(driver, consumption, drainTimeout);
+            consumption.endToEndHistogram();
+            driver.resetLatency();
+        }
+
+        ThreadPeaks threads = new ThreadPeaks(context.getBean(MeterRegistry.class));
+        long start = System.nanoTime();
+        try {
+            driver.run(rate, duration, true, "M");
+        } finally {
+            threads.stop();
+        }
+        long sendEnd = System.nanoTime();
+        awaitQuiet(driver, consumption, drainTimeout);
+
+        return report(rate, duration, warmup, endpoints, overrides, driver, consumption, threads, start, sendEnd);
+    }
+
+    private static void awaitQuiet(OpenLoopDriver driver, ConsumptionRecorder consumption, Duration timeout)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while ((driver.outstanding() > 0 || consumption.outstanding() > 0) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private static String report(double rate, Duration duration, Duration warmup, List<String> endpoints,
+                                 List<String> overrides, OpenLoopDriver driver, ConsumptionRecorder consumption,
+                                 ThreadPeaks threads, long start, long sendEnd) {
+        long sent = driver.sent();
+        long consumed = consumption.consumed();
+        long deadLettered = consumption.deadLettered();
+        long notConsumed = consumption.outstanding();
+        double sendSeconds = (sendEnd - start) / 1e9;
+        long consumeEnd = consumed > 0 ? consumption.lastConsumedNanos() : sendEnd;
+        double consumeSeconds = Math.max(consumeEnd - start, 1) / 1e9;
+
+        StringBuilder out = new StringBuilder();
+        out.append("=== Load test report ===\n");
+        out.append(String.format("endpoints           %s%n", endpoints));
+        out.append(String.format("target rate         %.0f req/s for %s (warmup %s)%n", rate, duration, warmup));
+        out.append(String.format("overrides           %s%n", overrides.isEmpty() ? "none" : String.join(" ", overrides)));
+        out.append(String.format("sent                %d (%.1f req/s)%n", sent, sent / sendSeconds));
+        out.append(String.format("accepted            %d%n", driver.accepted()));
+        out.append(String.format("consumed            %d (%.1f orders/s)%n", consumed, consumed / consumeSeconds));
+        out.append(String.format("dead-lettered       %d (%.3f%% of accepted)%n", deadLettered,
+                driver.accepted() == 0 ? 0.0 : 100.0 * deadLettered / driver.accepted()));
+        out.append(String.format("redeliveries        %d%n", consumption.retried()));
+        out.append(String.format("peak threads        %s Tomcat busy, %d JVM live%n",
+                threads.maxBusy() < 0 ? "n/a" : Integer.toString(threads.maxBusy()), threads.maxLive()));
+
+        out.append("errors\n");
+        Map<String, LongAdder> errors = driver.errors();
+        if (errors.isEmpty() && notConsumed == 0) {
+            out.append("  none\n");
+        }
+        errors.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> out.append(String.format("  %-40s %d%n", e.getKey(), e.getValue().sum())));
+        if (notConsumed > 0) {
+            out.append(String.format("  %-40s %d%n", "not consumed within drain timeout", notConsumed));
+        }
+
+        appendLatency(out, "HTTP latency (ms)", driver.httpLatencyHistogram());
+        appendLatency(out, "end-to-end latency, HTTP -> receiveOrder (ms)", consumption.endToEndHistogram());
+        return out.toString();
+    }
+
+    private static void appendLatency(StringBuilder out, String title, Histogram histogram) {
+        out.append(title).append('\n');
+        if (histogram.getTotalCount() == 0) {
+            out.append("  no samples\n");
+            return;
+        }
+        out.append(String.format("  p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f  (n=%d)%n",
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()),
+                histogram.getTotalCount()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /** Samples the busy Tomcat threads and live JVM threads while the measured phase runs. */
+    private static final class ThreadPeaks {
+
+        private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "loadtest-thread-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        private final AtomicInteger maxBusy = new AtomicInteger(-1);
+        private final AtomicInteger maxLive = new AtomicInteger();
+
+        ThreadPeaks(MeterRegistry meterRegistry) {
+            ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+            sampler.scheduleAtFixedRate(() -> {
+                Gauge busy = meterRegistry.find("tomcat.threads.busy").gauge();
+                if (busy != null) {
+                    maxBusy.accumulateAndGet((int) busy.value(), Math::max);
+                }
+                maxLive.accumulateAndGet(threadBean.getThreadCount(), Math::max);
+            }, 0, 10, TimeUnit.MILLISECONDS);
+        }
+
+        void stop() {
+            sampler.shutdownNow();
+        }
+
+        /** -1 when Tomcat's thread pool is not exposed as a meter. */
+        int maxBusy() {
+            return maxBusy.get();
+        }
+
+        int maxLive() {
+            return maxLive.get();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.platform.ops.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.ops.model.Order;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load: requests are started on a fixed schedule, whether or not earlier
+ * ones have completed, and latencies are measured from the scheduled start time. A slow
+ * server therefore shows up as latency instead of as a lower send rate (no coordinated
+ * omission). Endpoints are used round-robin.
+ */
+class OpenLoopDriver {
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final List<String> paths;
+    private final ObjectMapper objectMapper;
+    private final ConsumptionRecorder consumption;
+    private final int maxOutstanding;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final Recorder httpLatency = new Recorder(3);
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder accepted = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    OpenLoopDriver(HttpClient client, URI baseUri, List<String> paths, ObjectMapper objectMapper,
+                   ConsumptionRecorder consumption, int maxOutstanding) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.paths = paths;
+        this.objectMapper = objectMapper;
+        this.consumption = consumption;
+        this.maxOutstanding = maxOutstanding;
+    }
+
+    /**
+     * Sends at {@code ratePerSecond} for {@code duration}. Only {@code measured} phases feed
+     * the consumption recorder.
+     */
+    void run(double ratePerSecond, Duration duration, boolean measured, String phase) throws Exception {
+        long intervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                return;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(intended, measured, phase);
+        }
+    }
+
+    private void send(long intendedNanos, boolean measured, String phase) throws Exception {
+        long seq = sequence.getAndIncrement();
+        if (measured) {
+            sent.increment();
+        }
+        if (outstanding.get() >= maxOutstanding) {
+            error(measured, "harness: more than " + maxOutstanding + " requests outstanding");
+            return;
+        }
+
+        String orderId = "LT-" + phase + "-" + seq;
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setCustomerName("Load Test Customer");
+        order.setProduct("Load Test Product");
+        order.setQuantity(1);
+        order.setPrice(10.0);
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(paths.get((int) (seq % paths.size()))))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(order)))
+                .build();
+
+        if (measured) {
+            consumption.expect(orderId, intendedNanos);
+        }
+        outstanding.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, ex) -> {
+            outstanding.decrementAndGet();
+            if (!measured) {
+                return;
+            }
+            httpLatency.recordValue(System.nanoTime() - intendedNanos);
+            if (ex != null) {
+                consumption.forget(orderId);
+                error(true, ex.getClass().getSimpleName());
+            } else if (response.statusCode() >= 300) {
+                consumption.forget(orderId);
+                error(true, "HTTP " + response.statusCode());
+            } else {
+                accepted.increment();
+            }
+        });
+    }
+
+    private void error(boolean measured, String type) {
+        if (measured) {
+            errors.computeIfAbsent(type, k -> new LongAdder()).increment();
+        }
+    }
+
+    /** Drops the warmup samples. */
+    void resetLatency() {
+        httpLatency.reset();
+    }
+
+    int outstanding() {
+        return outstanding.get();
+    }
+
+    long sent() {
+        return sent.sum();
+    }
+
+    long accepted() {
+        return accepted.sum();
+    }
+
+    Map<String, LongAdder> errors() {
+        return errors;
+    }
+
+    Histogram httpLatencyHistogram() {
+        return httpLatency.getIntervalHistogram();
+    }
+}
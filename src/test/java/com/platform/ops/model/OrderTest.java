@@ -161,6 +161,24 @@ class OrderTest {
         assertTrue(toString.contains("Laptop"));
     }
 
+    @Test
+    @DisplayName("Should fail validation when fields exceed their column length")
+    void shouldFailValidationWhenFieldsExceedColumnLength() {
+        // Given
+        Order order = createValidOrder();
+        order.setOrderId("O".repeat(256));
+        order.setCustomerName("C".repeat(256));
+        order.setProduct("P".repeat(255));
+
+        // When
+        Set<ConstraintViolation<Order>> violations = validator.validate(order);
+
+        // Then
+        assertEquals(2, violations.size());
+        assertTrue(violations.stream().anyMatch(v -> v.getMessage().equals("Order ID must be at most 255 characters")));
+        assertTrue(violations.stream().anyMatch(v -> v.getMessage().equals("Customer name must be at most 255 characters")));
+    }
+
     private Order createValidOrder() {
         Order order = new Order();
         order.setOrderId("ORD-001");
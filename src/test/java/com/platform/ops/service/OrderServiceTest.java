@@ -1,15 +1,31 @@
 package com.platform.ops.service;
 
+import com.platform.ops.config.LaneProperties;
+import com.platform.ops.config.OrderGroupingProperties;
+import com.platform.ops.jms.DefaultOrderClassifier;
+import com.platform.ops.jms.MessageProducer;
+import com.platform.ops.jms.MessagingMetrics;
+import com.platform.ops.jms.OrderClassifier;
+import com.platform.ops.jms.OrderGrouping;
 import com.platform.ops.model.Order;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
 import jakarta.jms.Queue;
+import org.apache.activemq.command.ActiveMQQueue;
+import org.apache.activemq.command.ActiveMQTextMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jms.UncategorizedJmsException;
 import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.MessagePostProcessor;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,11 +38,18 @@ class OrderServiceTest {
     @Mock
     private Queue orderQueue;
 
+    @Mock
+    private OrderStatusService orderStatusService;
+
     private OrderService orderService;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
-    void setUp() {
-        orderService = new OrderService(jmsTemplate, orderQueue);
+    void setUp() throws JMSException {
+        when(orderQueue.getQueueName()).thenReturn("orders.queue");
+        meterRegistry = new SimpleMeterRegistry();
+        orderService = new OrderService(jmsTemplate, orderQueue, orderStatusService, new MessagingMetrics(meterRegistry),
+                new OrderGrouping(new OrderGroupingProperties()), order -> OrderClassifier.Lane.STANDARD);
     }
 
     @Test
@@ -39,8 +62,26 @@ class OrderServiceTest {
         orderService.sendOrder(order);
 
         // Then
-        verify(jmsTemplate, times(1)).convertAndSend(orderQueue, order);
+        verify(jmsTemplate, times(1)).convertAndSend(eq(orderQueue), eq(order), any(MessagePostProcessor.class));
         verifyNoMoreInteractions(jmsTemplate);
+        verify(orderStatusService).recordQueued("TEST-001");
+    }
+
+    @Test
+    @DisplayName("Should stamp the customer as message group and the request ID as correlation ID")
+    void shouldStampCustomerAsMessageGroupAndRequestIdAsCorrelationId() throws JMSException {
+        // Given
+        Order order = createTestOrder();
+        ArgumentCaptor<MessagePostProcessor> postProcessor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+
+        // When
+        orderService.sendOrder(order);
+
+        // Then
+        verify(jmsTemplate).convertAndSend(eq(orderQueue), eq(order), postProcessor.capture());
+        Message message = postProcessor.getValue().postProcessMessage(new ActiveMQTextMessage());
+        assertEquals("Test Customer", message.getStringProperty(OrderGrouping.GROUP_ID_PROPERTY));
+        assertNotNull(message.getJMSCorrelationID());
     }
 
     @Test
@@ -59,9 +100,9 @@ class OrderServiceTest {
         orderService.sendOrder(order2);
 
         // Then
-        verify(jmsTemplate, times(1)).convertAndSend(orderQueue, order1);
-        verify(jmsTemplate, times(1)).convertAndSend(orderQueue, order2);
-        verify(jmsTemplate, times(2)).convertAndSend(eq(orderQueue), any(Order.class));
+        verify(jmsTemplate, times(1)).convertAndSend(eq(orderQueue), eq(order1), any(MessagePostProcessor.class));
+        verify(jmsTemplate, times(1)).convertAndSend(eq(orderQueue), eq(order2), any(MessagePostProcessor.class));
+        verify(jmsTemplate, times(2)).convertAndSend(eq(orderQueue), any(Order.class), any(MessagePostProcessor.class));
     }
 
     @Test
@@ -79,7 +120,7 @@ class OrderServiceTest {
         orderService.sendOrder(order);
 
         // Then
-        verify(jmsTemplate).convertAndSend(orderQueue, order);
+        verify(jmsTemplate).convertAndSend(eq(orderQueue), eq(order), any(MessagePostProcessor.class));
         
         // Verify the order object passed has all the expected values
         verify(jmsTemplate).convertAndSend(eq(orderQueue), argThat((Order sentOrder) -> 
@@ -88,7 +129,7 @@ class OrderServiceTest {
             sentOrder.getProduct().equals("Complete Product") &&
             sentOrder.getQuantity().equals(5) &&
             sentOrder.getPrice() == 1299.99
-        ));
+        ), any(MessagePostProcessor.class));
     }
 
     @Test
@@ -106,7 +147,50 @@ class OrderServiceTest {
         orderService.sendOrder(order);
 
         // Then
-        verify(jmsTemplate).convertAndSend(orderQueue, order);
+        verify(jmsTemplate).convertAndSend(eq(orderQueue), eq(order), any(MessagePostProcessor.class));
+    }
+
+    @Test
+    @DisplayName("Should time sends per destination and outcome")
+    void shouldTimeSendsPerDestinationAndOutcome() {
+        // Given
+        Order order = createTestOrder();
+        Order failing = createTestOrder();
+        failing.setOrderId("TEST-002");
+        doThrow(new UncategorizedJmsException("broker down")).when(jmsTemplate).convertAndSend(eq(orderQueue), eq(failing), any(MessagePostProcessor.class));
+
+        // When
+        orderService.sendOrder(order);
+        assertThrows(UncategorizedJmsException.class, () -> orderService.sendOrder(failing));
+
+        // Then
+        assertEquals(1, meterRegistry.get("ops.jms.send.time")
+                .tags("destination", "orders.queue", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("ops.jms.send.time")
+                .tags("destination", "orders.queue", "outcome", "failure").timer().count());
+        assertEquals(0.0, meterRegistry.get("ops.jms.send.in.flight").gauge().value());
+        verify(orderStatusService, never()).recordQueued("TEST-002");
+    }
+
+    @Test
+    @DisplayName("Should send high-value orders to the priority lane")
+    void shouldSendHighValueOrdersToPriorityLane() {
+        // Given
+        LaneProperties lanes = new LaneProperties();
+        lanes.setEnabled(true);
+        orderService = new OrderService(jmsTemplate, orderQueue, orderStatusService, new MessagingMetrics(meterRegistry),
+                new OrderGrouping(new OrderGroupingProperties()), new DefaultOrderClassifier(lanes));
+        Order order = createTestOrder();
+        order.setQuantity(20); // 20 * 99.99 is over the default threshold of 1000
+
+        // When
+        orderService.sendOrder(order);
+
+        // Then
+        verify(jmsTemplate).convertAndSend(eq(new ActiveMQQueue(MessageProducer.PRIORITY_QUEUE)), eq(order),
+                any(MessagePostProcessor.class));
+        assertEquals(1, meterRegistry.get("ops.jms.send.time")
+                .tags("destination", MessageProducer.PRIORITY_QUEUE, "outcome", "success").timer().count());
     }
 
     private Order createTestOrder() {
@@ -0,0 +1,196 @@
+package com.platform.ops.service;
+
+import com.platform.ops.config.OrderStatsProperties;
+import com.platform.ops.model.Order;
+import com.platform.ops.model.OrderTotals;
+import com.platform.ops.model.WindowStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Order Stats Service Tests")
+class OrderStatsServiceTest {
+
+    private static final long START = Instant.parse("2026-10-18T08:00:00Z").toEpochMilli();
+
+    private final AtomicLong clock = new AtomicLong(START);
+    private OrderStatsProperties properties;
+    private OrderStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OrderStatsProperties();
+        statsService = new OrderStatsService(properties, clock::get);
+    }
+
+    @Test
+    @DisplayName("Should report the sliding window up to now and the last complete tumbling window")
+    void shouldReportSlidingWindowUpToNowAndLastCompleteTumblingWindow() {
+        // Given
+        at("08:00:05");
+        statsService.record(order("Jane", "Widget", 2, 9.99));
+        at("08:00:15");
+        statsService.record(order("John", "Gadget", 1, 100.0));
+        at("08:01:10");
+        statsService.record(order("Jane", "Widget", 1, 9.99));
+
+        // When
+        at("08:01:15");
+        List<WindowStats> stats = statsService.snapshot(Duration.ofMinutes(1), 10);
+
+        // Then - sliding covers 08:00:20 to now, tumbling 08:00 to 08:01
+        assertEquals(2, stats.size());
+        WindowStats sliding = stats.get(0);
+        assertEquals(WindowStats.Type.SLIDING, sliding.getType());
+        assertEquals(Instant.parse("2026-10-18T08:00:20Z"), sliding.getFrom());
+        assertTotals(sliding.getTotal(), 1, 1, "9.99");
+        WindowStats tumbling = stats.get(1);
+        assertEquals(WindowStats.Type.TUMBLING, tumbling.getType());
+        assertEquals(Instant.parse("2026-10-18T08:00:00Z"), tumbling.getFrom());
+        assertEquals(Instant.parse("2026-10-18T08:01:00Z"), tumbling.getTo());
+        assertTotals(tumbling.getTotal(), 2, 3, "119.98");
+        assertTotals(tumbling.getCustomers().get("Jane"), 1, 2, "19.98");
+        assertTotals(tumbling.getProducts().get("Gadget"), 1, 1, "100.00");
+    }
+
+    @Test
+    @DisplayName("Should list the top keys by revenue, highest first")
+    void shouldListTopKeysByRevenueHighestFirst() {
+        // Given
+        statsService.record(order("Small", "Widget", 1, 5.0));
+        statsService.record(order("Large", "Widget", 1, 500.0));
+        statsService.record(order("Medium", "Widget", 5, 10.0));
+        statsService.record(order("Medium", "Widget", 1, 10.0));
+
+        // When
+        WindowStats sliding = statsService.snapshot(Duration.ofHours(1), 2).get(0);
+
+        // Then
+        assertEquals(List.of("Large", "Medium"), new ArrayList<>(sliding.getCustomers().keySet()));
+        assertTotals(sliding.getCustomers().get("Medium"), 2, 6, "60.00");
+        assertTotals(sliding.getProducts().get("Widget"), 4, 8, "565.00");
+    }
+
+    @Test
+    @DisplayName("Should report every configured window when none is requested")
+    void shouldReportEveryConfiguredWindowWhenNoneIsRequested() {
+        // When
+        List<WindowStats> stats = statsService.snapshot(null, 5);
+
+        // Then
+        assertEquals(List.of(Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofMinutes(5),
+                Duration.ofHours(1), Duration.ofHours(1)), stats.stream().map(WindowStats::getWindow).toList());
+    }
+
+    @Test
+    @DisplayName("Should forget orders older than the ring")
+    void shouldForgetOrdersOlderThanRing() {
+        // Given
+        statsService.record(order("Jane", "Widget", 1, 9.99));
+
+        // When - the same ring slot comes round again
+        clock.addAndGet(Duration.ofHours(2).plusSeconds(10).toMillis());
+        statsService.record(order("John", "Widget", 1, 1.0));
+        clock.addAndGet(Duration.ofHours(1).toMillis());
+
+        // Then
+        for (WindowStats window : statsService.snapshot(null, 5)) {
+            assertEquals(window.getType() == WindowStats.Type.TUMBLING && window.getWindow().equals(Duration.ofHours(1))
+                    ? 1 : 0, window.getTotal().getOrders(), window.getType() + " " + window.getWindow());
+            assertFalse(window.getCustomers().containsKey("Jane"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should not lose increments recorded concurrently")
+    void shouldNotLoseIncrementsRecordedConcurrently() throws Exception {
+        // Given
+        int threads = 8;
+        int ordersPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> done = new ArrayList<>();
+
+        // When - the clock crosses buckets while threads record
+        for (int t = 0; t < threads; t++) {
+            String customer = "C" + (t % 3);
+            done.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ordersPerThread; i++) {
+                    statsService.record(order(customer, "Widget", 1, 1.0));
+                    if (i % 1000 == 0) {
+                        clock.addAndGet(1000);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : done) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        WindowStats hour = statsService.snapshot(Duration.ofHours(1), 5).get(0);
+        assertTotals(hour.getTotal(), threads * ordersPerThread, threads * ordersPerThread, "80000.00");
+        assertEquals(3, hour.getCustomers().size());
+    }
+
+    @Test
+    @DisplayName("Should refuse a window that is not a multiple of the resolution")
+    void shouldRefuseWindowThatIsNotMultipleOfResolution() {
+        // Given
+        properties.setWindows(List.of(Duration.ofSeconds(45)));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> new OrderStatsService(properties, clock::get));
+    }
+
+    @Test
+    @DisplayName("Should record nothing when disabled")
+    void shouldRecordNothingWhenDisabled() {
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        statsService.record(order("Jane", "Widget", 1, 9.99));
+
+        // Then
+        assertEquals(0, statsService.snapshot(Duration.ofMinutes(1), 5).get(0).getTotal().getOrders());
+    }
+
+    private void at(String time) {
+        clock.set(Instant.parse("2026-10-18T" + time + "Z").toEpochMilli());
+    }
+
+    private static void assertTotals(OrderTotals totals, long orders, long units, String revenue) {
+        assertNotNull(totals);
+        assertEquals(orders, totals.getOrders());
+        assertEquals(units, totals.getUnits());
+        assertEquals(new BigDecimal(revenue), totals.getRevenue());
+    }
+
+    private static Order order(String customer, String product, int quantity, double price) {
+        Order order = new Order();
+        order.setOrderId(customer + "-" + product);
+        order.setCustomerName(customer);
+        order.setProduct(product);
+        order.setQuantity(quantity);
+        order.setPrice(price);
+        return order;
+    }
+}
@@ -0,0 +1,83 @@
+package com.platform.ops.service;
+
+import com.platform.ops.config.OrderStatusProperties;
+import com.platform.ops.model.OrderStatus;
+import com.platform.ops.model.OrderStatusEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Order Status Service Tests")
+class OrderStatusServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderStatusService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new OrderStatusService(new OrderStatusProperties(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should follow an order through its transitions")
+    void shouldFollowOrderThroughItsTransitions() {
+        // When
+        service.recordQueued("ORD-001");
+        service.recordRetried("ORD-001", 2);
+        service.recordConsumed("ORD-001", 2);
+
+        // Then
+        OrderStatusEntry entry = service.find("ORD-001").orElseThrow();
+        assertEquals(OrderStatus.CONSUMED, entry.getStatus());
+        assertEquals(2, entry.getDeliveryCount());
+    }
+
+    @Test
+    @DisplayName("Should not let a late queued record hide a consumption")
+    void shouldNotLetLateQueuedRecordHideConsumption() {
+        // Given - the consumer finished before the async send acknowledgement arrived
+        service.recordConsumed("ORD-001", 1);
+
+        // When
+        service.recordQueued("ORD-001");
+
+        // Then
+        assertEquals(OrderStatus.CONSUMED, service.find("ORD-001").orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should return known statuses in request order")
+    void shouldReturnKnownStatusesInRequestOrder() {
+        // Given
+        service.recordQueued("ORD-001");
+        service.recordDeadLettered("ORD-002");
+
+        // When
+        List<OrderStatusEntry> entries = service.findAll(List.of("ORD-002", "UNKNOWN", "ORD-001"));
+
+        // Then
+        assertEquals(List.of("ORD-002", "ORD-001"), entries.stream().map(OrderStatusEntry::getOrderId).toList());
+        assertEquals(OrderStatus.DEAD_LETTERED, entries.get(0).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should export hit and miss counts")
+    void shouldExportHitAndMissCounts() {
+        // Given
+        service.recordQueued("ORD-001");
+
+        // When
+        service.find("ORD-001");
+        service.find("UNKNOWN");
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "orderStatus").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "orderStatus").tag("result", "miss").functionCounter().count());
+    }
+}
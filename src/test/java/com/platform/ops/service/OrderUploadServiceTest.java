@@ -0,0 +1,247 @@
+package com.platform.ops.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.ops.admission.CustomerRateLimiter;
+import com.platform.ops.config.UploadProperties;
+import com.platform.ops.exception.MessageSendFailureException;
+import com.platform.ops.exception.RateLimitExceededException;
+import com.platform.ops.jms.MessageProducer;
+import com.platform.ops.model.Order;
+import com.platform.ops.model.OrderResult;
+import com.platform.ops.model.UploadLineResult;
+import com.platform.ops.model.UploadSummary;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Order Upload Service Tests")
+class OrderUploadServiceTest {
+
+    private static final String CSV_HEADER = "orderId,customerName,product,quantity,price\n";
+
+    @Mock
+    private MessageProducer messageProducer;
+
+    @Mock
+    private CustomerRateLimiter rateLimiter;
+
+    private UploadProperties properties;
+    private OrderUploadService uploadService;
+    private final List<UploadLineResult> results = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        properties = new UploadProperties();
+        properties.setBatchSize(2);
+        uploadService = new OrderUploadService(messageProducer, Validation.buildDefaultValidatorFactory().getValidator(),
+                rateLimiter, new ObjectMapper(), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        uploadService.destroy();
+    }
+
+    @Test
+    @DisplayName("Should publish valid NDJSON lines in batches and reject the others")
+    void shouldPublishValidNdjsonLinesInBatchesAndRejectTheOthers() throws IOException {
+        // Given
+        String body = json("ORD-1") + "\n"
+                + "{\"orderId\":\"ORD-2\",\n"
+                + "\n"
+                + json("ORD-3") + "\r\n"
+                + "{\"orderId\":\"ORD-4\",\"customerName\":\"Jane\",\"product\":\"Widget\",\"quantity\":0,\"price\":9.99}\n"
+                + json("ORD-5");
+
+        // When
+        UploadSummary summary = upload(body, OrderUploadService.Format.NDJSON);
+
+        // Then
+        assertEquals(6, summary.getLines());
+        assertEquals(3, summary.getQueued());
+        assertEquals(2, summary.getRejected());
+        assertNull(summary.getError());
+        ArgumentCaptor<List<Order>> batches = ArgumentCaptor.forClass(List.class);
+        verify(messageProducer, times(2)).sendOrders(batches.capture());
+        assertEquals(List.of("ORD-1", "ORD-3"), orderIds(batches.getAllValues().get(0)));
+        assertEquals(List.of("ORD-5"), orderIds(batches.getAllValues().get(1)));
+
+        results.sort(Comparator.comparingLong(UploadLineResult::getLine));
+        assertEquals(List.of(1L, 2L, 4L, 5L, 6L), results.stream().map(UploadLineResult::getLine).toList());
+        assertEquals(OrderResult.Status.REJECTED, results.get(1).getStatus());
+        assertTrue(results.get(1).getMessage().startsWith("Unreadable order"));
+        assertEquals("ORD-4", results.get(3).getOrderId());
+        assertTrue(results.get(3).getMessage().contains("quantity"));
+        assertEquals(OrderResult.Status.QUEUED, results.get(4).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should map CSV columns by header name and unquote fields")
+    void shouldMapCsvColumnsByHeaderNameAndUnquoteFields() throws IOException {
+        // Given - byte order mark, columns in another order, quoted comma and quote
+        String body = "\uFEFFprice,quantity,product,customerName,orderId\n"
+                + "19.5,3,\"Widget, \"\"large\"\"\",Jane Customer,CSV-1\n"
+                + "abc,1,Widget,Jane Customer,CSV-2\n";
+
+        // When
+        UploadSummary summary = upload(body, OrderUploadService.Format.CSV);
+
+        // Then
+        assertEquals(1, summary.getQueued());
+        assertEquals(1, summary.getRejected());
+        ArgumentCaptor<List<Order>> batch = ArgumentCaptor.forClass(List.class);
+        verify(messageProducer).sendOrders(batch.capture());
+        Order order = batch.getValue().get(0);
+        assertEquals("CSV-1", order.getOrderId());
+        assertEquals("Widget, \"large\"", order.getProduct());
+        assertEquals(3, order.getQuantity());
+        assertEquals(19.5, order.getPrice());
+    }
+
+    @Test
+    @DisplayName("Should stop when the CSV header lacks a column")
+    void shouldStopWhenCsvHeaderLacksColumn() throws IOException {
+        // When
+        UploadSummary summary = upload("orderId,customerName,product,quantity\nCSV-1,Jane,Widget,1\n",
+                OrderUploadService.Format.CSV);
+
+        // Then
+        assertNotNull(summary.getError());
+        assertEquals(1, summary.getLines());
+        verifyNoInteractions(messageProducer);
+    }
+
+    @Test
+    @DisplayName("Should stop reading and reject the batch when publishing fails")
+    void shouldStopReadingAndRejectBatchWhenPublishingFails() throws IOException {
+        // Given
+        doThrow(new MessageSendFailureException("orders.queue", new IllegalStateException("broker down")))
+                .when(messageProducer).sendOrders(anyList());
+        StringBuilder body = new StringBuilder(CSV_HEADER);
+        for (int i = 1; i <= 100; i++) {
+            body.append("CSV-").append(i).append(",Jane,Widget,1,9.99\n");
+        }
+
+        // When
+        UploadSummary summary = upload(body.toString(), OrderUploadService.Format.CSV);
+
+        // Then
+        assertTrue(summary.getError().contains("orders.queue"));
+        assertEquals(0, summary.getQueued());
+        assertTrue(summary.getLines() < 101, "reading should stop after the failure");
+        assertEquals(summary.getRejected(), results.size());
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == OrderResult.Status.REJECTED));
+    }
+
+    @Test
+    @DisplayName("Should reject lines longer than the limit without failing the upload")
+    void shouldRejectLinesLongerThanLimitWithoutFailingUpload() throws IOException {
+        // Given
+        properties.setMaxLineLength(200);
+        String body = "{\"orderId\":\"" + "X".repeat(500) + "\"}\n" + json("ORD-1") + "\n";
+
+        // When
+        UploadSummary summary = upload(body, OrderUploadService.Format.NDJSON);
+
+        // Then
+        assertEquals(1, summary.getQueued());
+        assertEquals(1, summary.getRejected());
+        assertTrue(results.stream().anyMatch(result -> result.getLine() == 1
+                && result.getMessage().startsWith("Line longer than 200")));
+    }
+
+    @Test
+    @DisplayName("Should reject orders over their customer's rate and queue the others")
+    void shouldRejectOrdersOverCustomerRateAndQueueTheOthers() throws IOException {
+        // Given
+        doThrow(new RateLimitExceededException("Flood", "standard", Duration.ofMillis(1500)))
+                .when(rateLimiter).acquire("Flood");
+        String body = json("ORD-1") + "\n"
+                + "{\"orderId\":\"ORD-2\",\"customerName\":\"Flood\",\"product\":\"Widget\",\"quantity\":1,\"price\":9.99}\n";
+
+        // When
+        UploadSummary summary = upload(body, OrderUploadService.Format.NDJSON);
+
+        // Then
+        assertEquals(1, summary.getQueued());
+        assertEquals(1, summary.getRejected());
+        assertNull(summary.getError());
+        UploadLineResult rejected = results.stream()
+                .filter(result -> result.getStatus() == OrderResult.Status.REJECTED).findFirst().orElseThrow();
+        assertEquals("ORD-2", rejected.getOrderId());
+        assertTrue(rejected.getMessage().startsWith("Too Many Requests"));
+        assertTrue(rejected.getMessage().endsWith("retry after 2s"));
+        verify(messageProducer).sendOrders(argThat(orders -> orderIds(orders).equals(List.of("ORD-1"))));
+    }
+
+    @Test
+    @DisplayName("Should cancel the batches not yet published when the client goes away")
+    void shouldCancelUnpublishedBatchesWhenClientGoesAway() throws Exception {
+        // Given - the first batch is stuck in the broker while the next ones wait behind it
+        properties.setBatchSize(1);
+        properties.setMaxInFlightBatches(3);
+        CountDownLatch firstSend = new CountDownLatch(1);
+        CountDownLatch brokerStuck = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            firstSend.countDown();
+            brokerStuck.await();
+            return null;
+        }).when(messageProducer).sendOrders(anyList());
+        String body = json("ORD-1") + "\n" + json("ORD-2") + "\n" + json("ORD-3") + "\n" + "{\"orderId\":\n";
+
+        // When - writing the result of the bad line fails as the response is closed
+        UncheckedIOException thrown = assertThrows(UncheckedIOException.class, () -> uploadService.upload(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), OrderUploadService.Format.NDJSON,
+                result -> {
+                    awaitQuietly(firstSend);
+                    throw new UncheckedIOException(new IOException("Broken pipe"));
+                }));
+        brokerStuck.countDown();
+
+        // Then
+        assertEquals("Broken pipe", thrown.getCause().getMessage());
+        verify(messageProducer, after(300).times(1)).sendOrders(anyList());
+    }
+
+    private UploadSummary upload(String body, OrderUploadService.Format format) throws IOException {
+        return uploadService.upload(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, results::add);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String json(String orderId) {
+        return "{\"orderId\":\"" + orderId + "\",\"customerName\":\"Jane\",\"product\":\"Widget\",\"quantity\":1,\"price\":9.99}";
+    }
+
+    private static List<String> orderIds(List<Order> orders) {
+        return orders.stream().map(Order::getOrderId).toList();
+    }
+}
@@ -0,0 +1,185 @@
+package com.platform.ops.service;
+
+import com.platform.ops.config.PersistenceProperties;
+import com.platform.ops.model.Order;
+import com.platform.ops.model.OrderEntity;
+import com.platform.ops.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the writer thread commits its own transactions
+@DisplayName("Order Write-Behind Service Tests")
+class OrderWriteBehindServiceTest {
+
+    @Autowired
+    private OrderRepository repository;
+
+    private PersistenceProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private OrderWriteBehindService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PersistenceProperties();
+        properties.setBatchSize(50);
+        properties.setFlushInterval(Duration.ofMillis(50));
+        properties.setOfferTimeout(Duration.ofMillis(50));
+        properties.setRetryBackoff(Duration.ofMillis(10));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+        repository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should persist buffered orders in batches")
+    void shouldPersistBufferedOrdersInBatches() throws Exception {
+        // Given
+        service = new OrderWriteBehindService(repository, properties, meterRegistry);
+        service.start();
+
+        // When
+        for (int i = 0; i < 120; i++) {
+            service.enqueue(createOrder("WB-" + i));
+        }
+
+        // Then
+        awaitCondition(() -> repository.count() == 120);
+        assertEquals(1, repository.findByOrderId("WB-7").size());
+        assertTrue(meterRegistry.get("ops.orders.persistence.flush").timer().count() < 120);
+        assertEquals(120.0, meterRegistry.get("ops.orders.persistence.persisted").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should write the remaining buffer on stop")
+    void shouldWriteRemainingBufferOnStop() {
+        // Given
+        properties.setFlushInterval(Duration.ofSeconds(5));
+        service = new OrderWriteBehindService(repository, properties, meterRegistry);
+        service.start();
+        service.enqueue(createOrder("WB-STOP-1"));
+        service.enqueue(createOrder("WB-STOP-2"));
+
+        // When
+        service.stop();
+
+        // Then
+        assertEquals(2, repository.count());
+        assertEquals(0, service.getBuffered());
+    }
+
+    @Test
+    @DisplayName("Should reject orders once the buffer stays full")
+    void shouldRejectOrdersOnceBufferStaysFull() {
+        // Given - writer not started, so nothing drains the buffer
+        properties.setBufferCapacity(2);
+        service = new OrderWriteBehindService(repository, properties, meterRegistry);
+        service.enqueue(createOrder("WB-FULL-1"));
+        service.enqueue(createOrder("WB-FULL-2"));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> service.enqueue(createOrder("WB-FULL-3")));
+        assertEquals(1.0, meterRegistry.get("ops.orders.persistence.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should retry a batch after a failed write")
+    void shouldRetryBatchAfterFailedWrite() throws Exception {
+        // Given
+        OrderRepository failingOnce = mock(OrderRepository.class);
+        when(failingOnce.saveAll(anyList()))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenAnswer(invocation -> repository.saveAll(invocation.<List<OrderEntity>>getArgument(0)));
+        service = new OrderWriteBehindService(failingOnce, properties, meterRegistry);
+        service.start();
+
+        // When
+        service.enqueue(createOrder("WB-RETRY"));
+
+        // Then
+        awaitCondition(() -> repository.count() == 1);
+        verify(failingOnce, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should write a rejected batch row by row and drop only the invalid orders")
+    void shouldWriteRejectedBatchRowByRow() throws Exception {
+        // Given - one order of the batch does not fit its column
+        service = new OrderWriteBehindService(repository, properties, meterRegistry);
+        Order oversized = createOrder("WB-LONG");
+        oversized.setProduct("P".repeat(300));
+        service.enqueue(createOrder("WB-ROW-1"));
+        service.enqueue(oversized);
+        service.enqueue(createOrder("WB-ROW-2"));
+
+        // When
+        service.start();
+
+        // Then
+        awaitCondition(() -> meterRegistry.get("ops.orders.persistence.dropped").tag("reason", "invalid")
+                .counter().count() == 1.0);
+        assertEquals(2, repository.count());
+        assertTrue(repository.findByOrderId("WB-LONG").isEmpty());
+        assertEquals(2.0, meterRegistry.get("ops.orders.persistence.persisted").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should drop a batch once transient failures exhaust the attempts")
+    void shouldDropBatchOnceTransientFailuresExhaustAttempts() throws Exception {
+        // Given
+        properties.setMaxAttempts(3);
+        OrderRepository failing = mock(OrderRepository.class);
+        when(failing.saveAll(anyList())).thenThrow(new QueryTimeoutException("lock wait timeout"));
+        service = new OrderWriteBehindService(failing, properties, meterRegistry);
+        service.start();
+
+        // When
+        service.enqueue(createOrder("WB-TIMEOUT"));
+
+        // Then
+        awaitCondition(() -> meterRegistry.get("ops.orders.persistence.dropped").tag("reason", "exhausted")
+                .counter().count() == 1.0);
+        verify(failing, times(3)).saveAll(anyList());
+        verify(failing, never()).save(any());
+    }
+
+    private Order createOrder(String orderId) {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setCustomerName("Test Customer");
+        order.setProduct("Test Product");
+        order.setQuantity(2);
+        order.setPrice(99.99);
+        return order;
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met within 10s");
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.platform.ops.tracing;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Request ID Filter Tests")
+class RequestIdFilterTest {
+
+    private final RequestIdFilter filter = new RequestIdFilter();
+
+    @Test
+    @DisplayName("Should generate an ID, expose it in the MDC and echo it as a header")
+    void shouldGenerateIdExposeItInMdcAndEchoItAsHeader() throws Exception {
+        // Given
+        AtomicReference<String> seen = new AtomicReference<>();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest(), response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                seen.set(MDC.get(RequestIds.MDC_KEY));
+            }
+        }));
+
+        // Then
+        assertNotNull(seen.get());
+        assertEquals(26, seen.get().length());
+        assertEquals(seen.get(), response.getHeader(RequestIds.HEADER));
+        assertNull(MDC.get(RequestIds.MDC_KEY));
+    }
+
+    @Test
+    @DisplayName("Should reuse a well-formed incoming ID")
+    void shouldReuseWellFormedIncomingId() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestIds.HEADER, "upstream-42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // Then
+        assertEquals("upstream-42", response.getHeader(RequestIds.HEADER));
+    }
+
+    @Test
+    @DisplayName("Should replace a malformed incoming ID")
+    void shouldReplaceMalformedIncomingId() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestIds.HEADER, "bad id\r\nX-Injected: 1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // Then
+        assertNotEquals("bad id\r\nX-Injected: 1", response.getHeader(RequestIds.HEADER));
+        assertEquals(26, response.getHeader(RequestIds.HEADER).length());
+    }
+}
@@ -0,0 +1,104 @@
+package com.platform.ops.tracing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Request ID Tests")
+class RequestIdsTest {
+
+    @AfterEach
+    void tearDown() {
+        MDC.remove(RequestIds.MDC_KEY);
+    }
+
+    @Test
+    @DisplayName("Should generate 26 Crockford base32 characters")
+    void shouldGenerate26CrockfordBase32Characters() {
+        String id = RequestIds.next();
+
+        assertEquals(26, id.length());
+        assertTrue(id.matches("[0-9A-HJKMNP-TV-Z]{26}"), id);
+    }
+
+    @Test
+    @DisplayName("Should encode the creation time in the leading characters")
+    void shouldEncodeCreationTimeInLeadingCharacters() {
+        // Given
+        long before = System.currentTimeMillis();
+
+        // When
+        String id = RequestIds.next();
+
+        // Then
+        long timestamp = RequestIds.timestampOf(id);
+        assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis());
+    }
+
+    @Test
+    @DisplayName("Should sort in creation order on one thread")
+    void shouldSortInCreationOrderOnOneThread() {
+        // Given
+        List<String> ids = new ArrayList<>();
+
+        // When - many IDs fall into the same millisecond
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(RequestIds.next());
+        }
+
+        // Then
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0, ids.get(i - 1) + " >= " + ids.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should not repeat IDs across threads")
+    void shouldNotRepeatIdsAcrossThreads() throws InterruptedException {
+        // Given
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(RequestIds.next());
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+
+        // When
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertEquals(80_000, ids.size());
+    }
+
+    @Test
+    @DisplayName("Should return the request ID from the MDC when present")
+    void shouldReturnRequestIdFromMdcWhenPresent() {
+        // Given
+        MDC.put(RequestIds.MDC_KEY, "caller-id");
+
+        // When & Then
+        assertEquals("caller-id", RequestIds.current());
+    }
+}